@@ -0,0 +1,124 @@
+package org.example.employeeapi.changes;
+
+import org.example.employeeapi.exception.ServiceOverloadedException;
+import org.example.employeeapi.mapper.EmployeeChangeMapper;
+import org.example.employeeservice.entity.EmployeeChange;
+import org.example.employeeservice.outbox.EmployeeChangeFeed;
+import org.example.employeeservice.outbox.EmployeeChangeSubscription;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Streams the employee change feed to Server-Sent Events clients. Each stream has its own sender thread
+ * that takes batches from its {@link EmployeeChangeSubscription} and writes every batch with a single flush;
+ * a quiet stream gets a comment line every {@link #KEEP_ALIVE_INTERVAL} so dead clients are noticed.
+ * <p>
+ * A sender spends its life blocked on its subscription, so senders are virtual threads when
+ * {@code spring.threads.virtual.enabled} is set. Either way at most {@code employee.changes.max-streams}
+ * streams are open at once, which bounds the threads and subscriber buffers; further clients get a 503 and
+ * retry, resuming from their Last-Event-ID.
+ */
+@Service
+public class EmployeeChangeStreamer implements DisposableBean {
+    private static final Duration KEEP_ALIVE_INTERVAL = Duration.ofSeconds(15);
+    // clients reconnect with Last-Event-ID, so a stream does not have to outlive the async request timeout
+    private static final Duration STREAM_TIMEOUT = Duration.ofMinutes(30);
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(5);
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 1_000;
+
+    private final EmployeeChangeFeed employeeChangeFeed;
+    private final EmployeeChangeMapper employeeChangeMapper;
+    private final int maxStreams;
+    private final Semaphore streams;
+    private final SimpleAsyncTaskExecutor senderExecutor = new SimpleAsyncTaskExecutor("employee-changes-");
+
+    public EmployeeChangeStreamer(EmployeeChangeFeed employeeChangeFeed, EmployeeChangeMapper employeeChangeMapper,
+                                  @Value("${employee.changes.max-streams:100}") int maxStreams,
+                                  @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.employeeChangeFeed = employeeChangeFeed;
+        this.employeeChangeMapper = employeeChangeMapper;
+        this.maxStreams = maxStreams;
+        this.streams = new Semaphore(maxStreams);
+        senderExecutor.setVirtualThreads(virtualThreads);
+        // tracks the senders, so that closing the executor interrupts them
+        senderExecutor.setTaskTerminationTimeout(SHUTDOWN_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * Opens a stream of the changes after {@code lastSequence}, or of changes from now on when it is null.
+     *
+     * @throws ServiceOverloadedException if the maximum number of streams is already open
+     */
+    public SseEmitter open(Long lastSequence) {
+        if (!streams.tryAcquire()) {
+            throw new ServiceOverloadedException("Too many open change streams (" + maxStreams + "), please retry",
+                    RETRY_AFTER);
+        }
+        try {
+            SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT.toMillis());
+            EmployeeChangeSubscription subscription = employeeChangeFeed.subscribe(lastSequence);
+            Runnable close = subscription::close;
+            emitter.onCompletion(close);
+            emitter.onTimeout(close);
+            emitter.onError(error -> close.run());
+            senderExecutor.execute(() -> {
+                try {
+                    send(emitter, subscription);
+                } finally {
+                    streams.release();
+                }
+            });
+            return emitter;
+        } catch (RuntimeException e) {
+            // no sender took the stream over, e.g. while shutting down
+            streams.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        senderExecutor.close();
+    }
+
+    private void send(SseEmitter emitter, EmployeeChangeSubscription subscription) {
+        try (subscription) {
+            // the first write commits the response headers, so clients see the stream open straight away
+            emitter.send(SseEmitter.event().comment("cursor " + subscription.getCursor()));
+            while (!Thread.currentThread().isInterrupted()) {
+                List<EmployeeChange> changes = subscription.next(KEEP_ALIVE_INTERVAL);
+                if (changes.isEmpty()) {
+                    emitter.send(SseEmitter.event().comment("keep-alive"));
+                    continue;
+                }
+                Set<ResponseBodyEmitter.DataWithMediaType> batch = new LinkedHashSet<>();
+                for (EmployeeChange change : changes) {
+                    batch.addAll(SseEmitter.event()
+                            .id(Long.toString(change.getSequence()))
+                            .data(employeeChangeMapper.toDto(change), MediaType.APPLICATION_JSON)
+                            .build());
+                }
+                emitter.send(batch);
+            }
+        } catch (IOException | IllegalStateException e) {
+            // the client went away or the stream timed out; the emitter callbacks already closed it
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            emitter.complete();
+        } catch (RuntimeException e) {
+            emitter.completeWithError(e);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package org.example.employeeapi.concurrency;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A concurrency limit that adapts to observed latency, after the gradient algorithm: each completed request
+ * compares its latency with a slow-moving average, and the limit shrinks by that ratio when latency climbs
+ * (a queue is building somewhere downstream) and grows by a small headroom while it holds steady.
+ * <p>
+ * {@link #tryAcquire()} never waits: a request over the limit is turned away at once, so the ones admitted keep
+ * their latency instead of everyone queueing until the connection pool times out. The limit only moves while at
+ * least half of it is in use; a mostly idle limiter says nothing about what the backend can take.
+ */
+public class AdaptiveConcurrencyLimit implements MeterBinder {
+    // samples averaged into the long-term latency, and how far a single sample moves the limit
+    private static final int LONG_WINDOW = 600;
+    private static final double SMOOTHING = 0.2;
+    // latency may grow by this factor over the long-term average before the limit backs off
+    private static final double TOLERANCE = 1.5;
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    // guarded by this
+    private double estimatedLimit;
+    private double longLatencyNanos;
+    private volatile int limit;
+
+    public AdaptiveConcurrencyLimit(String name, int initialLimit, int minLimit, int maxLimit) {
+        if (minLimit < 1 || initialLimit < minLimit || maxLimit < initialLimit) {
+            throw new IllegalArgumentException("Expected 1 <= min <= initial <= max limit for " + name);
+        }
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.estimatedLimit = initialLimit;
+        this.limit = initialLimit;
+    }
+
+    /**
+     * Takes a slot if one is free. Every successful call must be paired with {@link #release}.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Gives the slot back and feeds the request's latency into the limit.
+     */
+    public void release(long latencyNanos) {
+        int current = inFlight.getAndDecrement();
+        onSample(Math.max(1, latencyNanos), current);
+    }
+
+    private synchronized void onSample(long latencyNanos, int inFlightAtCompletion) {
+        if (longLatencyNanos == 0) {
+            longLatencyNanos = latencyNanos;
+        } else {
+            longLatencyNanos += (latencyNanos - longLatencyNanos) / LONG_WINDOW;
+        }
+        // after a lasting improvement (e.g. a warmed-up cache) let the average follow quickly
+        if (longLatencyNanos / latencyNanos > 2) {
+            longLatencyNanos *= 0.95;
+        }
+        if (inFlightAtCompletion < estimatedLimit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, TOLERANCE * longLatencyNanos / latencyNanos));
+        double headroom = Math.sqrt(estimatedLimit);
+        double newLimit = estimatedLimit * gradient + headroom;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING));
+        limit = (int) estimatedLimit;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("employee.concurrency.limit", this, AdaptiveConcurrencyLimit::getLimit)
+                .description("Current adaptive concurrency limit")
+                .tag("kind", name)
+                .register(registry);
+        Gauge.builder("employee.concurrency.in.flight", this, AdaptiveConcurrencyLimit::getInFlight)
+                .description("Requests currently holding a slot")
+                .tag("kind", name)
+                .register(registry);
+        FunctionCounter.builder("employee.concurrency.rejected", rejected, LongAdder::doubleValue)
+                .description("Requests turned away with 503 because the limit was reached")
+                .tag("kind", name)
+                .register(registry);
+    }
+}
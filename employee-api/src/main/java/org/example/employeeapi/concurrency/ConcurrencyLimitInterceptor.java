@@ -0,0 +1,51 @@
+package org.example.employeeapi.concurrency;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.employeeapi.exception.ServiceOverloadedException;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Duration;
+
+/**
+ * Admits a request only while its limit (reads for GET/HEAD, writes for everything else) has a free slot,
+ * and holds the slot until the response is complete.
+ */
+public class ConcurrencyLimitInterceptor implements HandlerInterceptor {
+    private static final String ADMITTED = ConcurrencyLimitInterceptor.class.getName() + ".admitted";
+
+    private final AdaptiveConcurrencyLimit readLimit;
+    private final AdaptiveConcurrencyLimit writeLimit;
+    private final Duration retryAfter;
+
+    public ConcurrencyLimitInterceptor(AdaptiveConcurrencyLimit readLimit, AdaptiveConcurrencyLimit writeLimit,
+                                       Duration retryAfter) {
+        this.readLimit = readLimit;
+        this.writeLimit = writeLimit;
+        this.retryAfter = retryAfter;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        AdaptiveConcurrencyLimit limit = limitFor(request);
+        if (!limit.tryAcquire()) {
+            throw new ServiceOverloadedException("Too many concurrent " + limit.getName() + ", please retry", retryAfter);
+        }
+        request.setAttribute(ADMITTED, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(ADMITTED) instanceof Long admittedAt) {
+            request.removeAttribute(ADMITTED);
+            limitFor(request).release(System.nanoTime() - admittedAt);
+        }
+    }
+
+    private AdaptiveConcurrencyLimit limitFor(HttpServletRequest request) {
+        return HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod())
+                ? readLimit : writeLimit;
+    }
+}
@@ -0,0 +1,56 @@
+package org.example.employeeapi.config;
+
+import org.example.employeeapi.concurrency.AdaptiveConcurrencyLimit;
+import org.example.employeeapi.concurrency.ConcurrencyLimitInterceptor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+/**
+ * Load shedding for {@code /api/employees/**}: reads and writes each get an {@link AdaptiveConcurrencyLimit},
+ * and requests over it fail fast with 503 and {@code Retry-After}. The long-lived streams (export and the
+ * change feed) are left out; their duration says nothing about backend latency.
+ */
+@Configuration
+@ConditionalOnProperty(name = "employee.concurrency-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitConfig implements WebMvcConfigurer {
+    private final AdaptiveConcurrencyLimit readLimit;
+    private final AdaptiveConcurrencyLimit writeLimit;
+    private final Duration retryAfter;
+
+    public ConcurrencyLimitConfig(@Value("${employee.concurrency-limit.min-limit:4}") int minLimit,
+                                  @Value("${employee.concurrency-limit.reads.initial-limit:40}") int readInitialLimit,
+                                  @Value("${employee.concurrency-limit.reads.max-limit:400}") int readMaxLimit,
+                                  @Value("${employee.concurrency-limit.writes.initial-limit:10}") int writeInitialLimit,
+                                  @Value("${employee.concurrency-limit.writes.max-limit:100}") int writeMaxLimit,
+                                  @Value("${employee.concurrency-limit.retry-after:1s}") Duration retryAfter) {
+        this.readLimit = new AdaptiveConcurrencyLimit("reads", readInitialLimit, minLimit, readMaxLimit);
+        this.writeLimit = new AdaptiveConcurrencyLimit("writes", writeInitialLimit, minLimit, writeMaxLimit);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Exposed as beans so that their limit, in-flight and rejection meters are registered.
+     */
+    @Bean
+    public AdaptiveConcurrencyLimit readConcurrencyLimit() {
+        return readLimit;
+    }
+
+    @Bean
+    public AdaptiveConcurrencyLimit writeConcurrencyLimit() {
+        return writeLimit;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ConcurrencyLimitInterceptor(readLimit, writeLimit, retryAfter))
+                .addPathPatterns("/api/employees/**")
+                .excludePathPatterns("/api/employees/export", "/api/employees/changes");
+    }
+}
@@ -0,0 +1,56 @@
+package org.example.employeeapi.config;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * In the fast-startup profile, marks springdoc's beans lazy so none of them is built during startup; the
+ * first request for the API docs or Swagger UI pays for them instead. Everything else stays eager, since the
+ * search index, analytics and change feed load their state when the context starts.
+ */
+@Configuration
+@Profile("fast-startup")
+public class LazyApiDocsConfig {
+    private static final String SPRINGDOC_PACKAGE = "org.springdoc.";
+
+    @Bean
+    public static BeanFactoryPostProcessor lazyApiDocs() {
+        return beanFactory -> {
+            for (String beanName : beanFactory.getBeanDefinitionNames()) {
+                BeanDefinition beanDefinition = beanFactory.getBeanDefinition(beanName);
+                String declaringClass = declaringClassName(beanFactory, beanDefinition);
+                if (declaringClass != null && declaringClass.startsWith(SPRINGDOC_PACKAGE)
+                        && !neededEagerly(beanFactory, beanName)) {
+                    beanDefinition.setLazyInit(true);
+                }
+            }
+        };
+    }
+
+    /**
+     * Swagger UI's resource handlers and mappings are collected while MVC is set up, and some springdoc beans
+     * configure others from their init callback (e.g. the Swagger UI version), so those stay eager.
+     */
+    private static boolean neededEagerly(ConfigurableListableBeanFactory beanFactory, String beanName) {
+        Class<?> type = beanFactory.getType(beanName, false);
+        return type == null || WebMvcConfigurer.class.isAssignableFrom(type) || HandlerMapping.class.isAssignableFrom(type)
+                || InitializingBean.class.isAssignableFrom(type);
+    }
+
+    /**
+     * The bean's class, or for a {@code @Bean} method the class of the configuration declaring it.
+     */
+    private static String declaringClassName(ConfigurableListableBeanFactory beanFactory, BeanDefinition beanDefinition) {
+        if (beanDefinition.getFactoryBeanName() != null && beanFactory.containsBeanDefinition(beanDefinition.getFactoryBeanName())) {
+            return beanFactory.getBeanDefinition(beanDefinition.getFactoryBeanName()).getBeanClassName();
+        }
+        return beanDefinition.getBeanClassName();
+    }
+}
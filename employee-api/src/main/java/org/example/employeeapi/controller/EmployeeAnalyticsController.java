@@ -0,0 +1,41 @@
+package org.example.employeeapi.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.example.employeeapi.dto.HeadcountDTO;
+import org.example.employeeservice.model.HeadcountSummary;
+import org.example.employeeservice.service.EmployeeService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@Tag(name = "Employee Analytics", description = "Aggregated employee figures for dashboards")
+@RequestMapping("/api/employees/analytics")
+public class EmployeeAnalyticsController {
+    private final EmployeeService employeeService;
+
+    public EmployeeAnalyticsController(EmployeeService employeeService) {
+        this.employeeService = employeeService;
+    }
+
+    @Operation(summary = "Get headcount", description = "Headcount by position and hires per month, served from "
+            + "in-memory aggregates that are updated on every write")
+    @ApiResponse(responseCode = "200", description = "Headcount retrieved successfully",
+            content = @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = HeadcountDTO.class)))
+    @GetMapping("/headcount")
+    public ResponseEntity<HeadcountDTO> getHeadcount() {
+        HeadcountSummary summary = employeeService.getHeadcount();
+        Map<String, Long> hiresByMonth = new LinkedHashMap<>();
+        summary.getHiresByMonth().forEach((month, hires) -> hiresByMonth.put(month.toString(), hires));
+        return ResponseEntity.ok(new HeadcountDTO(summary.getTotal(), summary.getByPosition(), hiresByMonth));
+    }
+}
@@ -0,0 +1,79 @@
+package org.example.employeeapi.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.example.employeeapi.changes.EmployeeChangeStreamer;
+import org.example.employeeapi.dto.EmployeeChangeDTO;
+import org.example.employeeapi.exception.BadRequestException;
+import org.example.employeeapi.exception.ErrorDetails;
+import org.example.employeeapi.exception.ServiceOverloadedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@Tag(name = "Employee Changes", description = "Feed of committed employee changes")
+@RequestMapping("/api/employees/changes")
+public class EmployeeChangesController {
+    private static final String LAST_EVENT_ID = "Last-Event-ID";
+
+    private final EmployeeChangeStreamer employeeChangeStreamer;
+
+    public EmployeeChangesController(EmployeeChangeStreamer employeeChangeStreamer) {
+        this.employeeChangeStreamer = employeeChangeStreamer;
+    }
+
+    @Operation(summary = "Stream employee changes", description = "Server-Sent Events stream of every committed create, "
+            + "update and delete, in commit order. Each event's id is its sequence number; reconnect with Last-Event-ID "
+            + "to resume right after it (0 replays the whole retained feed). Without it the stream starts at the "
+            + "current end of the feed")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Change stream started",
+                    content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                            schema = @Schema(implementation = EmployeeChangeDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid Last-Event-ID",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetails.class))),
+            @ApiResponse(responseCode = "503", description = "Too many open streams; retry after the Retry-After delay")
+    })
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamChanges(
+            @Parameter(description = "Sequence number of the last change already processed")
+            @RequestHeader(value = LAST_EVENT_ID, required = false) String lastEventId) {
+        Long lastSequence = parseSequence(lastEventId);
+        try {
+            return ResponseEntity.ok(employeeChangeStreamer.open(lastSequence));
+        } catch (ServiceOverloadedException e) {
+            // EventSource clients accept only text/event-stream, which an error body cannot be written as
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, Long.toString(e.getRetryAfter().toSeconds()))
+                    .build();
+        }
+    }
+
+    private static Long parseSequence(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        try {
+            long sequence = Long.parseLong(lastEventId.trim());
+            if (sequence < 0) {
+                throw new BadRequestException("Invalid " + LAST_EVENT_ID + " " + lastEventId);
+            }
+            return sequence;
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Invalid " + LAST_EVENT_ID + " " + lastEventId);
+        }
+    }
+}
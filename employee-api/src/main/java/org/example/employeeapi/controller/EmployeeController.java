@@ -1,33 +1,88 @@
 package org.example.employeeapi.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import org.example.employeeapi.dto.EmployeeBatchResultDTO;
+import org.example.employeeapi.dto.EmployeeBulkResultDTO;
+import org.example.employeeapi.dto.EmployeeBulkUpdateDTO;
 import org.example.employeeapi.dto.EmployeeDTO;
+import org.example.employeeapi.dto.EmployeeFilterDTO;
+import org.example.employeeapi.exception.BadRequestException;
 import org.example.employeeapi.exception.ErrorDetails;
+import org.example.employeeapi.exception.PreconditionFailedException;
 import org.example.employeeapi.exception.ValidationErrorDetails;
+import org.example.employeeapi.mapper.EmployeeMapper;
+import org.example.employeeapi.util.CursorCodec;
+import org.example.employeeapi.util.EmployeeETags;
+import org.example.employeeapi.util.FieldSelection;
+import org.example.employeeapi.util.SortSelection;
+import org.example.employeecommon.exception.ResourceConflictException;
 import org.example.employeeservice.entity.Employee;
+import org.example.employeeservice.model.EmployeeCriteria;
+import org.example.employeeservice.model.EmployeeField;
+import org.example.employeeservice.model.EmployeeFields;
+import org.example.employeeservice.model.EmployeeUpsertResult;
 import org.example.employeeservice.service.EmployeeService;
-import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
 
 @RestController
 @Tag(name = "Employee Management", description = "Operations related to employees")
 @RequestMapping("/api/employees")
 public class EmployeeController {
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int MAX_BATCH_SIZE = 10_000;
+    private static final int EXPORT_FLUSH_INTERVAL = 500;
+    private static final int DEFAULT_SEARCH_LIMIT = 20;
+    private static final int MAX_SEARCH_LIMIT = 100;
+    private static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+    private static final String FIELDS_DESCRIPTION = "Comma-separated fields to return, e.g. id,email,position. "
+            + "Only those columns are read from the database; all fields when omitted";
+
     private final EmployeeService employeeService;
-    private final ModelMapper modelMapper;
+    private final EmployeeMapper employeeMapper;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
 
-    public EmployeeController(EmployeeService employeeService , ModelMapper modelMapper) {
+    public EmployeeController(EmployeeService employeeService , EmployeeMapper employeeMapper, ObjectMapper objectMapper,
+                              Validator validator) {
         this.employeeService = employeeService;
-        this.modelMapper = modelMapper;
+        this.employeeMapper = employeeMapper;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
     }
 
 
@@ -41,41 +96,258 @@ public class EmployeeController {
                             schema = @Schema(implementation = ValidationErrorDetails.class)))
     })
     @PostMapping("/create")
-    public ResponseEntity<EmployeeDTO> createEmployee(@Valid  @RequestBody EmployeeDTO employeeDTO) {
-        Employee employeeRequest = modelMapper.map(employeeDTO, Employee.class);
+    public ResponseEntity<EmployeeDTO> createEmployee(@Valid  @RequestBody EmployeeDTO employeeDTO,
+                                                      @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        Employee employeeRequest = employeeMapper.toEntity(employeeDTO);
         Employee employee = employeeService.createEmployee(employeeRequest);
-        EmployeeDTO employeeResponse = modelMapper.map(employee, EmployeeDTO.class);
-        return new ResponseEntity<>(employeeResponse , HttpStatus.CREATED);
+        EmployeeDTO employeeResponse = employeeMapper.toDto(employee);
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(EmployeeETags.of(employee, accept)).body(employeeResponse);
     }
 
-    @Operation(summary = "Get an employee by ID", description = "Retrieves an employee by their ID")
+    @Operation(summary = "Create or update employees in bulk", description = "Validates every item, then inserts new "
+            + "employees and updates existing ones (matched by email) in JDBC batches. Returns one result per item")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed",
+                    content = @Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = EmployeeBatchResultDTO.class)))),
+            @ApiResponse(responseCode = "400", description = "Empty or oversized batch",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetails.class)))
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<List<EmployeeBatchResultDTO>> upsertEmployees(@RequestBody List<EmployeeDTO> employeeDTOS) {
+        if (employeeDTOS.isEmpty() || employeeDTOS.size() > MAX_BATCH_SIZE) {
+            throw new BadRequestException("Batch must contain between 1 and " + MAX_BATCH_SIZE + " employees");
+        }
+
+        EmployeeBatchResultDTO[] results = new EmployeeBatchResultDTO[employeeDTOS.size()];
+        List<Integer> acceptedIndexes = new ArrayList<>(employeeDTOS.size());
+        List<Employee> employeeRequests = new ArrayList<>(employeeDTOS.size());
+        for (int i = 0; i < employeeDTOS.size(); i++) {
+            EmployeeDTO employeeDTO = employeeDTOS.get(i);
+            Set<ConstraintViolation<EmployeeDTO>> violations = validator.validate(employeeDTO);
+            if (violations.isEmpty()) {
+                acceptedIndexes.add(i);
+                employeeRequests.add(employeeMapper.toEntity(employeeDTO));
+            } else {
+                Map<String, String> errors = new HashMap<>();
+                for (ConstraintViolation<EmployeeDTO> violation : violations) {
+                    errors.put(violation.getPropertyPath().toString(), violation.getMessage());
+                }
+                results[i] = new EmployeeBatchResultDTO(i, EmployeeBatchResultDTO.Status.REJECTED, null, errors);
+            }
+        }
+
+        List<EmployeeUpsertResult> upserted = employeeRequests.isEmpty()
+                ? List.of()
+                : employeeService.upsertEmployees(employeeRequests);
+        for (int i = 0; i < upserted.size(); i++) {
+            EmployeeUpsertResult result = upserted.get(i);
+            int index = acceptedIndexes.get(i);
+            EmployeeBatchResultDTO.Status status = result.getStatus() == EmployeeUpsertResult.Status.CREATED
+                    ? EmployeeBatchResultDTO.Status.CREATED
+                    : EmployeeBatchResultDTO.Status.UPDATED;
+            results[index] = new EmployeeBatchResultDTO(index, status, result.getEmployee().getId(), null);
+        }
+        return ResponseEntity.ok(Arrays.asList(results));
+    }
+
+    @Operation(summary = "Get an employee by ID", description = "Retrieves an employee by their ID, or only the "
+            + "requested fields of it. The response carries an ETag; send it back in If-None-Match to get 304 while "
+            + "the employee is unchanged")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Employee retrieved successfully",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = EmployeeDTO.class))),
+            @ApiResponse(responseCode = "304", description = "Employee unchanged since the given ETag"),
+            @ApiResponse(responseCode = "400", description = "Unknown field",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetails.class))),
             @ApiResponse(responseCode = "404", description = "Employee not found",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ErrorDetails.class)))
     })
     @GetMapping("/{id}")
-    public ResponseEntity<EmployeeDTO> getEmployeeById(@PathVariable Long id) {
+    public ResponseEntity<?> getEmployeeById(
+            @PathVariable Long id,
+            @Parameter(description = FIELDS_DESCRIPTION)
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        Set<EmployeeField> selected = FieldSelection.parse(fields);
+        // checked before calling into the service: an exception thrown through its proxy picks up two
+        // wrappers with full stack traces on the way out
+        if (!employeeService.employeeMightExist(id)) {
+            throw EmployeeService.employeeNotFound(id);
+        }
+        if (selected != null) {
+            EmployeeFields employeeFields = employeeService.getEmployeeFieldsById(id, selected);
+            if (request.checkNotModified(EmployeeETags.of(employeeFields, selected, accept))) {
+                return null;
+            }
+            return ResponseEntity.ok(employeeFields.getValues());
+        }
+
+        // usually a cache hit; on a match neither mapping nor serialization happens
         Employee employee = employeeService.getEmployeeById(id);
-        EmployeeDTO employeeResponse = modelMapper.map(employee, EmployeeDTO.class);
+        if (request.checkNotModified(EmployeeETags.of(employee, accept))) {
+            return null;
+        }
+        EmployeeDTO employeeResponse = employeeMapper.toDto(employee);
         return ResponseEntity.ok(employeeResponse);
     }
 
-    @Operation(summary = "Get all employees", description = "Retrieves a list of all employees")
-    @ApiResponse(responseCode = "200", description = "List of employees retrieved successfully",
-            content = @Content(mediaType = "application/json",
-                    schema = @Schema(implementation = EmployeeDTO.class)))
+    @Operation(summary = "Get all employees", description = "Retrieves a list of employees, or only the requested fields "
+            + "of each. Filters narrow the list in the database, using its indexes, and sort orders it; ties, and "
+            + "unsorted lists, are in id order. When limit is given the list is keyset paginated and the next page is "
+            + "advertised through a Link header; without it every match is returned. The ETag changes whenever any "
+            + "employee does; send it back in If-None-Match to get 304 instead of the list")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "List of employees retrieved successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = EmployeeDTO.class))),
+            @ApiResponse(responseCode = "304", description = "No employee changed since the given ETag"),
+            @ApiResponse(responseCode = "400", description = "Invalid limit, cursor, field, filter or sort",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetails.class))),
+            @ApiResponse(responseCode = "409", description = "The employee the cursor continues after was deleted",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetails.class)))
+    })
     @GetMapping
-    public ResponseEntity<List<EmployeeDTO>> getAllEmployees() {
-        List<Employee> employees = employeeService.getAllEmployees();
-        List<EmployeeDTO> employeeDTOS = employees.stream().map(employee -> modelMapper.map(employee , EmployeeDTO.class)).toList();
-        return ResponseEntity.ok(employeeDTOS);
+    public ResponseEntity<?> getAllEmployees(
+            @Parameter(description = "Maximum number of employees per page (1-" + MAX_PAGE_SIZE + ")")
+            @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Opaque cursor taken from the previous page's next link")
+            @RequestParam(required = false) String after,
+            @Parameter(description = FIELDS_DESCRIPTION)
+            @RequestParam(required = false) String fields,
+            @Parameter(description = "Only employees with exactly this position", example = "Engineer")
+            @RequestParam(required = false) String position,
+            @Parameter(description = "Only employees with exactly this last name", example = "Smith")
+            @RequestParam(required = false) String lastName,
+            @Parameter(description = "Only employees hired on or after this date", example = "2023-01-01")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hiredFrom,
+            @Parameter(description = "Only employees hired on or before this date", example = "2023-12-31")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hiredTo,
+            @Parameter(description = "Comma-separated properties to sort by, descending when prefixed with -, "
+                    + "e.g. -hireDate,lastName", example = "-hireDate")
+            @RequestParam(required = false) String sort,
+            WebRequest request) {
+        Set<EmployeeField> selected = FieldSelection.parse(fields);
+        EmployeeCriteria criteria = new EmployeeCriteria(null, position, lastName, hiredFrom, hiredTo);
+        checkHireDateRange(criteria);
+        Sort order = SortSelection.parse(sort);
+        // unfiltered id order keeps the coalesced full-list and plain keyset paths
+        boolean filtered = !criteria.isEmpty() || order != null;
+        if (order == null) {
+            order = SortSelection.byId();
+        }
+        // read before the employees, so a concurrent change can only make the tag older than the body, never newer
+        String eTag = EmployeeETags.ofCollection(employeeService.getEmployeesRevision(), selected,
+                request.getHeader(HttpHeaders.ACCEPT));
+
+        if (limit == null && after == null) {
+            if (request.checkNotModified(eTag)) {
+                return null;
+            }
+            if (filtered) {
+                if (selected != null) {
+                    return ResponseEntity.ok(valuesOf(employeeService.findEmployeeFields(criteria, order, null, null, selected)));
+                }
+                return ResponseEntity.ok(employeeMapper.toDtoList(employeeService.findEmployees(criteria, order, null, null)));
+            }
+            if (selected != null) {
+                return ResponseEntity.ok(valuesOf(employeeService.getAllEmployeeFields(selected)));
+            }
+            List<Employee> employees = employeeService.getAllEmployees();
+            List<EmployeeDTO> employeeDTOS = employeeMapper.toDtoList(employees);
+            return ResponseEntity.ok(employeeDTOS);
+        }
+
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : limit;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        Long afterId = CursorCodec.decode(after);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        if (selected != null) {
+            List<EmployeeFields> page = filtered
+                    ? employeeService.findEmployeeFields(criteria, order, afterId, pageSize, selected)
+                    : employeeService.getEmployeeFieldsAfter(afterId, pageSize, selected);
+            Long lastId = page.isEmpty() ? null : page.get(page.size() - 1).getId();
+            return pageResponse(page.size(), pageSize, lastId).body(valuesOf(page));
+        }
+        List<Employee> employees = filtered
+                ? employeeService.findEmployees(criteria, order, afterId, pageSize)
+                : employeeService.getEmployeesAfter(afterId, pageSize);
+        List<EmployeeDTO> employeeDTOS = employeeMapper.toDtoList(employees);
+        Long lastId = employees.isEmpty() ? null : employees.get(employees.size() - 1).getId();
+        return pageResponse(employees.size(), pageSize, lastId).body(employeeDTOS);
+    }
+
+    @Operation(summary = "Search employees", description = "Prefix search over first name, last name, email and position, "
+            + "served from an in-memory index. Every word of the query must match; name matches rank above email and position")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Matching employees, best match first",
+                    content = @Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = EmployeeDTO.class)))),
+            @ApiResponse(responseCode = "400", description = "Missing query or invalid limit",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetails.class)))
+    })
+    @GetMapping("/search")
+    public ResponseEntity<List<EmployeeDTO>> searchEmployees(
+            @Parameter(description = "Search text, e.g. \"ali smi\"")
+            @RequestParam(required = false) String q,
+            @Parameter(description = "Maximum number of results (1-" + MAX_SEARCH_LIMIT + ")")
+            @RequestParam(required = false) Integer limit) {
+        if (q == null || q.isBlank()) {
+            throw new BadRequestException("q must not be blank");
+        }
+        int resultSize = limit == null ? DEFAULT_SEARCH_LIMIT : limit;
+        if (resultSize < 1 || resultSize > MAX_SEARCH_LIMIT) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_SEARCH_LIMIT);
+        }
+        List<Employee> employees = employeeService.searchEmployees(q, resultSize);
+        return ResponseEntity.ok(employeeMapper.toDtoList(employees));
+    }
+
+    @Operation(summary = "Export all employees", description = "Streams every employee as newline-delimited JSON "
+            + "straight from a database cursor, so memory use stays flat regardless of table size")
+    @ApiResponse(responseCode = "200", description = "Employee stream started",
+            content = @Content(mediaType = NDJSON_MEDIA_TYPE,
+                    schema = @Schema(implementation = EmployeeDTO.class)))
+    @GetMapping(value = "/export", produces = NDJSON_MEDIA_TYPE)
+    public ResponseEntity<StreamingResponseBody> exportEmployees() {
+        StreamingResponseBody body = outputStream -> {
+            ObjectWriter writer = objectMapper.writerFor(EmployeeDTO.class)
+                    .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .withRootValueSeparator("\n");
+            int[] written = {0};
+            try (SequenceWriter sequenceWriter = writer.writeValues(outputStream)) {
+                employeeService.exportEmployees(employee -> {
+                    try {
+                        sequenceWriter.write(employeeMapper.toDto(employee));
+                        if (++written[0] % EXPORT_FLUSH_INTERVAL == 0) {
+                            sequenceWriter.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+            if (written[0] > 0) {
+                outputStream.write('\n');
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON_MEDIA_TYPE)).body(body);
     }
 
-    @Operation(summary = "Update an existing employee", description = "Updates the details of an existing employee")
+    @Operation(summary = "Update an existing employee", description = "Updates the details of an existing employee. "
+            + "With If-Match, only if the employee still has that ETag")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Employee updated successfully",
                     content = @Content(mediaType = "application/json",
@@ -84,18 +356,27 @@ public class EmployeeController {
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ValidationErrorDetails.class))),
             @ApiResponse(responseCode = "404", description = "Employee not found",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetails.class))),
+            @ApiResponse(responseCode = "409", description = "Employee was modified since the given version",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetails.class))),
+            @ApiResponse(responseCode = "412", description = "Employee no longer matches If-Match",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ErrorDetails.class)))
     })
     @PutMapping("/{id}")
-    public ResponseEntity<EmployeeDTO> updateEmployee(@PathVariable Long id, @Valid @RequestBody EmployeeDTO employeeDTO) {
-        Employee employeeRequest = modelMapper.map(employeeDTO, Employee.class);
-        Employee employee = employeeService.updateEmployee(id, employeeRequest);
-        EmployeeDTO employeeResponse = modelMapper.map(employee, EmployeeDTO.class);
-        return ResponseEntity.ok(employeeResponse);
+    public ResponseEntity<EmployeeDTO> updateEmployee(@PathVariable Long id, @Valid @RequestBody EmployeeDTO employeeDTO,
+                                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                      @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        Employee employeeRequest = employeeMapper.toEntity(employeeDTO);
+        Employee employee = ifMatch(id, ifMatch, employeeRequest, () -> employeeService.updateEmployee(id, employeeRequest));
+        EmployeeDTO employeeResponse = employeeMapper.toDto(employee);
+        return ResponseEntity.ok().eTag(EmployeeETags.of(employee, accept)).body(employeeResponse);
     }
 
-    @Operation(summary = "Partially update an employee", description = "Updates some details of an existing employee")
+    @Operation(summary = "Partially update an employee", description = "Updates some details of an existing employee. "
+            + "With If-Match, only if the employee still has that ETag")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Employee updated successfully",
                     content = @Content(mediaType = "application/json",
@@ -104,27 +385,165 @@ public class EmployeeController {
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ValidationErrorDetails.class))),
             @ApiResponse(responseCode = "404", description = "Employee not found",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetails.class))),
+            @ApiResponse(responseCode = "409", description = "Employee was modified since the given version",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetails.class))),
+            @ApiResponse(responseCode = "412", description = "Employee no longer matches If-Match",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ErrorDetails.class)))
     })
     @PatchMapping("/{id}")
-    public ResponseEntity<EmployeeDTO> patchEmployee(@PathVariable Long id, @RequestBody EmployeeDTO employeeDTO) {
-        Employee employeeRequest = modelMapper.map(employeeDTO, Employee.class);
-        Employee employee = employeeService.partialUpdateEmployee(id, employeeRequest);
-        EmployeeDTO employeeResponse = modelMapper.map(employee, EmployeeDTO.class);
-        return ResponseEntity.ok(employeeResponse);
+    public ResponseEntity<EmployeeDTO> patchEmployee(@PathVariable Long id, @RequestBody EmployeeDTO employeeDTO,
+                                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                     @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        Employee employeeRequest = employeeMapper.toEntity(employeeDTO);
+        Employee employee = ifMatch(id, ifMatch, employeeRequest, () -> employeeService.partialUpdateEmployee(id, employeeRequest));
+        EmployeeDTO employeeResponse = employeeMapper.toDto(employee);
+        return ResponseEntity.ok().eTag(EmployeeETags.of(employee, accept)).body(employeeResponse);
     }
 
-    @Operation(summary = "Delete an employee", description = "Deletes an employee by their ID")
+    @Operation(summary = "Delete an employee", description = "Deletes an employee by their ID. With If-Match, only "
+            + "if the employee still has that ETag")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Employee deleted successfully"),
             @ApiResponse(responseCode = "404", description = "Employee not found",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetails.class))),
+            @ApiResponse(responseCode = "412", description = "Employee no longer matches If-Match",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ErrorDetails.class)))
     })
     @DeleteMapping("/{id}")
-    public ResponseEntity<EmployeeDTO> deleteEmployee(@PathVariable Long id) {
-        employeeService.deleteEmployee(id);
+    public ResponseEntity<EmployeeDTO> deleteEmployee(@PathVariable Long id,
+                                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion = EmployeeETags.expectedVersion(id, ifMatch);
+        ifMatch(id, ifMatch, null, () -> {
+            employeeService.deleteEmployee(id, expectedVersion);
+            return null;
+        });
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
+
+    @Operation(summary = "Update employees by filter", description = "Sets the given fields on every employee matching "
+            + "the filter with set-based UPDATE statements, and returns how many were updated. Emails cannot be "
+            + "bulk-updated")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Employees updated",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = EmployeeBulkResultDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Empty or invalid filter or patch",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetails.class)))
+    })
+    @PatchMapping("/bulk")
+    public ResponseEntity<EmployeeBulkResultDTO> bulkUpdateEmployees(@Valid @RequestBody EmployeeBulkUpdateDTO bulkUpdateDTO) {
+        EmployeeCriteria criteria = criteriaOf(bulkUpdateDTO.getFilter());
+        EmployeeDTO patch = bulkUpdateDTO.getPatch();
+        if (patch.getId() != null || patch.getEmail() != null || patch.getVersion() != null) {
+            throw new BadRequestException("patch may only set firstName, lastName, position and hireDate");
+        }
+        if (patch.getFirstName() == null && patch.getLastName() == null && patch.getPosition() == null
+                && patch.getHireDate() == null) {
+            throw new BadRequestException("patch must set at least one field");
+        }
+        for (String property : List.of("firstName", "lastName", "position", "hireDate")) {
+            for (ConstraintViolation<EmployeeDTO> violation : validator.validateProperty(patch, property)) {
+                // a field left out of the patch is not "mandatory" here
+                if (violation.getInvalidValue() != null) {
+                    throw new BadRequestException(violation.getMessage());
+                }
+            }
+        }
+
+        int updated = employeeService.bulkUpdateEmployees(criteria, employeeMapper.toEntity(patch));
+        return ResponseEntity.ok(new EmployeeBulkResultDTO(updated));
+    }
+
+    @Operation(summary = "Delete employees by filter", description = "Deletes every employee matching the filter with "
+            + "set-based DELETE statements, and returns how many were deleted")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Employees deleted",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = EmployeeBulkResultDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Empty or invalid filter",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetails.class)))
+    })
+    @PostMapping("/bulk-delete")
+    public ResponseEntity<EmployeeBulkResultDTO> bulkDeleteEmployees(@RequestBody EmployeeFilterDTO filterDTO) {
+        int deleted = employeeService.bulkDeleteEmployees(criteriaOf(filterDTO));
+        return ResponseEntity.ok(new EmployeeBulkResultDTO(deleted));
+    }
+
+    /**
+     * A bulk write must name what it applies to; "everything" is never the default.
+     */
+    private static EmployeeCriteria criteriaOf(EmployeeFilterDTO filterDTO) {
+        if (filterDTO.getIds() != null && filterDTO.getIds().contains(null)) {
+            throw new BadRequestException("ids must not contain null");
+        }
+        EmployeeCriteria criteria = new EmployeeCriteria(filterDTO.getIds(), filterDTO.getPosition(),
+                filterDTO.getLastName(), filterDTO.getHiredFrom(), filterDTO.getHiredTo());
+        if (criteria.isEmpty()) {
+            throw new BadRequestException("filter must give ids, a position, a last name or a hire date range");
+        }
+        if (criteria.getIds() != null && criteria.getIds().size() > MAX_BATCH_SIZE) {
+            throw new BadRequestException("filter may list at most " + MAX_BATCH_SIZE + " ids");
+        }
+        checkHireDateRange(criteria);
+        return criteria;
+    }
+
+    private static void checkHireDateRange(EmployeeCriteria criteria) {
+        if (criteria.getHiredFrom() != null && criteria.getHiredTo() != null
+                && criteria.getHiredFrom().isAfter(criteria.getHiredTo())) {
+            throw new BadRequestException("hiredFrom must not be after hiredTo");
+        }
+    }
+
+    /**
+     * A full page implies there may be more, so it links to the page after its last id.
+     */
+    private static ResponseEntity.BodyBuilder pageResponse(int size, int pageSize, Long lastId) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (size == pageSize) {
+            String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("limit", pageSize)
+                    .replaceQueryParam("after", CursorCodec.encode(lastId))
+                    // the request's query is already encoded, and the replaced values need none
+                    .build(true)
+                    .toUriString();
+            response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return response;
+    }
+
+    private static List<Map<String, Object>> valuesOf(List<EmployeeFields> employeeFields) {
+        List<Map<String, Object>> values = new ArrayList<>(employeeFields.size());
+        for (EmployeeFields fields : employeeFields) {
+            values.add(fields.getValues());
+        }
+        return values;
+    }
+
+    /**
+     * Runs a write conditional on {@code If-Match}, which takes precedence over a version in the body.
+     * A version mismatch is then reported as 412 rather than 409.
+     */
+    private <T> T ifMatch(Long id, String ifMatch, Employee employeeRequest, Supplier<T> write) {
+        Long expectedVersion = EmployeeETags.expectedVersion(id, ifMatch);
+        if (expectedVersion == null) {
+            return write.get();
+        }
+        if (employeeRequest != null) {
+            employeeRequest.setVersion(expectedVersion);
+        }
+        try {
+            return write.get();
+        } catch (ResourceConflictException e) {
+            throw new PreconditionFailedException("Employee with id " + id + " no longer matches " + ifMatch);
+        }
+    }
 }
@@ -0,0 +1,88 @@
+package org.example.employeeapi.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.example.employeeapi.dto.EmployeeImportJobDTO;
+import org.example.employeeapi.dto.EmployeeImportRejectionDTO;
+import org.example.employeeapi.dto.EmployeeImportRequestDTO;
+import org.example.employeeapi.exception.ErrorDetails;
+import org.example.employeeapi.exception.ValidationErrorDetails;
+import org.example.employeeapi.importer.EmployeeImportJob;
+import org.example.employeeapi.importer.EmployeeImportService;
+import org.example.employeeapi.mapper.EmployeeImportMapper;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+import java.util.List;
+
+@RestController
+@Tag(name = "Employee Import", description = "Bulk import of employees from CSV files")
+@RequestMapping("/api/employees/imports")
+public class EmployeeImportController {
+    private final EmployeeImportService employeeImportService;
+    private final EmployeeImportMapper employeeImportMapper;
+
+    public EmployeeImportController(EmployeeImportService employeeImportService, EmployeeImportMapper employeeImportMapper) {
+        this.employeeImportService = employeeImportService;
+        this.employeeImportMapper = employeeImportMapper;
+    }
+
+    @Operation(summary = "Start a CSV import", description = "Queues a background import of a CSV file from the server's "
+            + "import directory. Rows are validated like POST /api/employees/create; rows with an email that already "
+            + "exists or repeats in the file are rejected. Poll the job URL in the Location header for progress")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Import queued",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = EmployeeImportJobDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Unknown file or invalid header",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ValidationErrorDetails.class)))
+    })
+    @PostMapping
+    public ResponseEntity<EmployeeImportJobDTO> startImport(@Valid @RequestBody EmployeeImportRequestDTO importRequestDTO) {
+        EmployeeImportJob job = employeeImportService.submit(importRequestDTO.getFile());
+        URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{id}")
+                .buildAndExpand(job.getId())
+                .toUri();
+        return ResponseEntity.accepted().location(location).body(employeeImportMapper.toDto(job));
+    }
+
+    @Operation(summary = "Get import progress", description = "Status, progress and row counts of an import job")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Job status retrieved successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = EmployeeImportJobDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Import job not found",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetails.class)))
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<EmployeeImportJobDTO> getImport(@PathVariable String id) {
+        return ResponseEntity.ok(employeeImportMapper.toDto(employeeImportService.getJob(id)));
+    }
+
+    @Operation(summary = "Get rejected rows", description = "Rows of an import job that were not imported, with the reasons, "
+            + "ordered by line number. Only the first " + EmployeeImportJob.MAX_REPORTED_REJECTIONS + " are kept")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Rejected rows retrieved successfully",
+                    content = @Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = EmployeeImportRejectionDTO.class)))),
+            @ApiResponse(responseCode = "404", description = "Import job not found",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetails.class)))
+    })
+    @GetMapping("/{id}/rejected")
+    public ResponseEntity<List<EmployeeImportRejectionDTO>> getRejectedRows(@PathVariable String id) {
+        EmployeeImportJob job = employeeImportService.getJob(id);
+        return ResponseEntity.ok(employeeImportMapper.toDtoList(job.getRejections()));
+    }
+}
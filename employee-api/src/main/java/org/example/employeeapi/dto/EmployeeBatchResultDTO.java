@@ -0,0 +1,71 @@
+package org.example.employeeapi.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.Map;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EmployeeBatchResultDTO {
+
+    public enum Status {
+        CREATED,
+        UPDATED,
+        REJECTED
+    }
+
+    @Schema(description = "Position of the item in the request list", example = "0")
+    private int index;
+
+    @Schema(description = "Outcome for this item", example = "CREATED")
+    private Status status;
+
+    @Schema(description = "ID of the created or updated employee", example = "1")
+    private Long id;
+
+    @Schema(description = "Map of field names to error messages for rejected items")
+    private Map<String, String> errors;
+
+    public EmployeeBatchResultDTO() {
+
+    }
+
+    public EmployeeBatchResultDTO(int index, Status status, Long id, Map<String, String> errors) {
+        this.index = index;
+        this.status = status;
+        this.id = id;
+        this.errors = errors;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Map<String, String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(Map<String, String> errors) {
+        this.errors = errors;
+    }
+}
@@ -0,0 +1,25 @@
+package org.example.employeeapi.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public class EmployeeBulkResultDTO {
+
+    @Schema(description = "Number of employees updated or deleted", example = "42")
+    private int affected;
+
+    public EmployeeBulkResultDTO() {
+
+    }
+
+    public EmployeeBulkResultDTO(int affected) {
+        this.affected = affected;
+    }
+
+    public int getAffected() {
+        return affected;
+    }
+
+    public void setAffected(int affected) {
+        this.affected = affected;
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.employeeapi.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+
+public class EmployeeBulkUpdateDTO {
+
+    @NotNull(message = "Filter is mandatory")
+    @Schema(description = "Which employees to update; every given condition must hold")
+    private EmployeeFilterDTO filter;
+
+    @NotNull(message = "Patch is mandatory")
+    @Schema(description = "Fields to set on every matching employee. Only firstName, lastName, position and "
+            + "hireDate may be given; null fields are left as they are")
+    private EmployeeDTO patch;
+
+    public EmployeeBulkUpdateDTO() {
+
+    }
+
+    public EmployeeBulkUpdateDTO(EmployeeFilterDTO filter, EmployeeDTO patch) {
+        this.filter = filter;
+        this.patch = patch;
+    }
+
+    public EmployeeFilterDTO getFilter() {
+        return filter;
+    }
+
+    public void setFilter(EmployeeFilterDTO filter) {
+        this.filter = filter;
+    }
+
+    public EmployeeDTO getPatch() {
+        return patch;
+    }
+
+    public void setPatch(EmployeeDTO patch) {
+        this.patch = patch;
+    }
+}
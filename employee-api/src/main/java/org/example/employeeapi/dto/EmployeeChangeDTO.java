@@ -0,0 +1,67 @@
+package org.example.employeeapi.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+
+public class EmployeeChangeDTO {
+
+    @Schema(description = "Position in the change feed; also the SSE event id to resume after", example = "1042")
+    private long sequence;
+
+    @Schema(description = "CREATED, UPDATED or DELETED", example = "UPDATED")
+    private String type;
+
+    @Schema(description = "Id of the changed employee", example = "7")
+    private Long employeeId;
+
+    @Schema(description = "When the change was made")
+    private Instant recordedAt;
+
+    @Schema(description = "The employee after the change; absent for DELETED")
+    private EmployeeDTO employee;
+
+    public EmployeeChangeDTO() {
+
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    public void setEmployeeId(Long employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    public Instant getRecordedAt() {
+        return recordedAt;
+    }
+
+    public void setRecordedAt(Instant recordedAt) {
+        this.recordedAt = recordedAt;
+    }
+
+    public EmployeeDTO getEmployee() {
+        return employee;
+    }
+
+    public void setEmployee(EmployeeDTO employee) {
+        this.employee = employee;
+    }
+}
@@ -36,6 +36,10 @@ public class EmployeeDTO {
     @Schema(description = "Hire date of the employee in ISO format", example = "2023-10-01")
     private LocalDate hireDate;
 
+    @Schema(description = "Optimistic locking version. Send back the value you read on PUT/PATCH to reject "
+            + "the write if someone else changed the employee in between", example = "0")
+    private Long version;
+
     public EmployeeDTO() {
 
     }
@@ -97,4 +101,12 @@ public class EmployeeDTO {
         this.hireDate = hireDate;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
 }
\ No newline at end of file
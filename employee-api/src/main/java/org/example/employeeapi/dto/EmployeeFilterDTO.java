@@ -0,0 +1,76 @@
+package org.example.employeeapi.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class EmployeeFilterDTO {
+
+    @Schema(description = "Only employees with one of these IDs", example = "[1, 2, 3]")
+    private List<Long> ids;
+
+    @Schema(description = "Only employees with exactly this position", example = "Engineer")
+    private String position;
+
+    @Schema(description = "Only employees with exactly this last name", example = "Smith")
+    private String lastName;
+
+    @Schema(description = "Only employees hired on or after this date", example = "2023-01-01")
+    private LocalDate hiredFrom;
+
+    @Schema(description = "Only employees hired on or before this date", example = "2023-12-31")
+    private LocalDate hiredTo;
+
+    public EmployeeFilterDTO() {
+
+    }
+
+    public EmployeeFilterDTO(List<Long> ids, String position, String lastName, LocalDate hiredFrom, LocalDate hiredTo) {
+        this.ids = ids;
+        this.position = position;
+        this.lastName = lastName;
+        this.hiredFrom = hiredFrom;
+        this.hiredTo = hiredTo;
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public String getPosition() {
+        return position;
+    }
+
+    public void setPosition(String position) {
+        this.position = position;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public void setLastName(String lastName) {
+        this.lastName = lastName;
+    }
+
+    public LocalDate getHiredFrom() {
+        return hiredFrom;
+    }
+
+    public void setHiredFrom(LocalDate hiredFrom) {
+        this.hiredFrom = hiredFrom;
+    }
+
+    public LocalDate getHiredTo() {
+        return hiredTo;
+    }
+
+    public void setHiredTo(LocalDate hiredTo) {
+        this.hiredTo = hiredTo;
+    }
+}
@@ -0,0 +1,179 @@
+package org.example.employeeapi.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EmployeeImportJobDTO {
+
+    @Schema(description = "Job id", example = "3f1c2a9e-5b7d-4c3e-9a1f-0d2b6e8c4a71")
+    private String id;
+
+    @Schema(description = "CSV file being imported", example = "hr-dump.csv")
+    private String file;
+
+    @Schema(description = "QUEUED, RUNNING, COMPLETED or FAILED", example = "RUNNING")
+    private String status;
+
+    @Schema(description = "Share of the file read so far, from 0 to 1", example = "0.42")
+    private double progress;
+
+    @Schema(description = "Size of the file", example = "104857600")
+    private long totalBytes;
+
+    @Schema(description = "Bytes parsed so far", example = "44040192")
+    private long bytesRead;
+
+    @Schema(description = "Data rows parsed so far", example = "420000")
+    private long rowsRead;
+
+    @Schema(description = "Rows inserted so far", example = "419000")
+    private long rowsImported;
+
+    @Schema(description = "Rows rejected so far; see the rejected-rows report", example = "1000")
+    private long rowsRejected;
+
+    @Schema(description = "Average import rate since the job started", example = "35000")
+    private Long rowsPerSecond;
+
+    @Schema(description = "When the job was submitted")
+    private LocalDateTime submittedAt;
+
+    @Schema(description = "When the job started running")
+    private LocalDateTime startedAt;
+
+    @Schema(description = "When the job completed or failed")
+    private LocalDateTime finishedAt;
+
+    @Schema(description = "Why the job failed")
+    private String error;
+
+    @Schema(description = "True when more rows were rejected than the report keeps", example = "false")
+    private boolean rejectionReportTruncated;
+
+    public EmployeeImportJobDTO() {
+
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getFile() {
+        return file;
+    }
+
+    public void setFile(String file) {
+        this.file = file;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public double getProgress() {
+        return progress;
+    }
+
+    public void setProgress(double progress) {
+        this.progress = progress;
+    }
+
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public void setTotalBytes(long totalBytes) {
+        this.totalBytes = totalBytes;
+    }
+
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    public void setBytesRead(long bytesRead) {
+        this.bytesRead = bytesRead;
+    }
+
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    public void setRowsRead(long rowsRead) {
+        this.rowsRead = rowsRead;
+    }
+
+    public long getRowsImported() {
+        return rowsImported;
+    }
+
+    public void setRowsImported(long rowsImported) {
+        this.rowsImported = rowsImported;
+    }
+
+    public long getRowsRejected() {
+        return rowsRejected;
+    }
+
+    public void setRowsRejected(long rowsRejected) {
+        this.rowsRejected = rowsRejected;
+    }
+
+    public Long getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    public void setRowsPerSecond(Long rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+    }
+
+    public LocalDateTime getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public void setSubmittedAt(LocalDateTime submittedAt) {
+        this.submittedAt = submittedAt;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public boolean isRejectionReportTruncated() {
+        return rejectionReportTruncated;
+    }
+
+    public void setRejectionReportTruncated(boolean rejectionReportTruncated) {
+        this.rejectionReportTruncated = rejectionReportTruncated;
+    }
+}
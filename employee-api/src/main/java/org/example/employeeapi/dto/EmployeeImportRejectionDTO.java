@@ -0,0 +1,39 @@
+package org.example.employeeapi.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.Map;
+
+public class EmployeeImportRejectionDTO {
+
+    @Schema(description = "Line number in the CSV file, the header being line 1", example = "42")
+    private long line;
+
+    @Schema(description = "Map of field names to error messages")
+    private Map<String, String> errors;
+
+    public EmployeeImportRejectionDTO() {
+
+    }
+
+    public EmployeeImportRejectionDTO(long line, Map<String, String> errors) {
+        this.line = line;
+        this.errors = errors;
+    }
+
+    public long getLine() {
+        return line;
+    }
+
+    public void setLine(long line) {
+        this.line = line;
+    }
+
+    public Map<String, String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(Map<String, String> errors) {
+        this.errors = errors;
+    }
+}
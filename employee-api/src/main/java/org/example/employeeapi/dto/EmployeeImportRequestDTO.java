@@ -0,0 +1,29 @@
+package org.example.employeeapi.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+
+public class EmployeeImportRequestDTO {
+
+    @NotBlank(message = "File is mandatory")
+    @Schema(description = "Name of a CSV file in the server's import directory (employee.import.directory). "
+            + "The header names the columns firstName, lastName, email, position and optionally hireDate",
+            example = "hr-dump.csv")
+    private String file;
+
+    public EmployeeImportRequestDTO() {
+
+    }
+
+    public EmployeeImportRequestDTO(String file) {
+        this.file = file;
+    }
+
+    public String getFile() {
+        return file;
+    }
+
+    public void setFile(String file) {
+        this.file = file;
+    }
+}
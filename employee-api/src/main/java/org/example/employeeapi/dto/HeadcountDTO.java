@@ -0,0 +1,52 @@
+package org.example.employeeapi.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.Map;
+
+public class HeadcountDTO {
+
+    @Schema(description = "Number of employees", example = "1250")
+    private long total;
+
+    @Schema(description = "Number of employees per position, ordered by position", example = "{\"Engineer\": 800, \"Manager\": 450}")
+    private Map<String, Long> byPosition;
+
+    @Schema(description = "Number of current employees hired in each month (yyyy-MM), oldest first",
+            example = "{\"2023-09\": 12, \"2023-10\": 7}")
+    private Map<String, Long> hiresByMonth;
+
+    public HeadcountDTO() {
+
+    }
+
+    public HeadcountDTO(long total, Map<String, Long> byPosition, Map<String, Long> hiresByMonth) {
+        this.total = total;
+        this.byPosition = byPosition;
+        this.hiresByMonth = hiresByMonth;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public Map<String, Long> getByPosition() {
+        return byPosition;
+    }
+
+    public void setByPosition(Map<String, Long> byPosition) {
+        this.byPosition = byPosition;
+    }
+
+    public Map<String, Long> getHiresByMonth() {
+        return hiresByMonth;
+    }
+
+    public void setHiresByMonth(Map<String, Long> hiresByMonth) {
+        this.hiresByMonth = hiresByMonth;
+    }
+}
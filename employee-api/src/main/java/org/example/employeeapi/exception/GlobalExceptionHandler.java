@@ -1,8 +1,11 @@
 package org.example.employeeapi.exception;
 
+import org.example.employeecommon.exception.ResourceConflictException;
 import org.example.employeecommon.exception.ResourceNotFoundException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -25,6 +28,36 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorDetails , HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(ResourceConflictException.class)
+    public ResponseEntity<ErrorDetails> handleResourceConflictException(ResourceConflictException ex, WebRequest request) {
+        ErrorDetails errorDetails = new ErrorDetails(
+                LocalDateTime.now(),
+                ex.getMessage(),
+                request.getDescription(false)
+        );
+        return new ResponseEntity<>(errorDetails , HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ErrorDetails> handlePreconditionFailedException(PreconditionFailedException ex, WebRequest request) {
+        ErrorDetails errorDetails = new ErrorDetails(
+                LocalDateTime.now(),
+                ex.getMessage(),
+                request.getDescription(false)
+        );
+        return new ResponseEntity<>(errorDetails , HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<ErrorDetails> handleBadRequestException(BadRequestException ex, WebRequest request) {
+        ErrorDetails errorDetails = new ErrorDetails(
+                LocalDateTime.now(),
+                ex.getMessage(),
+                request.getDescription(false)
+        );
+        return new ResponseEntity<>(errorDetails , HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ValidationErrorDetails> handleValidationExceptions(MethodArgumentNotValidException ex, WebRequest request) {
         Map<String,String> errors = new HashMap<>();
@@ -42,6 +75,29 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorDetails , HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity<ErrorDetails> handleCannotCreateTransactionException(CannotCreateTransactionException ex, WebRequest request) {
+        // no connection could be obtained in time (pool exhausted or JDBC bulkhead full)
+        ErrorDetails errorDetails = new ErrorDetails(
+                LocalDateTime.now(),
+                "Database is busy, please retry",
+                request.getDescription(false)
+        );
+        return new ResponseEntity<>(errorDetails , HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ErrorDetails> handleServiceOverloadedException(ServiceOverloadedException ex, WebRequest request) {
+        ErrorDetails errorDetails = new ErrorDetails(
+                LocalDateTime.now(),
+                ex.getMessage(),
+                request.getDescription(false)
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, ex.getRetryAfter().toSeconds())))
+                .body(errorDetails);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorDetails> handleException(Exception ex, WebRequest request) {
         ErrorDetails errorDetails = new ErrorDetails(
@@ -0,0 +1,7 @@
+package org.example.employeeapi.exception;
+
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,22 @@
+package org.example.employeeapi.exception;
+
+import org.example.employeecommon.exception.ResourceNotFoundException;
+
+import java.time.Duration;
+
+public class ServiceOverloadedException extends RuntimeException {
+    private final Duration retryAfter;
+
+    /**
+     * Without a stack trace, like {@link ResourceNotFoundException#ResourceNotFoundException(String, boolean)}:
+     * rejecting a request has to stay cheaper than serving it.
+     */
+    public ServiceOverloadedException(String message, Duration retryAfter) {
+        super(message, null, false, false);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
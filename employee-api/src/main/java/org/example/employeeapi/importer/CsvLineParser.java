@@ -0,0 +1,45 @@
+package org.example.employeeapi.importer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits one RFC 4180 CSV record. Quoted fields may contain commas and doubled quotes, but not line
+ * breaks, since the import reads the file line by line.
+ */
+final class CsvLineParser {
+
+    private CsvLineParser() {
+    }
+
+    static List<String> split(String line) {
+        List<String> fields = new ArrayList<>(8);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,147 @@
+package org.example.employeeapi.importer;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * State and progress of one CSV import. Counters are updated by the pipeline threads and may be read at
+ * any time; only the first {@value #MAX_REPORTED_REJECTIONS} rejected rows are kept for the report.
+ */
+public class EmployeeImportJob {
+    public static final int MAX_REPORTED_REJECTIONS = 10_000;
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private final String id = UUID.randomUUID().toString();
+    private final String file;
+    private final long totalBytes;
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+    private final AtomicLong bytesRead = new AtomicLong();
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong rowsImported = new AtomicLong();
+    private final AtomicLong rowsRejected = new AtomicLong();
+    private final AtomicInteger reportedRejections = new AtomicInteger();
+    private final ConcurrentLinkedQueue<EmployeeImportRejection> rejections = new ConcurrentLinkedQueue<>();
+    private volatile Status status = Status.QUEUED;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile String error;
+
+    EmployeeImportJob(String file, long totalBytes) {
+        this.file = file;
+        this.totalBytes = totalBytes;
+    }
+
+    void start() {
+        startedAt = LocalDateTime.now();
+        status = Status.RUNNING;
+    }
+
+    void complete() {
+        finishedAt = LocalDateTime.now();
+        status = Status.COMPLETED;
+    }
+
+    /**
+     * Keeps the first failure; the pipeline stops reading and drains once this is set.
+     */
+    synchronized void fail(String message) {
+        if (status != Status.FAILED) {
+            error = message;
+            finishedAt = LocalDateTime.now();
+            status = Status.FAILED;
+        }
+    }
+
+    boolean isFailed() {
+        return status == Status.FAILED;
+    }
+
+    void read(long rows, long toByte) {
+        rowsRead.addAndGet(rows);
+        bytesRead.accumulateAndGet(toByte, Math::max);
+    }
+
+    void imported(int rows) {
+        rowsImported.addAndGet(rows);
+    }
+
+    void reject(long line, Map<String, String> errors) {
+        rowsRejected.incrementAndGet();
+        if (reportedRejections.incrementAndGet() <= MAX_REPORTED_REJECTIONS) {
+            rejections.add(new EmployeeImportRejection(line, errors));
+        }
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getFile() {
+        return file;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public long getBytesRead() {
+        return bytesRead.get();
+    }
+
+    public long getRowsRead() {
+        return rowsRead.get();
+    }
+
+    public long getRowsImported() {
+        return rowsImported.get();
+    }
+
+    public long getRowsRejected() {
+        return rowsRejected.get();
+    }
+
+    public LocalDateTime getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * @return reported rejections ordered by line number
+     */
+    public List<EmployeeImportRejection> getRejections() {
+        List<EmployeeImportRejection> sorted = new ArrayList<>(rejections);
+        sorted.sort((a, b) -> Long.compare(a.getLine(), b.getLine()));
+        return sorted;
+    }
+
+    public boolean isRejectionReportTruncated() {
+        return reportedRejections.get() > MAX_REPORTED_REJECTIONS;
+    }
+}
@@ -0,0 +1,24 @@
+package org.example.employeeapi.importer;
+
+import java.util.Map;
+
+/**
+ * A CSV row that was not imported, with field name to error message pairs.
+ */
+public class EmployeeImportRejection {
+    private final long line;
+    private final Map<String, String> errors;
+
+    EmployeeImportRejection(long line, Map<String, String> errors) {
+        this.line = line;
+        this.errors = errors;
+    }
+
+    public long getLine() {
+        return line;
+    }
+
+    public Map<String, String> getErrors() {
+        return errors;
+    }
+}
@@ -0,0 +1,352 @@
+package org.example.employeeapi.importer;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.example.employeeapi.dto.EmployeeDTO;
+import org.example.employeeapi.exception.BadRequestException;
+import org.example.employeeapi.mapper.EmployeeMapper;
+import org.example.employeecommon.exception.ResourceNotFoundException;
+import org.example.employeeservice.entity.Employee;
+import org.example.employeeservice.service.EmployeeService;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Imports employees from CSV files in the configured import directory as background jobs.
+ * <p>
+ * Pipeline: one thread reads the file through {@link MappedLineReader} and cuts it into blocks of
+ * {@value #BLOCK_SIZE} lines; a pool parses and validates blocks in parallel against the {@link EmployeeDTO}
+ * constraints and drops emails that already exist or appeared earlier in the file; a single writer inserts
+ * each block in one transaction through {@link EmployeeService#insertEmployees}. Both hand-offs are bounded,
+ * so a slow database holds back parsing and reading instead of filling the heap.
+ * <p>
+ * Blocks are parsed concurrently, so when an email repeats within the file it is not defined which of the
+ * rows is imported; the others are reported as rejected.
+ */
+@Service
+public class EmployeeImportService implements DisposableBean {
+    private static final int BLOCK_SIZE = 1000;
+    private static final int WRITE_QUEUE_CAPACITY = 4;
+    private static final int MAX_RETAINED_JOBS = 100;
+    private static final List<String> COLUMNS = List.of("firstname", "lastname", "email", "position", "hiredate");
+    private static final Set<String> REQUIRED_COLUMNS = Set.of("firstname", "lastname", "email", "position");
+    private static final ParsedBlock END_OF_FILE = new ParsedBlock(List.of(), new long[0]);
+
+    private final EmployeeService employeeService;
+    private final EmployeeMapper employeeMapper;
+    private final Validator validator;
+    private final Path importDirectory;
+    private final int parserThreads;
+    private final ExecutorService jobExecutor;
+    private final ExecutorService parserExecutor;
+    private final ExecutorService writerExecutor;
+    private final Map<String, EmployeeImportJob> jobs = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, false) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, EmployeeImportJob> eldest) {
+                    return size() > MAX_RETAINED_JOBS;
+                }
+            });
+
+    public EmployeeImportService(EmployeeService employeeService, EmployeeMapper employeeMapper, Validator validator,
+                                 @Value("${employee.import.directory}") Path importDirectory,
+                                 @Value("${employee.import.parser-threads:0}") int parserThreads) {
+        this.employeeService = employeeService;
+        this.employeeMapper = employeeMapper;
+        this.validator = validator;
+        this.importDirectory = importDirectory.toAbsolutePath().normalize();
+        this.parserThreads = parserThreads > 0 ? parserThreads : Runtime.getRuntime().availableProcessors();
+        this.jobExecutor = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("employee-import-"));
+        this.parserExecutor = Executors.newFixedThreadPool(this.parserThreads,
+                new CustomizableThreadFactory("employee-import-parser-"));
+        this.writerExecutor = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("employee-import-writer-"));
+        try {
+            Files.createDirectories(this.importDirectory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create import directory " + this.importDirectory, e);
+        }
+    }
+
+    /**
+     * Checks the file and its header, then queues the import. Jobs run one at a time.
+     *
+     * @param file name of a CSV file inside the import directory
+     */
+    public EmployeeImportJob submit(String file) {
+        Path path = importDirectory.resolve(file).normalize();
+        if (!path.startsWith(importDirectory) || !Files.isRegularFile(path)) {
+            throw new BadRequestException("No file named '" + file + "' in the import directory");
+        }
+
+        int[] columns;
+        long size;
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            columns = columnIndexes(reader.readLine());
+            size = Files.size(path);
+        } catch (IOException e) {
+            throw new BadRequestException("Could not read '" + file + "': " + e.getMessage());
+        }
+
+        EmployeeImportJob job = new EmployeeImportJob(file, size);
+        jobs.put(job.getId(), job);
+        jobExecutor.execute(() -> run(job, path, columns));
+        return job;
+    }
+
+    public EmployeeImportJob getJob(String id) {
+        EmployeeImportJob job = jobs.get(id);
+        if (job == null) {
+            throw new ResourceNotFoundException("Import job not found with id " + id);
+        }
+        return job;
+    }
+
+    @Override
+    public void destroy() {
+        jobExecutor.shutdownNow();
+        parserExecutor.shutdownNow();
+        writerExecutor.shutdownNow();
+    }
+
+    private void run(EmployeeImportJob job, Path file, int[] columns) {
+        job.start();
+        BlockingQueue<ParsedBlock> writes = new ArrayBlockingQueue<>(WRITE_QUEUE_CAPACITY);
+        Future<?> writer = writerExecutor.submit(() -> {
+            write(job, writes);
+            return null;
+        });
+        // at most two blocks per parser thread are in flight, which bounds what the reader can get ahead by
+        int parsingPermits = parserThreads * 2;
+        Semaphore parsing = new Semaphore(parsingPermits);
+        try {
+            Set<String> knownEmails = ConcurrentHashMap.newKeySet();
+            employeeService.exportEmails(knownEmails::add);
+
+            LineBlock[] block = {new LineBlock()};
+            MappedLineReader.read(file, (lineNumber, line, endOffset) -> {
+                if (lineNumber > 1 && !line.isBlank()) {
+                    block[0].add(lineNumber, line);
+                }
+                block[0].endOffset = endOffset;
+                if (block[0].size() == BLOCK_SIZE) {
+                    submitBlock(job, block[0], columns, knownEmails, writes, parsing);
+                    block[0] = new LineBlock();
+                }
+                return !job.isFailed();
+            });
+            submitBlock(job, block[0], columns, knownEmails, writes, parsing);
+        } catch (IOException e) {
+            job.fail("Could not read '" + job.getFile() + "': " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.fail("Import was interrupted");
+        } catch (RuntimeException e) {
+            job.fail("Import failed: " + e.getMessage());
+        } finally {
+            parsing.acquireUninterruptibly(parsingPermits);
+            finish(job, writes, writer);
+        }
+    }
+
+    private void submitBlock(EmployeeImportJob job, LineBlock block, int[] columns, Set<String> knownEmails,
+                             BlockingQueue<ParsedBlock> writes, Semaphore parsing) throws InterruptedException {
+        parsing.acquire();
+        parserExecutor.execute(() -> {
+            try {
+                parse(job, block, columns, knownEmails, writes);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                job.fail("Import was interrupted");
+            } catch (RuntimeException e) {
+                job.fail("Parsing failed after line " + block.firstLineNumber() + ": " + e.getMessage());
+            } finally {
+                parsing.release();
+            }
+        });
+    }
+
+    private void finish(EmployeeImportJob job, BlockingQueue<ParsedBlock> writes, Future<?> writer) {
+        try {
+            writes.put(END_OF_FILE);
+            writer.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            writer.cancel(true);
+            job.fail("Import was interrupted");
+        } catch (ExecutionException e) {
+            job.fail("Writing failed: " + e.getCause().getMessage());
+        }
+        if (!job.isFailed()) {
+            job.complete();
+        }
+    }
+
+    private void parse(EmployeeImportJob job, LineBlock block, int[] columns, Set<String> knownEmails,
+                       BlockingQueue<ParsedBlock> writes) throws InterruptedException {
+        if (job.isFailed()) {
+            return;
+        }
+        List<Employee> employees = new ArrayList<>(block.size());
+        long[] lineNumbers = new long[block.size()];
+        for (int i = 0; i < block.size(); i++) {
+            Map<String, String> errors = new HashMap<>();
+            EmployeeDTO employeeDTO = toEmployeeDTO(block.lines.get(i), columns, errors);
+            if (errors.isEmpty()) {
+                for (ConstraintViolation<EmployeeDTO> violation : validator.validate(employeeDTO)) {
+                    errors.put(violation.getPropertyPath().toString(), violation.getMessage());
+                }
+            }
+            if (errors.isEmpty() && !knownEmails.add(employeeDTO.getEmail())) {
+                errors.put("email", "Email already exists");
+            }
+
+            if (errors.isEmpty()) {
+                lineNumbers[employees.size()] = block.lineNumbers[i];
+                employees.add(employeeMapper.toEntity(employeeDTO));
+            } else {
+                job.reject(block.lineNumbers[i], errors);
+            }
+        }
+        writes.put(new ParsedBlock(employees, lineNumbers));
+        job.read(block.size(), block.endOffset);
+    }
+
+    private void write(EmployeeImportJob job, BlockingQueue<ParsedBlock> writes) throws InterruptedException {
+        // keeps draining after a failure so that parsers blocked on the queue can finish
+        for (ParsedBlock block = writes.take(); block != END_OF_FILE; block = writes.take()) {
+            if (job.isFailed() || block.employees.isEmpty()) {
+                continue;
+            }
+            try {
+                employeeService.insertEmployees(block.employees);
+                job.imported(block.employees.size());
+            } catch (DataIntegrityViolationException e) {
+                // someone created one of these emails since the import started; find out which row it was
+                insertOneByOne(job, block);
+            } catch (RuntimeException e) {
+                job.fail("Writing failed: " + e.getMessage());
+            }
+        }
+    }
+
+    private void insertOneByOne(EmployeeImportJob job, ParsedBlock block) {
+        for (int i = 0; i < block.employees.size(); i++) {
+            try {
+                employeeService.createEmployee(block.employees.get(i));
+                job.imported(1);
+            } catch (DataIntegrityViolationException e) {
+                job.reject(block.lineNumbers[i], Map.of("email", "Email already exists"));
+            }
+        }
+    }
+
+    private static EmployeeDTO toEmployeeDTO(String line, int[] columns, Map<String, String> errors) {
+        List<String> values;
+        try {
+            values = CsvLineParser.split(line);
+        } catch (IllegalArgumentException e) {
+            errors.put("row", e.getMessage());
+            return null;
+        }
+
+        EmployeeDTO employeeDTO = new EmployeeDTO();
+        employeeDTO.setFirstName(value(values, columns[0]));
+        employeeDTO.setLastName(value(values, columns[1]));
+        employeeDTO.setEmail(value(values, columns[2]));
+        employeeDTO.setPosition(value(values, columns[3]));
+        String hireDate = value(values, columns[4]);
+        if (hireDate != null && !hireDate.isEmpty()) {
+            try {
+                employeeDTO.setHireDate(LocalDate.parse(hireDate));
+            } catch (DateTimeParseException e) {
+                errors.put("hireDate", "Hire date must be an ISO date such as 2023-10-01");
+            }
+        }
+        return employeeDTO;
+    }
+
+    private static String value(List<String> values, int column) {
+        return column >= 0 && column < values.size() ? values.get(column).trim() : null;
+    }
+
+    /**
+     * @return for each of {@link #COLUMNS}, its position in the header or -1 when absent
+     */
+    private static int[] columnIndexes(String headerLine) {
+        if (headerLine == null) {
+            throw new BadRequestException("The file is empty");
+        }
+        List<String> header = CsvLineParser.split(headerLine.replace("\uFEFF", ""));
+        int[] columns = new int[COLUMNS.size()];
+        for (int i = 0; i < COLUMNS.size(); i++) {
+            columns[i] = -1;
+            for (int j = 0; j < header.size(); j++) {
+                if (header.get(j).trim().toLowerCase(Locale.ROOT).equals(COLUMNS.get(i))) {
+                    columns[i] = j;
+                }
+            }
+            if (columns[i] < 0 && REQUIRED_COLUMNS.contains(COLUMNS.get(i))) {
+                throw new BadRequestException("The header must name the columns firstName, lastName, email, "
+                        + "position and optionally hireDate");
+            }
+        }
+        return columns;
+    }
+
+    private static final class LineBlock {
+        private final List<String> lines = new ArrayList<>(BLOCK_SIZE);
+        private final long[] lineNumbers = new long[BLOCK_SIZE];
+        private long endOffset;
+
+        void add(long lineNumber, String line) {
+            lineNumbers[lines.size()] = lineNumber;
+            lines.add(line);
+        }
+
+        int size() {
+            return lines.size();
+        }
+
+        long firstLineNumber() {
+            return lines.isEmpty() ? 0 : lineNumbers[0];
+        }
+    }
+
+    private static final class ParsedBlock {
+        private final List<Employee> employees;
+        private final long[] lineNumbers;
+
+        ParsedBlock(List<Employee> employees, long[] lineNumbers) {
+            this.employees = employees;
+            this.lineNumbers = lineNumbers;
+        }
+    }
+}
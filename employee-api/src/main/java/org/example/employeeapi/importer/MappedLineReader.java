@@ -0,0 +1,83 @@
+package org.example.employeeapi.importer;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads a UTF-8 text file line by line through memory-mapped windows, so the file is never buffered on the
+ * heap and only one line at a time is copied out of the page cache.
+ */
+final class MappedLineReader {
+    static final long WINDOW_SIZE = 64L * 1024 * 1024;
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    @FunctionalInterface
+    interface LineHandler {
+        /**
+         * @param endOffset file offset just past this line, for progress reporting
+         * @return false to stop reading
+         */
+        boolean line(long lineNumber, String line, long endOffset) throws InterruptedException;
+    }
+
+    private MappedLineReader() {
+    }
+
+    static void read(Path file, LineHandler handler) throws IOException, InterruptedException {
+        read(file, WINDOW_SIZE, handler);
+    }
+
+    /**
+     * @param windowSize bytes mapped at a time, which is also the longest line that can be read
+     */
+    static void read(Path file, long windowSize, LineHandler handler) throws IOException, InterruptedException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long windowStart = 0;
+            long lineNumber = 0;
+            byte[] scratch = new byte[256];
+            while (windowStart < size) {
+                int windowLength = (int) Math.min(windowSize, size - windowStart);
+                boolean lastWindow = windowStart + windowLength == size;
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, windowLength);
+
+                int lineStart = 0;
+                for (int i = 0; i <= windowLength; i++) {
+                    boolean endOfLine = i < windowLength ? window.get(i) == '\n' : lastWindow && lineStart < i;
+                    if (!endOfLine) {
+                        continue;
+                    }
+                    int length = i - lineStart;
+                    if (length > 0 && window.get(lineStart + length - 1) == '\r') {
+                        length--;
+                    }
+                    if (scratch.length < length) {
+                        scratch = new byte[Math.max(length, scratch.length * 2)];
+                    }
+                    window.get(lineStart, scratch, 0, length);
+                    String line = new String(scratch, 0, length, StandardCharsets.UTF_8);
+                    if (++lineNumber == 1 && !line.isEmpty() && line.charAt(0) == BYTE_ORDER_MARK) {
+                        line = line.substring(1);
+                    }
+                    if (!handler.line(lineNumber, line, windowStart + Math.min(i + 1, windowLength))) {
+                        return;
+                    }
+                    lineStart = i + 1;
+                }
+
+                if (lastWindow) {
+                    break;
+                }
+                if (lineStart == 0) {
+                    throw new IOException("Line " + (lineNumber + 1) + " is longer than " + windowSize + " bytes");
+                }
+                // the partial line at the end of this window starts the next one
+                windowStart += lineStart;
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package org.example.employeeapi.mapper;
+
+import org.example.employeeapi.dto.EmployeeChangeDTO;
+import org.example.employeeapi.dto.EmployeeDTO;
+import org.example.employeeservice.entity.EmployeeChange;
+import org.springframework.stereotype.Component;
+
+@Component
+public class EmployeeChangeMapper {
+
+    public EmployeeChangeDTO toDto(EmployeeChange change) {
+        EmployeeChangeDTO changeDTO = new EmployeeChangeDTO();
+        changeDTO.setSequence(change.getSequence());
+        changeDTO.setType(change.getType().name());
+        changeDTO.setEmployeeId(change.getEmployeeId());
+        changeDTO.setRecordedAt(change.getRecordedAt());
+        if (change.getType() != EmployeeChange.Type.DELETED) {
+            EmployeeDTO employeeDTO = new EmployeeDTO(change.getEmployeeId(), change.getFirstName(), change.getLastName(),
+                    change.getEmail(), change.getPosition(), change.getHireDate());
+            employeeDTO.setVersion(change.getVersion());
+            changeDTO.setEmployee(employeeDTO);
+        }
+        return changeDTO;
+    }
+}
@@ -0,0 +1,47 @@
+package org.example.employeeapi.mapper;
+
+import org.example.employeeapi.dto.EmployeeImportJobDTO;
+import org.example.employeeapi.dto.EmployeeImportRejectionDTO;
+import org.example.employeeapi.importer.EmployeeImportJob;
+import org.example.employeeapi.importer.EmployeeImportRejection;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Component
+public class EmployeeImportMapper {
+
+    public EmployeeImportJobDTO toDto(EmployeeImportJob job) {
+        EmployeeImportJobDTO jobDTO = new EmployeeImportJobDTO();
+        jobDTO.setId(job.getId());
+        jobDTO.setFile(job.getFile());
+        jobDTO.setStatus(job.getStatus().name());
+        jobDTO.setTotalBytes(job.getTotalBytes());
+        jobDTO.setBytesRead(job.getBytesRead());
+        jobDTO.setProgress(job.getStatus() == EmployeeImportJob.Status.COMPLETED || job.getTotalBytes() == 0
+                ? 1.0 : Math.min(1.0, (double) job.getBytesRead() / job.getTotalBytes()));
+        jobDTO.setRowsRead(job.getRowsRead());
+        jobDTO.setRowsImported(job.getRowsImported());
+        jobDTO.setRowsRejected(job.getRowsRejected());
+        jobDTO.setSubmittedAt(job.getSubmittedAt());
+        jobDTO.setStartedAt(job.getStartedAt());
+        jobDTO.setFinishedAt(job.getFinishedAt());
+        jobDTO.setError(job.getError());
+        jobDTO.setRejectionReportTruncated(job.isRejectionReportTruncated());
+
+        if (job.getStartedAt() != null) {
+            LocalDateTime until = job.getFinishedAt() != null ? job.getFinishedAt() : LocalDateTime.now();
+            long millis = Math.max(1, Duration.between(job.getStartedAt(), until).toMillis());
+            jobDTO.setRowsPerSecond(job.getRowsImported() * 1000 / millis);
+        }
+        return jobDTO;
+    }
+
+    public List<EmployeeImportRejectionDTO> toDtoList(List<EmployeeImportRejection> rejections) {
+        return rejections.stream()
+                .map(rejection -> new EmployeeImportRejectionDTO(rejection.getLine(), rejection.getErrors()))
+                .toList();
+    }
+}
@@ -0,0 +1,54 @@
+package org.example.employeeapi.mapper;
+
+import org.example.employeeapi.dto.EmployeeDTO;
+import org.example.employeeservice.entity.Employee;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Plain getter/setter mapping between {@link Employee} and {@link EmployeeDTO}. Replaces the reflective
+ * ModelMapper on the request path; keep it in sync when fields are added to either class.
+ */
+@Component
+public class EmployeeMapper {
+
+    public EmployeeDTO toDto(Employee employee) {
+        EmployeeDTO employeeDTO = new EmployeeDTO(
+                employee.getId(),
+                employee.getFirstName(),
+                employee.getLastName(),
+                employee.getEmail(),
+                employee.getPosition(),
+                employee.getHireDate()
+        );
+        employeeDTO.setVersion(employee.getVersion());
+        return employeeDTO;
+    }
+
+    public List<EmployeeDTO> toDtoList(List<Employee> employees) {
+        List<EmployeeDTO> employeeDTOS = new ArrayList<>(employees.size());
+        for (Employee employee : employees) {
+            employeeDTOS.add(toDto(employee));
+        }
+        return employeeDTOS;
+    }
+
+    /**
+     * Null fields are carried over as null, so the result also serves as the patch document for
+     * {@code partialUpdateEmployee}, which only applies non-null values.
+     */
+    public Employee toEntity(EmployeeDTO employeeDTO) {
+        Employee employee = new Employee(
+                employeeDTO.getId(),
+                employeeDTO.getFirstName(),
+                employeeDTO.getLastName(),
+                employeeDTO.getEmail(),
+                employeeDTO.getPosition(),
+                employeeDTO.getHireDate()
+        );
+        employee.setVersion(employeeDTO.getVersion());
+        return employee;
+    }
+}
@@ -0,0 +1,107 @@
+package org.example.employeeapi.routing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.employeeservice.datasource.ReadWriteRoutingDataSource;
+import org.example.employeeservice.event.EmployeeDeletedEvent;
+import org.example.employeeservice.event.EmployeeSavedEvent;
+import org.example.employeeservice.event.EmployeesInsertedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Read-your-writes per client when reads are routed to a replica: a response to a request that wrote employees
+ * sets the {@value #COOKIE} cookie to the time of the write, and requests that send it back have their reads
+ * served by the primary until the read-your-writes window has passed (see {@link ReadWriteRoutingDataSource}).
+ * The cookie expires with the window, and the router checks the time as well.
+ */
+@Component
+@ConditionalOnProperty(name = "employee.datasource.replica.url")
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    public static final String COOKIE = "employee-last-write";
+    private static final String COOKIE_SET = ReadYourWritesFilter.class.getName() + ".cookieSet";
+
+    private final int cookieMaxAgeSeconds;
+
+    public ReadYourWritesFilter(
+            @Value("${employee.datasource.replica.read-your-writes-window:2s}") Duration readYourWritesWindow) {
+        this.cookieMaxAgeSeconds = (int) Math.max(1, readYourWritesWindow.plusMillis(999).toSeconds());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ReadWriteRoutingDataSource.setClientLastWrite(lastWrite(request));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadWriteRoutingDataSource.clearClientLastWrite();
+        }
+    }
+
+    /**
+     * Runs after the commit, while the handler has not yet written the response.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeSaved(EmployeeSavedEvent event) {
+        rememberWrite();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeesInserted(EmployeesInsertedEvent event) {
+        rememberWrite();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeDeleted(EmployeeDeletedEvent event) {
+        rememberWrite();
+    }
+
+    private void rememberWrite() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return;
+        }
+        HttpServletRequest request = attributes.getRequest();
+        HttpServletResponse response = attributes.getResponse();
+        // once per request, however many employees it wrote
+        if (response == null || response.isCommitted() || request.getAttribute(COOKIE_SET) != null) {
+            return;
+        }
+        request.setAttribute(COOKIE_SET, Boolean.TRUE);
+        Cookie cookie = new Cookie(COOKIE, String.valueOf(System.currentTimeMillis()));
+        cookie.setPath("/");
+        cookie.setHttpOnly(true);
+        cookie.setMaxAge(cookieMaxAgeSeconds);
+        response.addCookie(cookie);
+    }
+
+    private static Instant lastWrite(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return null;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE.equals(cookie.getName())) {
+                try {
+                    return Instant.ofEpochMilli(Long.parseLong(cookie.getValue()));
+                } catch (NumberFormatException e) {
+                    // not one of ours; the client reads from the replica
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+}
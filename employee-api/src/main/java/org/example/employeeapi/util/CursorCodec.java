@@ -0,0 +1,36 @@
+package org.example.employeeapi.util;
+
+import org.example.employeeapi.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes the last seen employee id into the opaque {@code after} token used by keyset pagination.
+ */
+public final class CursorCodec {
+    private static final String PREFIX = "id:";
+
+    private CursorCodec() {
+    }
+
+    public static String encode(Long id) {
+        byte[] raw = (PREFIX + id).getBytes(StandardCharsets.US_ASCII);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    public static Long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            if (!raw.startsWith(PREFIX)) {
+                throw new BadRequestException("Invalid cursor " + cursor);
+            }
+            return Long.valueOf(raw.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor " + cursor);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package org.example.employeeapi.util;
+
+import org.example.employeeapi.exception.PreconditionFailedException;
+import org.example.employeeservice.entity.Employee;
+import org.example.employeeservice.model.EmployeeField;
+import org.example.employeeservice.model.EmployeeFields;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Entity tags for employee resources. A single employee gets the strong tag {@code "<id>-<version>"}, so
+ * the tag changes with every committed write. A collection gets the weak tag {@code W/"c-<revision>"} of the
+ * table-wide change revision: it vouches for the content rather than the bytes, which also leaves Tomcat
+ * free to gzip large lists (it does not compress responses with a strong tag).
+ * <p>
+ * A strong tag identifies one representation, so the binary formats get their own suffix
+ * ({@code "<id>-<version>-cbor"}); JSON keeps the bare tag. {@code If-Match} accepts any of them.
+ * <p>
+ * A sparse fieldset is a partial view, so its tag is weak and names the selection
+ * ({@code W/"<id>-<version>-f<key>"}). It still answers {@code If-None-Match}, but can never satisfy
+ * {@code If-Match}: writes must be based on the whole employee.
+ */
+public final class EmployeeETags {
+    private static final MediaType CBOR = MediaType.parseMediaType("application/cbor");
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    private static final String CBOR_SUFFIX = "-cbor";
+    private static final String SMILE_SUFFIX = "-smile";
+
+    private EmployeeETags() {
+    }
+
+    public static String of(Employee employee, String accept) {
+        return "\"" + employee.getId() + "-" + employee.getVersion() + suffix(accept) + "\"";
+    }
+
+    public static String of(EmployeeFields employeeFields, Set<EmployeeField> fields, String accept) {
+        return "W/\"" + employeeFields.getId() + "-" + employeeFields.getVersion() + selection(fields)
+                + suffix(accept) + "\"";
+    }
+
+    /**
+     * @param fields the selected fields, or null for full employees
+     */
+    public static String ofCollection(String revision, Set<EmployeeField> fields, String accept) {
+        return "W/\"c-" + revision + selection(fields) + suffix(accept) + "\"";
+    }
+
+    /**
+     * Reads the version a write is conditional on from an {@code If-Match} header.
+     *
+     * @return the expected version, or null when there is no precondition on the version
+     * @throws PreconditionFailedException when the header can never match this employee
+     */
+    public static Long expectedVersion(Long id, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        String prefix = "\"" + id + "-";
+        // If-Match uses strong comparison, so weak tags and lists of other resources' tags never match
+        if (!tag.startsWith(prefix) || !tag.endsWith("\"")) {
+            throw new PreconditionFailedException("If-Match " + ifMatch + " does not match employee " + id);
+        }
+        String version = tag.substring(prefix.length(), tag.length() - 1);
+        if (version.endsWith(CBOR_SUFFIX)) {
+            version = version.substring(0, version.length() - CBOR_SUFFIX.length());
+        } else if (version.endsWith(SMILE_SUFFIX)) {
+            version = version.substring(0, version.length() - SMILE_SUFFIX.length());
+        }
+        try {
+            return Long.valueOf(version);
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException("If-Match " + ifMatch + " does not match employee " + id);
+        }
+    }
+
+    private static String selection(Set<EmployeeField> fields) {
+        return fields == null ? "" : "-f" + FieldSelection.key(fields);
+    }
+
+    /**
+     * Mirrors content negotiation: the client's most preferred type that one of the formats can produce,
+     * with JSON winning wildcards.
+     */
+    private static String suffix(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return "";
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return "";
+        }
+        MimeTypeUtils.sortBySpecificity(accepted);
+        for (MediaType mediaType : accepted) {
+            if (mediaType.includes(MediaType.APPLICATION_JSON)) {
+                return "";
+            }
+            if (mediaType.includes(CBOR)) {
+                return CBOR_SUFFIX;
+            }
+            if (mediaType.includes(SMILE)) {
+                return SMILE_SUFFIX;
+            }
+        }
+        return "";
+    }
+}
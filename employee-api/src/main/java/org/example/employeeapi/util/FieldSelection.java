@@ -0,0 +1,64 @@
+package org.example.employeeapi.util;
+
+import org.example.employeeapi.exception.BadRequestException;
+import org.example.employeeservice.model.EmployeeField;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Parses the {@code fields} query parameter, a comma-separated list of employee property names such as
+ * {@code id,email,position}.
+ */
+public final class FieldSelection {
+
+    private FieldSelection() {
+    }
+
+    /**
+     * @return the selected fields, or null when the parameter is absent and the full employee is wanted
+     */
+    public static Set<EmployeeField> parse(String fields) {
+        if (fields == null) {
+            return null;
+        }
+        Set<EmployeeField> selected = EnumSet.noneOf(EmployeeField.class);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            EmployeeField field = EmployeeField.fromAttribute(trimmed);
+            if (field == null) {
+                throw new BadRequestException("Unknown field " + trimmed + "; expected any of " + names());
+            }
+            selected.add(field);
+        }
+        if (selected.isEmpty()) {
+            throw new BadRequestException("fields must name at least one of " + names());
+        }
+        return selected;
+    }
+
+    /**
+     * Compact, order-independent key of a selection, e.g. for entity tags.
+     */
+    public static String key(Set<EmployeeField> fields) {
+        int mask = 0;
+        for (EmployeeField field : fields) {
+            mask |= 1 << field.ordinal();
+        }
+        return Integer.toString(mask, 36);
+    }
+
+    private static String names() {
+        StringBuilder names = new StringBuilder();
+        for (EmployeeField field : EmployeeField.values()) {
+            if (!names.isEmpty()) {
+                names.append(", ");
+            }
+            names.append(field.getAttribute());
+        }
+        return names.toString();
+    }
+}
@@ -0,0 +1,81 @@
+package org.example.employeeapi.util;
+
+import org.example.employeeapi.exception.BadRequestException;
+import org.example.employeeservice.model.EmployeeField;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Parses the {@code sort} query parameter, a comma-separated list of employee property names, each ascending
+ * or, prefixed with {@code -}, descending, such as {@code -hireDate,lastName}.
+ */
+public final class SortSelection {
+
+    private SortSelection() {
+    }
+
+    /**
+     * Employees in id order, the order of unsorted listings.
+     */
+    public static Sort byId() {
+        return Sort.by(EmployeeField.ID.getAttribute());
+    }
+
+    /**
+     * @return the order asked for, ending with the id so that it is total and pages can continue from any row,
+     * or null when the parameter is absent
+     */
+    public static Sort parse(String sort) {
+        if (sort == null) {
+            return null;
+        }
+        List<Sort.Order> orders = new ArrayList<>();
+        Set<EmployeeField> seen = EnumSet.noneOf(EmployeeField.class);
+        for (String name : sort.split(",")) {
+            String trimmed = name.trim();
+            boolean descending = trimmed.startsWith("-");
+            String attribute = descending ? trimmed.substring(1).trim() : trimmed;
+            if (attribute.isEmpty()) {
+                continue;
+            }
+            EmployeeField field = EmployeeField.fromAttribute(attribute);
+            if (field == null || field == EmployeeField.VERSION) {
+                throw new BadRequestException("Cannot sort by " + attribute + "; expected any of " + names());
+            }
+            if (!seen.add(field)) {
+                throw new BadRequestException("sort names " + attribute + " more than once");
+            }
+            orders.add(descending ? Sort.Order.desc(attribute) : Sort.Order.asc(attribute));
+            if (field == EmployeeField.ID) {
+                // unique, so anything after it could never apply
+                return Sort.by(orders);
+            }
+        }
+        if (orders.isEmpty()) {
+            throw new BadRequestException("sort must name at least one of " + names());
+        }
+        // the id runs the same way as the last property, which keeps the order an index can deliver
+        Sort.Order last = orders.get(orders.size() - 1);
+        orders.add(last.isAscending() ? Sort.Order.asc(EmployeeField.ID.getAttribute())
+                : Sort.Order.desc(EmployeeField.ID.getAttribute()));
+        return Sort.by(orders);
+    }
+
+    private static String names() {
+        StringBuilder names = new StringBuilder();
+        for (EmployeeField field : EmployeeField.values()) {
+            if (field == EmployeeField.VERSION) {
+                continue;
+            }
+            if (!names.isEmpty()) {
+                names.append(", ");
+            }
+            names.append(field.getAttribute());
+        }
+        return names.toString();
+    }
+}
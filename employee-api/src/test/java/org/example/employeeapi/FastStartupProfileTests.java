@@ -0,0 +1,44 @@
+package org.example.employeeapi;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Starts the fast-startup profile on a database of its own, so Hibernate validates the entities against
+ * db/schema.sql rather than against tables another context created.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:fast_startup_db")
+@ActiveProfiles("fast-startup")
+@AutoConfigureMockMvc
+class FastStartupProfileTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	void schemaScriptMatchesEntitiesAndApiDocsStillWork() throws Exception {
+		mockMvc.perform(post("/api/employees/create").contentType(MediaType.APPLICATION_JSON)
+						.content("{\"firstName\":\"Fast\",\"lastName\":\"Start\",\"email\":\"fast.start@example.com\","
+								+ "\"position\":\"Engineer\",\"hireDate\":\"2023-10-01\"}"))
+				.andExpect(status().isCreated());
+		mockMvc.perform(get("/api/employees").param("fields", "email"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[0].email").value("fast.start@example.com"));
+
+		mockMvc.perform(get("/v3/api-docs"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.paths['/api/employees']").exists());
+		mockMvc.perform(get("/swagger-ui/index.html"))
+				.andExpect(status().isOk());
+	}
+}
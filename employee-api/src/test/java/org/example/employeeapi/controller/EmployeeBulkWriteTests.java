@@ -0,0 +1,129 @@
+package org.example.employeeapi.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.employeeapi.dto.EmployeeBulkUpdateDTO;
+import org.example.employeeapi.dto.EmployeeDTO;
+import org.example.employeeapi.dto.EmployeeFilterDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class EmployeeBulkWriteTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Test
+	void bulkUpdateChangesOnlyMatchingEmployeesAndKeepsReadsCurrent() throws Exception {
+		Long early = create("bulk.early@example.com", "Bulk Intern", LocalDate.of(2021, 3, 1));
+		Long late = create("bulk.late@example.com", "Bulk Intern", LocalDate.of(2022, 6, 1));
+		Long other = create("bulk.other@example.com", "Bulk Mentor", LocalDate.of(2021, 3, 1));
+		// warm the cache, the search index and the headcount with the old positions
+		mockMvc.perform(get("/api/employees/{id}", early)).andExpect(jsonPath("$.position").value("Bulk Intern"));
+
+		EmployeeDTO promotion = new EmployeeDTO();
+		promotion.setPosition("Bulk Associate");
+		bulkUpdate(new EmployeeBulkUpdateDTO(
+				new EmployeeFilterDTO(null, "Bulk Intern", null, LocalDate.of(2021, 1, 1), LocalDate.of(2021, 12, 31)), promotion))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.affected").value(1));
+
+		mockMvc.perform(get("/api/employees/{id}", early))
+				.andExpect(jsonPath("$.position").value("Bulk Associate"))
+				.andExpect(jsonPath("$.version").value(1));
+		mockMvc.perform(get("/api/employees/{id}", late)).andExpect(jsonPath("$.position").value("Bulk Intern"));
+		mockMvc.perform(get("/api/employees/{id}", other)).andExpect(jsonPath("$.position").value("Bulk Mentor"));
+		mockMvc.perform(get("/api/employees/search").param("q", "bulk associate"))
+				.andExpect(jsonPath("$.length()").value(1))
+				.andExpect(jsonPath("$[0].id").value(early));
+		mockMvc.perform(get("/api/employees/analytics/headcount"))
+				.andExpect(jsonPath("$.byPosition['Bulk Associate']").value(1))
+				.andExpect(jsonPath("$.byPosition['Bulk Intern']").value(1));
+
+		bulkUpdate(new EmployeeBulkUpdateDTO(new EmployeeFilterDTO(List.of(late, other), null, null, null, null), promotion))
+				.andExpect(jsonPath("$.affected").value(2));
+		mockMvc.perform(get("/api/employees/analytics/headcount"))
+				.andExpect(jsonPath("$.byPosition['Bulk Associate']").value(3))
+				.andExpect(jsonPath("$.byPosition['Bulk Intern']").doesNotExist());
+	}
+
+	@Test
+	void bulkDeleteRemovesMatchingEmployeesEverywhere() throws Exception {
+		Long first = create("purge.first@example.com", "Purge Temp", LocalDate.of(2020, 2, 1));
+		Long second = create("purge.second@example.com", "Purge Temp", LocalDate.of(2020, 2, 2));
+		Long kept = create("purge.kept@example.com", "Purge Staff", LocalDate.of(2020, 2, 1));
+		mockMvc.perform(get("/api/employees/{id}", first)).andExpect(status().isOk());
+
+		mockMvc.perform(post("/api/employees/bulk-delete").contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsString(new EmployeeFilterDTO(null, "Purge Temp", null, null, null))))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.affected").value(2));
+
+		mockMvc.perform(get("/api/employees/{id}", first)).andExpect(status().isNotFound());
+		mockMvc.perform(get("/api/employees/{id}", second)).andExpect(status().isNotFound());
+		mockMvc.perform(get("/api/employees/{id}", kept)).andExpect(status().isOk());
+		mockMvc.perform(get("/api/employees/search").param("q", "purge"))
+				.andExpect(jsonPath("$.length()").value(1));
+		mockMvc.perform(get("/api/employees/analytics/headcount"))
+				.andExpect(jsonPath("$.byPosition['Purge Temp']").doesNotExist());
+		// the email is free again
+		create("purge.first@example.com", "Purge Temp", LocalDate.of(2020, 2, 1));
+	}
+
+	@Test
+	void bulkWritesNeedAFilterAndAPatchTheyMayApply() throws Exception {
+		EmployeeDTO rename = new EmployeeDTO();
+		rename.setLastName("Renamed");
+		bulkUpdate(new EmployeeBulkUpdateDTO(new EmployeeFilterDTO(), rename))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(post("/api/employees/bulk-delete").contentType(MediaType.APPLICATION_JSON).content("{}"))
+				.andExpect(status().isBadRequest());
+		bulkUpdate(new EmployeeBulkUpdateDTO(
+				new EmployeeFilterDTO(null, null, null, LocalDate.of(2024, 1, 1), LocalDate.of(2023, 1, 1)), rename))
+				.andExpect(status().isBadRequest());
+
+		EmployeeFilterDTO everyEngineer = new EmployeeFilterDTO(null, "Engineer", null, null, null);
+		bulkUpdate(new EmployeeBulkUpdateDTO(everyEngineer, new EmployeeDTO()))
+				.andExpect(status().isBadRequest());
+		EmployeeDTO sameEmail = new EmployeeDTO();
+		sameEmail.setEmail("everyone@example.com");
+		bulkUpdate(new EmployeeBulkUpdateDTO(everyEngineer, sameEmail))
+				.andExpect(status().isBadRequest());
+		EmployeeDTO future = new EmployeeDTO();
+		future.setHireDate(LocalDate.now().plusYears(1));
+		bulkUpdate(new EmployeeBulkUpdateDTO(everyEngineer, future))
+				.andExpect(status().isBadRequest());
+	}
+
+	private ResultActions bulkUpdate(EmployeeBulkUpdateDTO bulkUpdateDTO) throws Exception {
+		return mockMvc.perform(patch("/api/employees/bulk").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(bulkUpdateDTO)));
+	}
+
+	private Long create(String email, String position, LocalDate hireDate) throws Exception {
+		MvcResult result = mockMvc.perform(post("/api/employees/create").contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsString(new EmployeeDTO(null, "Bulk", "Writes", email, position, hireDate))))
+				.andExpect(status().isCreated())
+				.andReturn();
+		return objectMapper.readValue(result.getResponse().getContentAsString(), EmployeeDTO.class).getId();
+	}
+}
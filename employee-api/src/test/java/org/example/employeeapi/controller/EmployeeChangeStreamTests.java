@@ -0,0 +1,37 @@
+package org.example.employeeapi.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:change_stream_db",
+		"employee.changes.max-streams=2"
+})
+@AutoConfigureMockMvc
+class EmployeeChangeStreamTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	void streamsBeyondTheLimitAreTurnedAwayWithRetryAfter() throws Exception {
+		for (int i = 0; i < 2; i++) {
+			mockMvc.perform(get("/api/employees/changes").accept(MediaType.TEXT_EVENT_STREAM))
+					.andExpect(request().asyncStarted());
+		}
+
+		mockMvc.perform(get("/api/employees/changes").accept(MediaType.TEXT_EVENT_STREAM))
+				.andExpect(status().isServiceUnavailable())
+				.andExpect(header().string(HttpHeaders.RETRY_AFTER, "5"));
+	}
+}
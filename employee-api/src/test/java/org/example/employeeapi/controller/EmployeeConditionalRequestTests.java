@@ -0,0 +1,149 @@
+package org.example.employeeapi.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.employeeapi.dto.EmployeeDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// its own database, so the writes here do not shift the id order other tests list in
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:conditional_db")
+@AutoConfigureMockMvc
+class EmployeeConditionalRequestTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Test
+	void anUnchangedEmployeeIsNotModified() throws Exception {
+		Long id = create("conditional.get@example.com");
+
+		MvcResult fetched = mockMvc.perform(get("/api/employees/{id}", id))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, "\"" + id + "-0\""))
+				.andReturn();
+		String eTag = fetched.getResponse().getHeader(HttpHeaders.ETAG);
+
+		mockMvc.perform(get("/api/employees/{id}", id).header(HttpHeaders.IF_NONE_MATCH, eTag))
+				.andExpect(status().isNotModified());
+
+		mockMvc.perform(put("/api/employees/{id}", id).header(HttpHeaders.IF_MATCH, eTag)
+						.contentType(MediaType.APPLICATION_JSON).content(employeeJson("conditional.get@example.com", "Lead")))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, "\"" + id + "-1\""));
+		mockMvc.perform(get("/api/employees/{id}", id).header(HttpHeaders.IF_NONE_MATCH, eTag))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.position").value("Lead"));
+	}
+
+	@Test
+	void theListTagChangesWithEveryWrite() throws Exception {
+		create("conditional.list@example.com");
+
+		String listTag = listTag("/api/employees");
+		String pageTag = listTag("/api/employees?limit=1");
+		mockMvc.perform(get("/api/employees").header(HttpHeaders.IF_NONE_MATCH, listTag))
+				.andExpect(status().isNotModified());
+		mockMvc.perform(get("/api/employees?limit=1").header(HttpHeaders.IF_NONE_MATCH, pageTag))
+				.andExpect(status().isNotModified());
+
+		create("conditional.list.more@example.com");
+
+		mockMvc.perform(get("/api/employees").header(HttpHeaders.IF_NONE_MATCH, listTag))
+				.andExpect(status().isOk());
+		mockMvc.perform(get("/api/employees?limit=1").header(HttpHeaders.IF_NONE_MATCH, pageTag))
+				.andExpect(status().isOk());
+		assertNotEquals(listTag, listTag("/api/employees"));
+	}
+
+	@Test
+	void writesWithAStaleTagFailTheirPrecondition() throws Exception {
+		Long id = create("conditional.stale@example.com");
+		String stale = "\"" + id + "-0\"";
+		mockMvc.perform(patch("/api/employees/{id}", id)
+						.contentType(MediaType.APPLICATION_JSON).content("{\"position\":\"Lead\"}"))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, "\"" + id + "-1\""));
+
+		mockMvc.perform(put("/api/employees/{id}", id).header(HttpHeaders.IF_MATCH, stale)
+						.contentType(MediaType.APPLICATION_JSON).content(employeeJson("conditional.stale@example.com", "Clerk")))
+				.andExpect(status().isPreconditionFailed());
+		mockMvc.perform(patch("/api/employees/{id}", id).header(HttpHeaders.IF_MATCH, stale)
+						.contentType(MediaType.APPLICATION_JSON).content("{\"position\":\"Clerk\"}"))
+				.andExpect(status().isPreconditionFailed());
+		mockMvc.perform(delete("/api/employees/{id}", id).header(HttpHeaders.IF_MATCH, stale))
+				.andExpect(status().isPreconditionFailed());
+
+		mockMvc.perform(get("/api/employees/{id}", id))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.position").value("Lead"));
+		mockMvc.perform(delete("/api/employees/{id}", id).header(HttpHeaders.IF_MATCH, "\"" + id + "-1\""))
+				.andExpect(status().isNoContent());
+	}
+
+	@Test
+	void aSparseFieldsTagIsNeverABasisForAWrite() throws Exception {
+		Long id = create("conditional.sparse@example.com");
+		MvcResult sparse = mockMvc.perform(get("/api/employees/{id}?fields=email", id))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, startsWith("W/\"" + id + "-0-f")))
+				.andReturn();
+		String weakTag = sparse.getResponse().getHeader(HttpHeaders.ETAG);
+
+		mockMvc.perform(put("/api/employees/{id}", id).header(HttpHeaders.IF_MATCH, weakTag)
+						.contentType(MediaType.APPLICATION_JSON).content(employeeJson("conditional.sparse@example.com", "Lead")))
+				.andExpect(status().isPreconditionFailed());
+		mockMvc.perform(patch("/api/employees/{id}", id).header(HttpHeaders.IF_MATCH, weakTag)
+						.contentType(MediaType.APPLICATION_JSON).content("{\"position\":\"Lead\"}"))
+				.andExpect(status().isPreconditionFailed());
+		mockMvc.perform(delete("/api/employees/{id}", id).header(HttpHeaders.IF_MATCH, weakTag))
+				.andExpect(status().isPreconditionFailed());
+
+		// even though the version it names is current
+		mockMvc.perform(get("/api/employees/{id}", id))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, "\"" + id + "-0\""));
+	}
+
+	private String listTag(String url) throws Exception {
+		MvcResult result = mockMvc.perform(get(url))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, startsWith("W/\"c-")))
+				.andReturn();
+		return result.getResponse().getHeader(HttpHeaders.ETAG);
+	}
+
+	private Long create(String email) throws Exception {
+		MvcResult result = mockMvc.perform(post("/api/employees/create")
+						.contentType(MediaType.APPLICATION_JSON).content(employeeJson(email, "Engineer")))
+				.andExpect(status().isCreated())
+				.andReturn();
+		return objectMapper.readValue(result.getResponse().getContentAsString(), EmployeeDTO.class).getId();
+	}
+
+	private String employeeJson(String email, String position) throws Exception {
+		return objectMapper.writeValueAsString(new EmployeeDTO(null, "Connie", "Ditional", email, position,
+				LocalDate.of(2022, 6, 7)));
+	}
+}
@@ -0,0 +1,76 @@
+package org.example.employeeapi.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.employeeapi.dto.EmployeeDTO;
+import org.example.employeeservice.entity.Employee;
+import org.example.employeeservice.repository.EmployeeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// its own database, so the export holds exactly the employees created here
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:export_db")
+@AutoConfigureMockMvc
+class EmployeeExportTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Test
+	void everyEmployeeIsStreamedAsOneJsonObjectPerLine() throws Exception {
+		// more than one flush interval, so the body is written in several pieces
+		List<Employee> employees = new ArrayList<>();
+		for (int i = 0; i < 1234; i++) {
+			employees.add(new Employee(null, "Exa", "Port" + i, "export" + i + "@example.com", "Clerk",
+					LocalDate.of(2020, 7, 8)));
+		}
+		Set<Long> expectedIds = new HashSet<>();
+		employeeRepository.saveAll(employees).forEach(employee -> expectedIds.add(employee.getId()));
+
+		// the body is written after the handler returns, off the request thread
+		MvcResult started = mockMvc.perform(get("/api/employees/export"))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		MvcResult result = mockMvc.perform(asyncDispatch(started))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType("application/x-ndjson"))
+				.andReturn();
+
+		String body = result.getResponse().getContentAsString();
+		assertTrue(body.endsWith("}\n"), "the last line is terminated");
+		String[] lines = body.substring(0, body.length() - 1).split("\n", -1);
+		assertEquals(1234, lines.length);
+		Set<Long> exportedIds = new HashSet<>();
+		for (String line : lines) {
+			assertTrue(line.startsWith("{") && line.endsWith("}"), line);
+			EmployeeDTO employee = objectMapper.readValue(line, EmployeeDTO.class);
+			assertEquals("export" + employee.getLastName().substring("Port".length()) + "@example.com",
+					employee.getEmail());
+			exportedIds.add(employee.getId());
+		}
+		assertEquals(expectedIds, exportedIds);
+	}
+}
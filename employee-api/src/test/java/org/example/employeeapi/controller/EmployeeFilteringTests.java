@@ -0,0 +1,82 @@
+package org.example.employeeapi.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.employeeapi.dto.EmployeeDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.net.URI;
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// its own database, so these employees do not shift the id order other tests list in
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:filtering_db")
+@AutoConfigureMockMvc
+class EmployeeFilteringTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Test
+	void listsAreFilteredAndSortedAndPageInThatOrder() throws Exception {
+		create("filter.a@example.com", "Filter Engineer", LocalDate.of(2023, 2, 1));
+		Long newest = create("filter.b@example.com", "Filter Engineer", LocalDate.of(2023, 11, 1));
+		Long middle = create("filter.c@example.com", "Filter Engineer", LocalDate.of(2023, 6, 1));
+		create("filter.d@example.com", "Filter Engineer", LocalDate.of(2022, 12, 31));
+		create("filter.e@example.com", "Filter Manager", LocalDate.of(2023, 6, 1));
+
+		MvcResult first = mockMvc.perform(get("/api/employees?position={position}&hiredFrom=2023-01-01&hiredTo=2023-12-31"
+						+ "&sort=-hireDate&limit=2", "Filter Engineer"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(2))
+				.andExpect(jsonPath("$[0].id").value(newest))
+				.andExpect(jsonPath("$[1].id").value(middle))
+				.andExpect(header().string(HttpHeaders.LINK, startsWith("<http://localhost/api/employees?position=Filter%20Engineer&hiredFrom=2023-01-01&hiredTo=2023-12-31&sort=-hireDate&limit=2&after=")))
+				.andReturn();
+
+		String next = first.getResponse().getHeader(HttpHeaders.LINK);
+		mockMvc.perform(get(URI.create(next.substring(1, next.indexOf('>')))))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(1))
+				.andExpect(jsonPath("$[0].hireDate").value("2023-02-01"));
+
+		mockMvc.perform(get("/api/employees").param("lastName", "Filtered").param("position", "Filter Manager")
+						.param("fields", "email"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(1))
+				.andExpect(jsonPath("$[0].email").value("filter.e@example.com"));
+	}
+
+	@Test
+	void invalidSortsAndRangesAreRejected() throws Exception {
+		mockMvc.perform(get("/api/employees").param("sort", "salary"))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(get("/api/employees").param("sort", "lastName,-lastName"))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(get("/api/employees").param("hiredFrom", "2024-01-01").param("hiredTo", "2023-01-01"))
+				.andExpect(status().isBadRequest());
+	}
+
+	private Long create(String email, String position, LocalDate hireDate) throws Exception {
+		MvcResult result = mockMvc.perform(post("/api/employees/create").contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsString(new EmployeeDTO(null, "Fay", "Filtered", email, position, hireDate))))
+				.andExpect(status().isCreated())
+				.andReturn();
+		return objectMapper.readValue(result.getResponse().getContentAsString(), EmployeeDTO.class).getId();
+	}
+}
@@ -0,0 +1,87 @@
+package org.example.employeeapi.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.employeeapi.dto.EmployeeDTO;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class EmployeeFormatsTests {
+
+	// what another JVM service would use to talk to us in each format
+	private static final Map<String, ObjectMapper> CLIENT_MAPPERS = Map.of(
+			"application/json", Jackson2ObjectMapperBuilder.json().build(),
+			"application/cbor", Jackson2ObjectMapperBuilder.cbor().build(),
+			"application/x-jackson-smile", Jackson2ObjectMapperBuilder.smile().build());
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@ParameterizedTest
+	@ValueSource(strings = {"application/json", "application/cbor", "application/x-jackson-smile"})
+	void employeesRoundTrip(String format) throws Exception {
+		ObjectMapper mapper = CLIENT_MAPPERS.get(format);
+		MediaType mediaType = MediaType.parseMediaType(format);
+		EmployeeDTO request = new EmployeeDTO(null, "Zoë", "O'Brien, Jr.", format.replace('/', '.') + "@example.com",
+				"Engineer", LocalDate.of(2023, 10, 1));
+
+		MvcResult created = mockMvc.perform(post("/api/employees/create")
+						.contentType(mediaType).accept(mediaType).content(mapper.writeValueAsBytes(request)))
+				.andExpect(status().isCreated())
+				.andExpect(content().contentType(mediaType))
+				.andReturn();
+		EmployeeDTO createdEmployee = mapper.readValue(created.getResponse().getContentAsByteArray(), EmployeeDTO.class);
+		assertSameDetails(request, createdEmployee);
+		assertEquals(0L, createdEmployee.getVersion());
+
+		MvcResult fetched = mockMvc.perform(get("/api/employees/{id}", createdEmployee.getId()).accept(mediaType))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType(mediaType))
+				.andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT))
+				.andReturn();
+		EmployeeDTO fetchedEmployee = mapper.readValue(fetched.getResponse().getContentAsByteArray(), EmployeeDTO.class);
+		assertSameDetails(request, fetchedEmployee);
+		assertEquals(createdEmployee.getId(), fetchedEmployee.getId());
+
+		String eTag = fetched.getResponse().getHeader(HttpHeaders.ETAG);
+		mockMvc.perform(get("/api/employees/{id}", createdEmployee.getId()).accept(mediaType)
+						.header(HttpHeaders.IF_NONE_MATCH, eTag))
+				.andExpect(status().isNotModified());
+
+		MvcResult listed = mockMvc.perform(get("/api/employees").accept(mediaType))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType(mediaType))
+				.andReturn();
+		List<EmployeeDTO> employees = List.of(mapper.readValue(listed.getResponse().getContentAsByteArray(), EmployeeDTO[].class));
+		assertTrue(employees.stream().anyMatch(employee -> employee.getId().equals(createdEmployee.getId())));
+	}
+
+	private static void assertSameDetails(EmployeeDTO expected, EmployeeDTO actual) {
+		assertEquals(expected.getFirstName(), actual.getFirstName());
+		assertEquals(expected.getLastName(), actual.getLastName());
+		assertEquals(expected.getEmail(), actual.getEmail());
+		assertEquals(expected.getPosition(), actual.getPosition());
+		assertEquals(expected.getHireDate(), actual.getHireDate());
+	}
+}
@@ -0,0 +1,43 @@
+package org.example.employeeapi.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// its own context, so the two permits this test holds are the only ones there are
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:bulkhead_db",
+		"employee.jdbc.bulkhead.enabled=true",
+		"employee.jdbc.bulkhead.max-concurrent=2",
+		"employee.jdbc.bulkhead.max-waiting=5",
+		"employee.jdbc.bulkhead.max-wait=200ms"
+})
+@AutoConfigureMockMvc
+class EmployeeJdbcBulkheadTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Test
+	void aRequestThatCannotGetAPermitInTimeIsServiceUnavailable() throws Exception {
+		try (Connection first = dataSource.getConnection(); Connection second = dataSource.getConnection()) {
+			mockMvc.perform(get("/api/employees"))
+					.andExpect(status().isServiceUnavailable())
+					.andExpect(jsonPath("$.message").value("Database is busy, please retry"));
+		}
+
+		mockMvc.perform(get("/api/employees")).andExpect(status().isOk());
+	}
+}
@@ -0,0 +1,75 @@
+package org.example.employeeapi.controller;
+
+import org.example.employeeapi.concurrency.AdaptiveConcurrencyLimit;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class EmployeeLoadSheddingTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private AdaptiveConcurrencyLimit readConcurrencyLimit;
+
+	@Test
+	void readsOverTheLimitAreShedWhileWritesPass() throws Exception {
+		int held = saturate(readConcurrencyLimit);
+		try {
+			mockMvc.perform(get("/api/employees"))
+					.andExpect(status().isServiceUnavailable())
+					.andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+					.andExpect(jsonPath("$.message").value("Too many concurrent reads, please retry"));
+			mockMvc.perform(post("/api/employees/create").contentType(MediaType.APPLICATION_JSON)
+							.content("{\"firstName\":\"Shed\",\"lastName\":\"Load\",\"email\":\"shed.load@example.com\","
+									+ "\"position\":\"Engineer\",\"hireDate\":\"2024-03-01\"}"))
+					.andExpect(status().isCreated());
+		} finally {
+			for (int i = 0; i < held; i++) {
+				readConcurrencyLimit.release(TimeUnit.MILLISECONDS.toNanos(1));
+			}
+		}
+		mockMvc.perform(get("/api/employees")).andExpect(status().isOk());
+	}
+
+	@Test
+	void limitGrowsWhileLatencyHoldsAndBacksOffWhenItClimbs() {
+		AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit("test", 10, 4, 100);
+		for (int i = 0; i < 50; i++) {
+			saturate(limit);
+			limit.release(TimeUnit.MILLISECONDS.toNanos(1));
+		}
+		int grown = limit.getLimit();
+		assertTrue(grown > 10, "limit did not grow: " + grown);
+
+		for (int i = 0; i < 50; i++) {
+			saturate(limit);
+			limit.release(TimeUnit.MILLISECONDS.toNanos(20));
+		}
+		assertTrue(limit.getLimit() < grown / 2, "limit did not back off: " + limit.getLimit());
+	}
+
+	private static int saturate(AdaptiveConcurrencyLimit limit) {
+		int acquired = 0;
+		while (limit.tryAcquire()) {
+			acquired++;
+		}
+		return acquired;
+	}
+}
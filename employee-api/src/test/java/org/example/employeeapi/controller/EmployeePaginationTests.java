@@ -0,0 +1,135 @@
+package org.example.employeeapi.controller;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.employeeapi.dto.EmployeeDTO;
+import org.example.employeeapi.util.CursorCodec;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// its own database, so the pages hold exactly the employees created here
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:pagination_db")
+@AutoConfigureMockMvc
+class EmployeePaginationTests {
+
+	private static final String LINK_SUFFIX = ">; rel=\"next\"";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Test
+	void followingTheLinksVisitsEveryEmployeeOnceInIdOrder() throws Exception {
+		List<Long> created = new ArrayList<>();
+		for (int i = 0; i < 7; i++) {
+			created.add(create("page.walk" + i + "@example.com"));
+		}
+
+		List<Long> seen = new ArrayList<>();
+		List<Integer> pageSizes = new ArrayList<>();
+		Long recreated = null;
+		String next = "http://localhost/api/employees?limit=3&after=" + CursorCodec.encode(created.get(0) - 1);
+		while (next != null) {
+			MvcResult page = mockMvc.perform(get(URI.create(next))).andExpect(status().isOk()).andReturn();
+			List<EmployeeDTO> employees = objectMapper.readValue(page.getResponse().getContentAsString(),
+					new TypeReference<>() { });
+			employees.forEach(employee -> seen.add(employee.getId()));
+			pageSizes.add(employees.size());
+			next = nextLink(page);
+			if (recreated == null) {
+				// between pages, an employee behind the cursor goes and a new one appears ahead of it
+				mockMvc.perform(delete("/api/employees/{id}", created.get(0))).andExpect(status().isNoContent());
+				recreated = create("page.walk.recreated@example.com");
+			}
+		}
+
+		List<Long> expected = new ArrayList<>(created);
+		expected.add(recreated);
+		assertEquals(expected, seen);
+		assertEquals(List.of(3, 3, 2), pageSizes);
+	}
+
+	@Test
+	void aShortPageIsTheLastAndAFullLastPageLinksToAnEmptyOne() throws Exception {
+		Long first = create("page.last.one@example.com");
+		Long second = create("page.last.two@example.com");
+		String after = CursorCodec.encode(first - 1);
+
+		mockMvc.perform(get("/api/employees?limit=3&after=" + after))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(2))
+				.andExpect(header().doesNotExist(HttpHeaders.LINK));
+
+		MvcResult full = mockMvc.perform(get("/api/employees?limit=2&after=" + after))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(2))
+				.andReturn();
+		String next = nextLink(full);
+		assertNotNull(next);
+		assertTrue(next.endsWith("after=" + CursorCodec.encode(second)), next);
+		mockMvc.perform(get(URI.create(next)))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(0))
+				.andExpect(header().doesNotExist(HttpHeaders.LINK));
+	}
+
+	@Test
+	void aCursorThatIsNotOneOfOursIsABadRequest() throws Exception {
+		String notBase64 = "not*base64";
+		String otherPrefix = Base64.getUrlEncoder().withoutPadding()
+				.encodeToString("name:7".getBytes(StandardCharsets.US_ASCII));
+		String notANumber = Base64.getUrlEncoder().withoutPadding()
+				.encodeToString("id:seven".getBytes(StandardCharsets.US_ASCII));
+
+		for (String cursor : List.of(notBase64, otherPrefix, notANumber)) {
+			mockMvc.perform(get("/api/employees?limit=2&after=" + cursor))
+					.andExpect(status().isBadRequest())
+					.andExpect(jsonPath("$.message").value("Invalid cursor " + cursor));
+		}
+		mockMvc.perform(get("/api/employees?limit=0")).andExpect(status().isBadRequest());
+		mockMvc.perform(get("/api/employees?limit=1001")).andExpect(status().isBadRequest());
+	}
+
+	private static String nextLink(MvcResult page) {
+		String link = page.getResponse().getHeader(HttpHeaders.LINK);
+		if (link == null) {
+			return null;
+		}
+		assertTrue(link.startsWith("<") && link.endsWith(LINK_SUFFIX), link);
+		return link.substring(1, link.length() - LINK_SUFFIX.length());
+	}
+
+	private Long create(String email) throws Exception {
+		MvcResult result = mockMvc.perform(post("/api/employees/create").contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsString(new EmployeeDTO(null, "Paige", "Nation", email, "Clerk",
+								LocalDate.of(2021, 11, 12)))))
+				.andExpect(status().isCreated())
+				.andReturn();
+		return objectMapper.readValue(result.getResponse().getContentAsString(), EmployeeDTO.class).getId();
+	}
+}
@@ -0,0 +1,72 @@
+package org.example.employeeapi.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.Cookie;
+import org.example.employeeapi.dto.EmployeeDTO;
+import org.example.employeeapi.routing.ReadYourWritesFilter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.cookie;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Two pools on one in-memory H2 database stand in for a primary and its replica.
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:read_your_writes_db",
+		"employee.datasource.replica.url=jdbc:h2:mem:read_your_writes_db",
+		"employee.datasource.replica.read-your-writes-window=5s"
+})
+@AutoConfigureMockMvc
+class EmployeeReadYourWritesTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Test
+	void readsCarryingTheWriteCookieGoToThePrimaryAndOthersToTheReplica() throws Exception {
+		MvcResult created = mockMvc.perform(post("/api/employees/create").contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsString(new EmployeeDTO(null, "Wren", "Writer",
+								"wren.writer@example.com", "Engineer", LocalDate.of(2024, 3, 4)))))
+				.andExpect(status().isCreated())
+				.andExpect(cookie().exists(ReadYourWritesFilter.COOKIE))
+				.andExpect(cookie().maxAge(ReadYourWritesFilter.COOKIE, 5))
+				.andReturn();
+		Cookie lastWrite = created.getResponse().getCookie(ReadYourWritesFilter.COOKIE);
+
+		double replicaBefore = replicaConnections();
+		mockMvc.perform(get("/api/employees?limit=5").cookie(lastWrite))
+				.andExpect(status().isOk())
+				.andExpect(cookie().doesNotExist(ReadYourWritesFilter.COOKIE));
+		assertEquals(replicaBefore, replicaConnections(), "the writer's read went to the replica");
+
+		// any other client reads from the replica, however recent the write
+		mockMvc.perform(get("/api/employees?limit=5")).andExpect(status().isOk());
+		assertEquals(replicaBefore + 1, replicaConnections());
+		mockMvc.perform(get("/api/employees?limit=5").cookie(new Cookie(ReadYourWritesFilter.COOKIE, "garbage")))
+				.andExpect(status().isOk());
+		assertEquals(replicaBefore + 2, replicaConnections());
+	}
+
+	private double replicaConnections() {
+		return meterRegistry.get("employee.datasource.connections").tag("pool", "replica").functionCounter().count();
+	}
+}
@@ -0,0 +1,95 @@
+package org.example.employeeapi.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.employeeapi.dto.EmployeeDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class EmployeeSparseFieldsTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Test
+	void onlyRequestedFieldsAreReturned() throws Exception {
+		Long id = create("sparse.one@example.com");
+
+		MvcResult result = mockMvc.perform(get("/api/employees/{id}", id).param("fields", "email, position,id"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(3))
+				.andExpect(jsonPath("$.id").value(id))
+				.andExpect(jsonPath("$.email").value("sparse.one@example.com"))
+				.andExpect(jsonPath("$.position").value("Engineer"))
+				.andExpect(header().string(HttpHeaders.ETAG, startsWith("W/\"" + id + "-0-f")))
+				.andReturn();
+
+		String eTag = result.getResponse().getHeader(HttpHeaders.ETAG);
+		mockMvc.perform(get("/api/employees/{id}", id).param("fields", "id,email,position")
+						.header(HttpHeaders.IF_NONE_MATCH, eTag))
+				.andExpect(status().isNotModified());
+		// a partial view is never a basis for a write
+		mockMvc.perform(put("/api/employees/{id}", id).header(HttpHeaders.IF_MATCH, eTag)
+						.contentType(MediaType.APPLICATION_JSON).content(employeeJson("sparse.one@example.com")))
+				.andExpect(status().isPreconditionFailed());
+	}
+
+	@Test
+	void sparseListsPageWithoutSelectingId() throws Exception {
+		create("sparse.two@example.com");
+		create("sparse.three@example.com");
+
+		mockMvc.perform(get("/api/employees?fields=email&limit=1"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(1))
+				.andExpect(jsonPath("$[0].length()").value(1))
+				.andExpect(jsonPath("$[0].email").exists())
+				.andExpect(header().string(HttpHeaders.LINK, startsWith("<http://localhost/api/employees?fields=email&limit=1&after=")));
+
+		mockMvc.perform(get("/api/employees").param("fields", "hireDate"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[0].length()").value(1))
+				.andExpect(jsonPath("$[0].hireDate").value("2023-10-01"));
+	}
+
+	@Test
+	void unknownFieldsAreRejected() throws Exception {
+		mockMvc.perform(get("/api/employees").param("fields", "email,salary"))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(get("/api/employees/{id}", 1).param("fields", " , "))
+				.andExpect(status().isBadRequest());
+	}
+
+	private Long create(String email) throws Exception {
+		MvcResult result = mockMvc.perform(post("/api/employees/create")
+						.contentType(MediaType.APPLICATION_JSON).content(employeeJson(email)))
+				.andExpect(status().isCreated())
+				.andReturn();
+		return objectMapper.readValue(result.getResponse().getContentAsString(), EmployeeDTO.class).getId();
+	}
+
+	private String employeeJson(String email) throws Exception {
+		return objectMapper.writeValueAsString(
+				new EmployeeDTO(null, "Sparse", "Fields", email, "Engineer", LocalDate.of(2023, 10, 1)));
+	}
+}
@@ -0,0 +1,37 @@
+package org.example.employeeapi.importer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CsvLineParserTests {
+
+	@Test
+	void plainFieldsAreSplitOnCommas() {
+		assertEquals(List.of("Ada", "Lovelace", "ada@example.com"), CsvLineParser.split("Ada,Lovelace,ada@example.com"));
+		assertEquals(List.of("", "b", "", ""), CsvLineParser.split(",b,,"));
+		assertEquals(List.of(""), CsvLineParser.split(""));
+	}
+
+	@Test
+	void quotedFieldsKeepCommasAndDoubledQuotes() {
+		assertEquals(List.of("Lovelace, Countess", "Engineer \"Analytical\"", ""),
+				CsvLineParser.split("\"Lovelace, Countess\",\"Engineer \"\"Analytical\"\"\",\"\""));
+		assertEquals(List.of("\"", "x"), CsvLineParser.split("\"\"\"\",x"));
+	}
+
+	@Test
+	void quotesInsideAnUnquotedFieldAreKeptAsTheyAre() {
+		assertEquals(List.of("O\"Brien", "a\"b\""), CsvLineParser.split("O\"Brien,a\"b\""));
+	}
+
+	@Test
+	void anUnterminatedQuotedFieldIsRejected() {
+		IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+				() -> CsvLineParser.split("Ada,\"Lovelace,ada@example.com"));
+		assertEquals("Unterminated quoted field", error.getMessage());
+	}
+}
@@ -0,0 +1,168 @@
+package org.example.employeeapi.importer;
+
+import org.example.employeeservice.entity.Employee;
+import org.example.employeeservice.repository.EmployeeRepository;
+import org.example.employeeservice.search.EmployeeSearchIndex;
+import org.example.employeeservice.service.EmployeeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+// its own database, so the imported employees do not shift the id order other tests list in
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:import_db",
+		"employee.import.directory=${java.io.tmpdir}/employee-import-tests",
+		"employee.import.parser-threads=2"
+})
+class EmployeeImportServiceTests {
+
+	private static final String HEADER = "firstName,lastName,email,position,hireDate\n";
+
+	@Autowired
+	private EmployeeImportService importService;
+
+	@SpyBean
+	private EmployeeService employeeService;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private EmployeeSearchIndex searchIndex;
+
+	@Value("${employee.import.directory}")
+	private Path importDirectory;
+
+	@Test
+	void quotedFieldsAreImportedAndBadOrDuplicateRowsAreReported() throws Exception {
+		employeeService.createEmployee(new Employee(null, "Bob", "Before", "import.taken@example.com", "Clerk",
+				LocalDate.of(2020, 5, 4)));
+
+		EmployeeImportJob job = runImport("mixed.csv", HEADER
+				+ "\"Ada\",\"Lovelace, Countess\",import.ada@example.com,\"Engineer, \"\"Analytical\"\"\",2021-03-04\n"
+				+ "Bob,Again,import.taken@example.com,Clerk,2021-03-04\n"
+				+ "Cy,Twice,import.twice@example.com,Clerk,\n"
+				+ "\n"
+				+ "Cy,Again,import.twice@example.com,Clerk,2021-03-04\n"
+				+ "Dee,Bad,not-an-email,Clerk,2021-03-04\n"
+				+ "Eve,\"Unterminated,import.eve@example.com,Clerk,\n"
+				+ "Fay,Date,import.fay@example.com,Clerk,2021-13-01\n");
+
+		assertEquals(EmployeeImportJob.Status.COMPLETED, job.getStatus());
+		assertNull(job.getError());
+		assertEquals(7, job.getRowsRead());
+		assertEquals(2, job.getRowsImported());
+		assertEquals(5, job.getRowsRejected());
+		assertEquals(job.getTotalBytes(), job.getBytesRead());
+		assertEquals(List.of(3L, 6L, 7L, 8L, 9L), lines(job.getRejections()));
+		assertEquals(Map.of("email", "Email already exists"), job.getRejections().get(0).getErrors());
+		assertEquals(Map.of("email", "Email already exists"), job.getRejections().get(1).getErrors());
+		assertEquals(Map.of("email", "Email should be valid"), job.getRejections().get(2).getErrors());
+		assertEquals(Map.of("row", "Unterminated quoted field"), job.getRejections().get(3).getErrors());
+		assertEquals(Map.of("hireDate", "Hire date must be an ISO date such as 2023-10-01"),
+				job.getRejections().get(4).getErrors());
+
+		Employee ada = byEmail("import.ada@example.com");
+		assertEquals("Lovelace, Countess", ada.getLastName());
+		assertEquals("Engineer, \"Analytical\"", ada.getPosition());
+		// the listeners saw the rows too, though the import publishes one event per chunk
+		assertEquals(List.of(ada.getId()), searchIndex.search("ada lovelace", 10));
+		assertEquals("Twice", byEmail("import.twice@example.com").getLastName());
+		assertEquals("Before", byEmail("import.taken@example.com").getLastName());
+	}
+
+	@Test
+	void emailsRepeatedAcrossBlocksAreImportedOnce() throws Exception {
+		// three blocks parsed concurrently; every email appears twice, the copies a block apart
+		StringBuilder csv = new StringBuilder(HEADER);
+		for (int copy = 0; copy < 2; copy++) {
+			for (int i = 0; i < 1200; i++) {
+				csv.append("Block,Copy").append(copy).append(",import.block").append(i)
+						.append("@example.com,Clerk,2022-02-02\n");
+			}
+		}
+
+		EmployeeImportJob job = runImport("blocks.csv", csv.toString());
+
+		assertEquals(EmployeeImportJob.Status.COMPLETED, job.getStatus());
+		assertEquals(2400, job.getRowsRead());
+		assertEquals(1200, job.getRowsImported());
+		assertEquals(1200, job.getRowsRejected());
+		List<String> emails = new ArrayList<>();
+		for (int i = 0; i < 1200; i++) {
+			emails.add("import.block" + i + "@example.com");
+		}
+		assertEquals(1200, employeeRepository.findByEmailIn(emails).size());
+	}
+
+	@Test
+	void aBlockHittingAnEmailCreatedMeanwhileIsRetriedRowByRow() throws Exception {
+		doAnswer(invocation -> {
+			// another client creates the second row's email after the import checked it
+			CompletableFuture.runAsync(() -> employeeService.createEmployee(new Employee(null, "Meanwhile", "Created",
+					"import.race@example.com", "Clerk", LocalDate.of(2020, 5, 4)))).join();
+			return invocation.callRealMethod();
+		}).when(employeeService).insertEmployees(anyList());
+
+		EmployeeImportJob job = runImport("race.csv", HEADER
+				+ "Gil,First,import.race.first@example.com,Clerk,2021-03-04\n"
+				+ "Hal,Race,import.race@example.com,Clerk,2021-03-04\n"
+				+ "Ivy,Last,import.race.last@example.com,Clerk,2021-03-04\n");
+
+		assertEquals(EmployeeImportJob.Status.COMPLETED, job.getStatus());
+		verify(employeeService, times(1)).insertEmployees(anyList());
+		assertEquals(2, job.getRowsImported());
+		assertEquals(1, job.getRowsRejected());
+		assertEquals(List.of(3L), lines(job.getRejections()));
+		assertEquals(Map.of("email", "Email already exists"), job.getRejections().get(0).getErrors());
+		assertEquals("Created", byEmail("import.race@example.com").getLastName());
+		assertEquals("First", byEmail("import.race.first@example.com").getLastName());
+		assertEquals("Last", byEmail("import.race.last@example.com").getLastName());
+	}
+
+	private EmployeeImportJob runImport(String file, String content) throws IOException, InterruptedException {
+		Files.writeString(importDirectory.resolve(file), content, StandardCharsets.UTF_8);
+		EmployeeImportJob job = importService.submit(file);
+		for (int i = 0; i < 300; i++) {
+			if (job.getStatus() == EmployeeImportJob.Status.COMPLETED || job.getStatus() == EmployeeImportJob.Status.FAILED) {
+				return job;
+			}
+			Thread.sleep(100);
+		}
+		return fail("Import of " + file + " did not finish");
+	}
+
+	private Employee byEmail(String email) {
+		List<Employee> found = employeeRepository.findByEmailIn(List.of(email));
+		assertEquals(1, found.size(), email);
+		return found.get(0);
+	}
+
+	private static List<Long> lines(List<EmployeeImportRejection> rejections) {
+		List<Long> lines = new ArrayList<>();
+		for (EmployeeImportRejection rejection : rejections) {
+			lines.add(rejection.getLine());
+		}
+		return lines;
+	}
+}
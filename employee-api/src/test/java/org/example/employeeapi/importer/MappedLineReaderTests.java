@@ -0,0 +1,119 @@
+package org.example.employeeapi.importer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MappedLineReaderTests {
+
+	@TempDir
+	private Path directory;
+
+	@Test
+	void linesCrossingWindowBoundariesAreReadWhole() throws Exception {
+		// lines of 3 to 16 bytes, so these windows end at every position within a line, including in the
+		// middle of a multi-byte character
+		List<String> lines = new ArrayList<>();
+		for (int i = 0; i < 200; i++) {
+			lines.add((i % 3 == 0 ? "Zo\u00eb\u6771" : "ab") + "x".repeat(i % 8) + i % 10);
+		}
+		Path file = write("lines.csv", String.join("\n", lines) + "\n");
+
+		for (long windowSize : new long[] {16, 17, 23, 64, 1 << 20}) {
+			assertEquals(lines, read(file, windowSize), "window of " + windowSize + " bytes");
+		}
+	}
+
+	@Test
+	void aLineAcrossTheDefaultWindowBoundaryIsReadWhole() throws Exception {
+		String line = "First,Last,first.last@example.com,Engineer,2023-01-02,";
+		byte[] bytes = (line + "\n").getBytes(StandardCharsets.UTF_8);
+		// enough lines that one of them straddles the end of the first window
+		long lineCount = MappedLineReader.WINDOW_SIZE / bytes.length + 2;
+		Path file = directory.resolve("large.csv");
+		try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), 1 << 16)) {
+			for (long i = 0; i < lineCount; i++) {
+				out.write(bytes);
+			}
+		}
+		assertTrue(MappedLineReader.WINDOW_SIZE % bytes.length != 0);
+
+		long[] read = {0};
+		long[] lastEnd = {0};
+		MappedLineReader.read(file, (lineNumber, text, endOffset) -> {
+			assertEquals(line, text, "line " + lineNumber);
+			assertEquals(lineNumber * bytes.length, endOffset);
+			read[0] = lineNumber;
+			lastEnd[0] = endOffset;
+			return true;
+		});
+		assertEquals(lineCount, read[0]);
+		assertEquals(Files.size(file), lastEnd[0]);
+	}
+
+	@Test
+	void byteOrderMarkCarriageReturnsAndAMissingFinalNewlineAreHandled() throws Exception {
+		Path file = write("windows.csv", "\uFEFFfirstName,lastName\r\nAda,Lovelace\r\n\r\nAlan,Turing");
+
+		List<Long> endOffsets = new ArrayList<>();
+		List<String> lines = new ArrayList<>();
+		MappedLineReader.read(file, 32, (lineNumber, line, endOffset) -> {
+			assertEquals(lines.size() + 1, lineNumber);
+			lines.add(line);
+			endOffsets.add(endOffset);
+			return true;
+		});
+
+		assertEquals(List.of("firstName,lastName", "Ada,Lovelace", "", "Alan,Turing"), lines);
+		assertEquals(List.of(23L, 37L, 39L, 50L), endOffsets);
+		assertEquals(Files.size(file), endOffsets.get(endOffsets.size() - 1));
+	}
+
+	@Test
+	void aLineLongerThanTheWindowIsAnError() throws Exception {
+		Path file = write("long.csv", "short\n" + "y".repeat(40) + "\nshort\n");
+
+		IOException error = assertThrows(IOException.class, () -> read(file, 32));
+		assertEquals("Line 2 is longer than 32 bytes", error.getMessage());
+	}
+
+	@Test
+	void readingStopsWhenTheHandlerSaysSo() throws Exception {
+		Path file = write("stop.csv", "a\nb\nc\nd\n");
+
+		List<String> lines = new ArrayList<>();
+		MappedLineReader.read(file, 4, (lineNumber, line, endOffset) -> {
+			lines.add(line);
+			return lineNumber < 2;
+		});
+
+		assertEquals(List.of("a", "b"), lines);
+	}
+
+	@Test
+	void anEmptyFileHasNoLines() throws Exception {
+		assertEquals(List.of(), read(write("empty.csv", ""), 16));
+	}
+
+	private Path write(String name, String content) throws IOException {
+		return Files.writeString(directory.resolve(name), content, StandardCharsets.UTF_8);
+	}
+
+	private static List<String> read(Path file, long windowSize) throws IOException, InterruptedException {
+		List<String> lines = new ArrayList<>();
+		MappedLineReader.read(file, windowSize, (lineNumber, line, endOffset) -> lines.add(line));
+		return lines;
+	}
+}
@@ -0,0 +1,124 @@
+package org.example.employeeapi.mapper;
+
+import org.example.employeeapi.dto.EmployeeDTO;
+import org.example.employeeservice.entity.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class EmployeeMapperTests {
+
+	private final EmployeeMapper mapper = new EmployeeMapper();
+
+	@Test
+	void everyFieldSurvivesTheRoundTrip() throws Exception {
+		// filled by reflection, so a field added to both classes but not to the mapper fails here
+		Employee employee = filled(new Employee());
+
+		EmployeeDTO employeeDTO = mapper.toDto(employee);
+		for (Field field : fields(EmployeeDTO.class)) {
+			assertNotNull(field.get(employeeDTO), field.getName());
+		}
+		assertSameFields(employee, employeeDTO);
+
+		Employee roundTripped = mapper.toEntity(employeeDTO);
+		assertSameFields(roundTripped, employeeDTO);
+	}
+
+	@Test
+	void nullFieldsStayNull() throws Exception {
+		// a PATCH body names only some fields; the others must reach the service as null
+		EmployeeDTO patch = new EmployeeDTO();
+		patch.setPosition("Lead");
+
+		Employee employee = mapper.toEntity(patch);
+		assertEquals("Lead", employee.getPosition());
+		for (Field field : fields(Employee.class)) {
+			if (!field.getName().equals("position")) {
+				assertNull(field.get(employee), field.getName());
+			}
+		}
+		for (Field field : fields(EmployeeDTO.class)) {
+			if (!field.getName().equals("position")) {
+				assertNull(field.get(mapper.toDto(employee)), field.getName());
+			}
+		}
+	}
+
+	@Test
+	void theVersionIsCarriedBothWays() {
+		Employee employee = new Employee(7L, "Vera", "Version", "vera@example.com", "Clerk", LocalDate.of(2021, 1, 2));
+		employee.setVersion(4L);
+		EmployeeDTO employeeDTO = mapper.toDto(employee);
+		assertEquals(4L, employeeDTO.getVersion());
+		assertEquals(4L, mapper.toEntity(employeeDTO).getVersion());
+
+		// no version in the request means an unconditional write
+		employeeDTO.setVersion(null);
+		assertNull(mapper.toEntity(employeeDTO).getVersion());
+	}
+
+	@Test
+	void listsKeepTheirOrder() throws Exception {
+		List<Employee> employees = new ArrayList<>();
+		for (long id = 3; id > 0; id--) {
+			employees.add(new Employee(id, "First" + id, "Last" + id, "list" + id + "@example.com", "Clerk",
+					LocalDate.of(2020, 1, (int) id)));
+		}
+
+		List<EmployeeDTO> employeeDTOS = mapper.toDtoList(employees);
+
+		assertEquals(3, employeeDTOS.size());
+		for (int i = 0; i < employees.size(); i++) {
+			assertSameFields(employees.get(i), employeeDTOS.get(i));
+		}
+	}
+
+	private static Employee filled(Employee employee) throws IllegalAccessException {
+		int i = 1;
+		for (Field field : fields(Employee.class)) {
+			Object value;
+			if (field.getType() == Long.class) {
+				value = 100L + i;
+			} else if (field.getType() == String.class) {
+				value = field.getName() + "-value";
+			} else if (field.getType() == LocalDate.class) {
+				value = LocalDate.of(2020, 2, i);
+			} else {
+				throw new AssertionError("No sample value for " + field);
+			}
+			field.set(employee, value);
+			i++;
+		}
+		return employee;
+	}
+
+	private static void assertSameFields(Employee employee, EmployeeDTO employeeDTO) throws Exception {
+		List<Field> dtoFields = fields(EmployeeDTO.class);
+		assertEquals(fields(Employee.class).size(), dtoFields.size(), "Employee and EmployeeDTO have the same fields");
+		for (Field dtoField : dtoFields) {
+			Field field = Employee.class.getDeclaredField(dtoField.getName());
+			field.setAccessible(true);
+			assertEquals(field.get(employee), dtoField.get(employeeDTO), field.getName());
+		}
+	}
+
+	private static List<Field> fields(Class<?> type) {
+		List<Field> fields = new ArrayList<>();
+		for (Field field : type.getDeclaredFields()) {
+			if (!Modifier.isStatic(field.getModifiers())) {
+				field.setAccessible(true);
+				fields.add(field);
+			}
+		}
+		return fields;
+	}
+}
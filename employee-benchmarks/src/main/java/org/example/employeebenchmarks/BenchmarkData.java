@@ -0,0 +1,47 @@
+package org.example.employeebenchmarks;
+
+import org.example.employeeapi.dto.EmployeeDTO;
+import org.example.employeeservice.entity.Employee;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic employee fixtures shared by the benchmarks.
+ */
+final class BenchmarkData {
+    private static final String[] POSITIONS = {"Engineer", "Senior Engineer", "Manager", "Designer", "Analyst"};
+    private static final LocalDate FIRST_HIRE_DATE = LocalDate.of(2015, 1, 1);
+
+    private BenchmarkData() {
+    }
+
+    static Employee employee(long n) {
+        return new Employee(null, "First" + n, "Last" + n, "employee" + n + "@example.com",
+                POSITIONS[(int) (n % POSITIONS.length)], FIRST_HIRE_DATE.plusDays(n % 3000));
+    }
+
+    static EmployeeDTO employeeDTO(long n) {
+        EmployeeDTO employeeDTO = new EmployeeDTO(n, "First" + n, "Last" + n, "employee" + n + "@example.com",
+                POSITIONS[(int) (n % POSITIONS.length)], FIRST_HIRE_DATE.plusDays(n % 3000));
+        employeeDTO.setVersion(0L);
+        return employeeDTO;
+    }
+
+    static List<Employee> employees(long from, int count) {
+        List<Employee> employees = new ArrayList<>(count);
+        for (long n = from; n < from + count; n++) {
+            employees.add(employee(n));
+        }
+        return employees;
+    }
+
+    static List<EmployeeDTO> employeeDTOs(int count) {
+        List<EmployeeDTO> employeeDTOS = new ArrayList<>(count);
+        for (long n = 1; n <= count; n++) {
+            employeeDTOS.add(employeeDTO(n));
+        }
+        return employeeDTOS;
+    }
+}
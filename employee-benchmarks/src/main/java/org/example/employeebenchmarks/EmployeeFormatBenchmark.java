@@ -0,0 +1,81 @@
+package org.example.employeebenchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.employeeapi.dto.EmployeeDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encode/decode cost of a full employee list in each format the API negotiates, built the same way
+ * as the server's converters. Payload sizes, raw and gzipped, are printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class EmployeeFormatBenchmark {
+    private static final TypeReference<List<EmployeeDTO>> EMPLOYEE_LIST = new TypeReference<>() {
+    };
+
+    @Param({"10000", "100000"})
+    private int employeeCount;
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    private ObjectMapper objectMapper;
+    private List<EmployeeDTO> employees;
+    private byte[] payload;
+
+    @Setup
+    public void prepare() throws IOException {
+        objectMapper = switch (format) {
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+        employees = BenchmarkData.employeeDTOs(employeeCount);
+        payload = objectMapper.writeValueAsBytes(employees);
+        System.out.printf("%n%s x %d: %d bytes, %d gzipped%n", format, employeeCount, payload.length, gzippedSize(payload));
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return objectMapper.writeValueAsBytes(employees);
+    }
+
+    @Benchmark
+    public List<EmployeeDTO> decode() throws IOException {
+        return objectMapper.readValue(payload, EMPLOYEE_LIST);
+    }
+
+    private static int gzippedSize(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.size();
+    }
+}
@@ -0,0 +1,112 @@
+package org.example.employeebenchmarks;
+
+import org.example.employeecommon.exception.ResourceNotFoundException;
+import org.example.employeeservice.EmployeeServiceApplication;
+import org.example.employeeservice.model.EmployeeCriteria;
+import org.example.employeeservice.model.EmployeeUpsertResult;
+import org.example.employeeservice.service.EmployeeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code getEmployeeById} throughput for miss-heavy traffic, with and without the id filter. Nine in ten of the
+ * employees are deleted after loading, and {@code mostlyMissing} asks for one of those nine times out of ten, as
+ * stale links and scrapers walking old ids would; the cache stays on, as in production, so hits on existing ids
+ * cost what they normally do. Ids that were never issued are not measured: the filter looks those up too.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeLookupBenchmark {
+    private static final int TABLE_SIZE = 10_000;
+
+    @Param({"true", "false"})
+    public boolean idFilter;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeService employeeService;
+    private long[] ids;
+    private long[] deletedIds;
+
+    @Setup(Level.Trial)
+    public void startService() {
+        context = new SpringApplicationBuilder(EmployeeServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:employee_lookup_benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+                        "spring.jpa.properties.hibernate.order_inserts=true",
+                        "logging.level.root=WARN")
+                // an argument, so that it wins over the application.properties on the classpath
+                .run("--employee.id-filter.enabled=" + idFilter);
+        employeeService = context.getBean(EmployeeService.class);
+
+        List<EmployeeUpsertResult> results = employeeService.upsertEmployees(BenchmarkData.employees(0, TABLE_SIZE));
+        List<Long> live = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        for (int i = 0; i < results.size(); i++) {
+            (i % 10 == 0 ? live : deleted).add(results.get(i).getEmployee().getId());
+        }
+        employeeService.bulkDeleteEmployees(new EmployeeCriteria(deleted, null, null, null, null));
+        ids = live.stream().mapToLong(Long::longValue).toArray();
+        deletedIds = deleted.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopService() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object missing() {
+        return lookup(deletedIds[ThreadLocalRandom.current().nextInt(deletedIds.length)]);
+    }
+
+    @Benchmark
+    public Object mostlyMissing() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (random.nextInt(10) == 0) {
+            return lookup(ids[random.nextInt(ids.length)]);
+        }
+        return lookup(deletedIds[random.nextInt(deletedIds.length)]);
+    }
+
+    /**
+     * What {@code GET /api/employees/{id}} does: ask the filter, and only go through the service otherwise.
+     */
+    private Object lookup(long id) {
+        if (!employeeService.employeeMightExist(id)) {
+            return EmployeeService.employeeNotFound(id);
+        }
+        try {
+            return employeeService.getEmployeeById(id);
+        } catch (ResourceNotFoundException e) {
+            return e;
+        }
+    }
+}
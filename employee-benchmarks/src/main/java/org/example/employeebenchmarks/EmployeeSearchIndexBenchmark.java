@@ -0,0 +1,75 @@
+package org.example.employeebenchmarks;
+
+import org.example.employeeservice.entity.Employee;
+import org.example.employeeservice.lookup.DeletedEmployeeIds;
+import org.example.employeeservice.search.EmployeeSearchIndex;
+import org.example.employeeservice.service.EmployeeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookup latency of {@link EmployeeSearchIndex} at a million employees, from a selective exact name to a
+ * two-letter prefix that hits the candidate cap, plus the cost of keeping the index current on a write.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class EmployeeSearchIndexBenchmark {
+    private static final int RESULT_LIMIT = 20;
+
+    @Param({"1000000"})
+    public int indexSize;
+
+    private EmployeeSearchIndex searchIndex;
+    private long nextUpdate;
+
+    @Setup(Level.Trial)
+    public void buildIndex() {
+        searchIndex = new EmployeeSearchIndex(new DefaultListableBeanFactory().getBeanProvider(EmployeeService.class),
+                new DeletedEmployeeIds());
+        for (long n = 1; n <= indexSize; n++) {
+            searchIndex.index(indexed(n, 0L));
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Query {
+        @Param({"first123456", "first1234", "fi", "first12 senior"})
+        public String text;
+    }
+
+    @Benchmark
+    public List<Long> search(Query query) {
+        return searchIndex.search(query.text, RESULT_LIMIT);
+    }
+
+    @Benchmark
+    public void reindexOne() {
+        long n = nextUpdate++ % indexSize + 1;
+        searchIndex.index(indexed(n, nextUpdate));
+    }
+
+    private static Employee indexed(long n, long version) {
+        Employee employee = BenchmarkData.employee(n);
+        employee.setId(n);
+        employee.setVersion(version);
+        return employee;
+    }
+}
@@ -0,0 +1,60 @@
+package org.example.employeebenchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.employeeapi.dto.EmployeeDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson encoding and decoding of {@link EmployeeDTO} lists, configured the way Spring MVC configures
+ * its ObjectMapper.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeSerializationBenchmark {
+    private static final TypeReference<List<EmployeeDTO>> EMPLOYEE_LIST = new TypeReference<>() {
+    };
+
+    @Param({"100", "10000"})
+    public int listSize;
+
+    private ObjectMapper objectMapper;
+    private List<EmployeeDTO> employeeDTOS;
+    private byte[] json;
+
+    @Setup
+    public void prepare() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        employeeDTOS = BenchmarkData.employeeDTOs(listSize);
+        json = objectMapper.writeValueAsBytes(employeeDTOS);
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws IOException {
+        return objectMapper.writeValueAsBytes(employeeDTOS);
+    }
+
+    @Benchmark
+    public List<EmployeeDTO> deserializeList() throws IOException {
+        return objectMapper.readValue(json, EMPLOYEE_LIST);
+    }
+}
@@ -0,0 +1,125 @@
+package org.example.employeebenchmarks;
+
+import org.example.employeeservice.EmployeeServiceApplication;
+import org.example.employeeservice.entity.Employee;
+import org.example.employeeservice.model.EmployeeUpsertResult;
+import org.example.employeeservice.service.EmployeeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link EmployeeService} CRUD against embedded H2, with the read cache switched off so the database
+ * path is what gets measured. {@code createOneByOne} and {@code upsertBatch} report time per employee
+ * and compare single creates with the batched upsert.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeServiceBenchmark {
+    private static final int PAGE_SIZE = 50;
+    private static final int WRITE_BATCH = 500;
+    private static final int SEED_CHUNK = 10_000;
+
+    @Param({"1000", "100000"})
+    public int tableSize;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeService employeeService;
+    private long[] ids;
+    private final AtomicLong nextEmployee = new AtomicLong(10_000_000L);
+
+    @Setup(Level.Trial)
+    public void startService() {
+        context = new SpringApplicationBuilder(EmployeeServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:employee_benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+                        "spring.jpa.properties.hibernate.order_inserts=true",
+                        "spring.jpa.properties.hibernate.order_updates=true",
+                        "spring.cache.type=none",
+                        "logging.level.root=WARN")
+                .run();
+        employeeService = context.getBean(EmployeeService.class);
+
+        ids = new long[tableSize];
+        int seeded = 0;
+        while (seeded < tableSize) {
+            int count = Math.min(SEED_CHUNK, tableSize - seeded);
+            List<EmployeeUpsertResult> results = employeeService.upsertEmployees(BenchmarkData.employees(seeded, count));
+            for (EmployeeUpsertResult result : results) {
+                ids[seeded++] = result.getEmployee().getId();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopService() {
+        context.close();
+    }
+
+    @Benchmark
+    public Employee getEmployeeById() {
+        return employeeService.getEmployeeById(randomId());
+    }
+
+    @Benchmark
+    public List<Employee> getEmployeesAfter() {
+        return employeeService.getEmployeesAfter(randomId(), PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Employee partialUpdateEmployee() {
+        Employee patch = new Employee();
+        patch.setPosition("Position" + ThreadLocalRandom.current().nextInt(100));
+        return employeeService.partialUpdateEmployee(randomId(), patch);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(WRITE_BATCH)
+    public long createOneByOne() {
+        long from = nextEmployee.getAndAdd(WRITE_BATCH);
+        long lastId = 0;
+        for (Employee employee : BenchmarkData.employees(from, WRITE_BATCH)) {
+            lastId = employeeService.createEmployee(employee).getId();
+        }
+        return lastId;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(WRITE_BATCH)
+    public List<EmployeeUpsertResult> upsertBatch() {
+        long from = nextEmployee.getAndAdd(WRITE_BATCH);
+        return employeeService.upsertEmployees(BenchmarkData.employees(from, WRITE_BATCH));
+    }
+
+    private long randomId() {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+}
@@ -0,0 +1,62 @@
+package org.example.employeebenchmarks;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.example.employeeapi.dto.EmployeeDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bean validation of {@link EmployeeDTO}, i.e. the {@code @Valid} cost on create and update.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmployeeValidationBenchmark {
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private EmployeeDTO validEmployee;
+    private EmployeeDTO invalidEmployee;
+
+    @Setup
+    public void prepare() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        validEmployee = BenchmarkData.employeeDTO(7);
+        invalidEmployee = BenchmarkData.employeeDTO(8);
+        invalidEmployee.setFirstName("");
+        invalidEmployee.setEmail("not-an-email");
+    }
+
+    @TearDown
+    public void close() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<EmployeeDTO>> validateValid() {
+        return validator.validate(validEmployee);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<EmployeeDTO>> validateInvalid() {
+        return validator.validate(invalidEmployee);
+    }
+}
@@ -0,0 +1,97 @@
+package org.example.employeebenchmarks;
+
+import org.example.employeeservice.EmployeeServiceApplication;
+import org.example.employeeservice.service.EmployeeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write throughput over 1, 2 and 4 shards, each its own in-memory H2 database: single creates from four
+ * concurrent writers, and batch upserts, which are split by shard and written in parallel. Writes only scale
+ * with shards while the shards, not the application, are the bottleneck, so expect near-linear gains with as
+ * many cores as writers and little on a single core.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class ShardedWriteBenchmark {
+    private static final int BATCH_SIZE = 200;
+
+    @Param({"1", "2", "4"})
+    public int shards;
+
+    private final AtomicLong nextEmployee = new AtomicLong();
+    private ConfigurableApplicationContext context;
+    private EmployeeService employeeService;
+
+    @Setup(Level.Trial)
+    public void startService() {
+        List<String> args = new ArrayList<>();
+        // arguments, so that they win over the application.properties on the classpath
+        args.add("--spring.datasource.url=" + shardUrl(0));
+        args.add("--spring.jpa.hibernate.ddl-auto=update");
+        if (shards > 1) {
+            List<String> urls = new ArrayList<>();
+            for (int shard = 1; shard < shards; shard++) {
+                urls.add(shardUrl(shard));
+            }
+            args.add("--employee.datasource.shards.urls=" + String.join(",", urls));
+        }
+        context = new SpringApplicationBuilder(EmployeeServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .properties(
+                        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+                        "spring.jpa.properties.hibernate.order_inserts=true",
+                        "logging.level.root=WARN")
+                .run(args.toArray(String[]::new));
+        employeeService = context.getBean(EmployeeService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopService() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object create() {
+        return employeeService.createEmployee(BenchmarkData.employee(nextEmployee.getAndIncrement()));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public Object upsertBatch() {
+        return employeeService.upsertEmployees(
+                BenchmarkData.employees(nextEmployee.getAndAdd(BATCH_SIZE), BATCH_SIZE));
+    }
+
+    private String shardUrl(int shard) {
+        return "jdbc:h2:mem:sharded_write_benchmark_" + shards + "_" + shard + ";DB_CLOSE_DELAY=-1";
+    }
+}
@@ -0,0 +1,140 @@
+package org.example.employeebenchmarks;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Cold-start cost of employee-api: time from launching the JVM to the first successful
+ * {@code GET /api/employees?limit=1}, and the resident set size right after it. Compares a plain
+ * {@code java -jar} start with the fast-startup mode, AOT with and without the AppCDS archive.
+ * <p>
+ * Not a JMH benchmark, since every sample is a fresh JVM. Build the API with the profile first, then run
+ * from the repository root:
+ * <pre>
+ * mvn -B -Pfast-startup -DskipTests install
+ * java -cp employee-benchmarks/target/benchmarks.jar org.example.employeebenchmarks.StartupBenchmark [runs] [employee-api/target]
+ * </pre>
+ */
+public final class StartupBenchmark {
+    private static final Duration START_TIMEOUT = Duration.ofMinutes(2);
+    private static final String FAST_STARTUP = "-Dspring.profiles.active=fast-startup";
+    private static final String AOT = "-Dspring.aot.enabled=true";
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        Path target = Path.of(args.length > 1 ? args[1] : "employee-api/target").toAbsolutePath();
+        Path fastStartup = target.resolve("fast-startup");
+        String jar = execJar(target).getFileName().toString();
+        if (!Files.isRegularFile(fastStartup.resolve("application.jsa"))) {
+            throw new IllegalStateException("No " + fastStartup.resolve("application.jsa") + "; build employee-api with -Pfast-startup");
+        }
+
+        System.out.printf("%-16s %10s %10s %10s %12s%n", "mode", "median ms", "min ms", "max ms", "median RSS");
+        report("default", runs, target, List.of("-jar", jar));
+        report("aot", runs, fastStartup, List.of(AOT, FAST_STARTUP, "-jar", jar));
+        report("aot+cds", runs, fastStartup, List.of("-XX:SharedArchiveFile=application.jsa", AOT, FAST_STARTUP, "-jar", jar));
+    }
+
+    private static void report(String mode, int runs, Path directory, List<String> javaArgs) throws Exception {
+        long[] millis = new long[runs];
+        long[] rssKb = new long[runs];
+        for (int run = 0; run < runs; run++) {
+            long[] sample = start(directory, javaArgs);
+            millis[run] = sample[0];
+            rssKb[run] = sample[1];
+        }
+        Arrays.sort(millis);
+        Arrays.sort(rssKb);
+        System.out.printf("%-16s %10d %10d %10d %9d MB%n", mode, millis[runs / 2], millis[0], millis[runs - 1],
+                rssKb[runs / 2] / 1024);
+    }
+
+    /**
+     * @return milliseconds to the first successful request and resident set size in kB (0 where /proc is missing)
+     */
+    private static long[] start(Path directory, List<String> javaArgs) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(javaArgs);
+        command.add("--server.port=" + port);
+
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/employees?limit=1"))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+
+        long started = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .directory(directory.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            long deadline = started + START_TIMEOUT.toNanos();
+            while (true) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("employee-api exited with " + process.exitValue() + ": " + command);
+                }
+                if (System.nanoTime() > deadline) {
+                    throw new IllegalStateException("employee-api did not answer within " + START_TIMEOUT + ": " + command);
+                }
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        break;
+                    }
+                } catch (ConnectException e) {
+                    // not listening yet
+                }
+                Thread.sleep(5);
+            }
+            long millis = (System.nanoTime() - started) / 1_000_000;
+            return new long[]{millis, residentSetKb(process.pid())};
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private static long residentSetKb(long pid) throws IOException {
+        Path status = Path.of("/proc", Long.toString(pid), "status");
+        if (!Files.isReadable(status)) {
+            return 0;
+        }
+        for (String line : Files.readAllLines(status)) {
+            if (line.startsWith("VmRSS:")) {
+                return Long.parseLong(line.replaceAll("[^0-9]", ""));
+            }
+        }
+        return 0;
+    }
+
+    private static Path execJar(Path target) throws IOException {
+        try (Stream<Path> files = Files.list(target)) {
+            return files.filter(file -> file.getFileName().toString().endsWith("-exec.jar"))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("No executable jar in " + target + "; build employee-api first"));
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package org.example.employeebenchmarks;
+
+import org.example.employeeapi.EmployeeApiApplication;
+import org.example.employeeservice.model.EmployeeUpsertResult;
+import org.example.employeeservice.service.EmployeeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.Banner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GET /api/employees/{id} over HTTP with every JDBC statement delayed by {@code dbLatencyMillis}, served by
+ * Tomcat's platform thread pool (200 threads) or by virtual threads. 400 concurrent clients and a
+ * 400-connection pool make the request thread cap, not the database, the limit on platform threads.
+ * Run Throughput for requests per second and SampleTime for p99. The virtual thread variant needs a
+ * Java 21 JVM.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(400)
+@Fork(1)
+public class VirtualThreadBenchmark {
+    private static final int EMPLOYEES = 1000;
+    private static final int POOL_SIZE = 400;
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    @Param({"20"})
+    public int dbLatencyMillis;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private String baseUrl;
+    private long[] ids;
+
+    @Setup(Level.Trial)
+    public void startApi() {
+        if (virtualThreads && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("virtualThreads=true needs a Java 21 JVM");
+        }
+        context = new SpringApplicationBuilder(EmployeeApiApplication.class, LatencyInjection.class)
+                .bannerMode(Banner.Mode.OFF)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "employee.jdbc.bulkhead.enabled=" + virtualThreads,
+                        "employee.jdbc.bulkhead.max-concurrent=" + POOL_SIZE,
+                        "employee.benchmark.db-latency-millis=" + dbLatencyMillis,
+                        "spring.datasource.url=jdbc:h2:mem:virtual_thread_benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.open-in-view=false",
+                        "spring.cache.type=none",
+                        "logging.level.root=WARN")
+                .run();
+
+        EmployeeService employeeService = context.getBean(EmployeeService.class);
+        List<EmployeeUpsertResult> seeded = employeeService.upsertEmployees(BenchmarkData.employees(0, EMPLOYEES));
+        ids = seeded.stream().mapToLong(result -> result.getEmployee().getId()).toArray();
+
+        String port = context.getEnvironment().getProperty("local.server.port");
+        baseUrl = "http://localhost:" + port + "/api/employees/";
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApi() {
+        context.close();
+    }
+
+    @Benchmark
+    public int getEmployeeById() throws IOException, InterruptedException {
+        long id = ids[ThreadLocalRandom.current().nextInt(ids.length)];
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + id))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    /**
+     * Simulates a slow database by sleeping before every statement execution.
+     */
+    @Configuration
+    static class LatencyInjection {
+
+        @Bean
+        static BeanPostProcessor latencyInjectingDataSource(
+                @Value("${employee.benchmark.db-latency-millis}") long latencyMillis) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource && "dataSource".equals(beanName)) {
+                        return proxy(DataSource.class, dataSource, latencyMillis);
+                    }
+                    return bean;
+                }
+            };
+        }
+
+        private static <T> T proxy(Class<T> type, T target, long latencyMillis) {
+            Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (self, method, args) -> {
+                if (method.getName().startsWith("execute") && target instanceof Statement) {
+                    Thread.sleep(latencyMillis);
+                }
+                Object result = invoke(method, target, args);
+                if (result instanceof Connection connection && method.getName().equals("getConnection")) {
+                    return proxy(Connection.class, connection, latencyMillis);
+                }
+                if (result instanceof PreparedStatement statement && method.getName().equals("prepareStatement")) {
+                    return proxy(PreparedStatement.class, statement, latencyMillis);
+                }
+                return result;
+            });
+            return type.cast(proxy);
+        }
+
+        private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+}
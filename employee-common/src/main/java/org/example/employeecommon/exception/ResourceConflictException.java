@@ -0,0 +1,7 @@
+package org.example.employeecommon.exception;
+
+public class ResourceConflictException extends RuntimeException {
+    public ResourceConflictException(String message) {
+        super(message);
+    }
+}
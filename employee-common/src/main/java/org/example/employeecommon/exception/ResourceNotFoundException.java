@@ -4,4 +4,13 @@ public class ResourceNotFoundException extends RuntimeException {
     public ResourceNotFoundException(String message) {
         super(message);
     }
+
+    /**
+     * For misses that are an expected outcome rather than a fault, such as unknown ids from stale links and
+     * scrapers: nobody reads the stack trace of such a response, and without one the exception costs little
+     * more than its message. Other routine rejections are built the same way.
+     */
+    public ResourceNotFoundException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
 }
@@ -0,0 +1,56 @@
+package org.example.employeeloadtest;
+
+import java.time.LocalDate;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The employees a run works on: the seeded rows, which reads and updates pick from, and the rows created during
+ * the run, which are the only ones ever deleted (so the seeded set stays intact for the next scenario).
+ */
+final class Dataset {
+    static final String[] POSITIONS = {"Engineer", "Senior Engineer", "Manager", "Designer", "Analyst"};
+    private static final LocalDate FIRST_HIRE_DATE = LocalDate.of(2015, 1, 1);
+
+    private final long[] seededIds;
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong nextEmployee = new AtomicLong();
+    private final ConcurrentLinkedQueue<Long> created = new ConcurrentLinkedQueue<>();
+
+    Dataset(long[] seededIds) {
+        this.seededIds = seededIds;
+    }
+
+    long randomSeededId() {
+        return seededIds[ThreadLocalRandom.current().nextInt(seededIds.length)];
+    }
+
+    int size() {
+        return seededIds.length;
+    }
+
+    /**
+     * JSON for a new employee with a unique email; {@code n} below {@link #size()} reproduces a seeded one.
+     */
+    static String employeeJson(String emailPrefix, long n) {
+        return "{\"firstName\":\"First" + n + "\",\"lastName\":\"Last" + n + "\",\"email\":\"" + emailPrefix + n
+                + "@example.com\",\"position\":\"" + POSITIONS[(int) (n % POSITIONS.length)] + "\",\"hireDate\":\""
+                + FIRST_HIRE_DATE.plusDays(n % 3000) + "\"}";
+    }
+
+    String newEmployeeJson() {
+        return employeeJson("loadtest-" + runId + "-", nextEmployee.getAndIncrement());
+    }
+
+    void created(long id) {
+        created.add(id);
+    }
+
+    /**
+     * An employee created during the run, or null if there is none left to delete.
+     */
+    Long takeCreatedId() {
+        return created.poll();
+    }
+}
@@ -0,0 +1,103 @@
+package org.example.employeeloadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes each scenario as {@code <scenario>.json} (throughput, status counts and latency percentiles in
+ * milliseconds) plus {@code <scenario>.hgrm}, the full response-time percentile distribution in HdrHistogram's
+ * text format, which the usual plotting tools read. {@code summary.json} lists every scenario of the run.
+ */
+final class LoadTestReport {
+    private static final double MICROS_PER_MILLI = 1000.0;
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9, 99.99};
+
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private final Path directory;
+
+    LoadTestReport(Path directory) {
+        this.directory = directory;
+    }
+
+    void write(List<ScenarioResult> results, Duration warmup, Duration duration, int employees) throws IOException {
+        Files.createDirectories(directory);
+        List<Map<String, Object>> scenarios = results.stream().map(this::scenario).toList();
+        for (int i = 0; i < results.size(); i++) {
+            String name = results.get(i).getScenario().getLabel();
+            objectMapper.writeValue(directory.resolve(name + ".json").toFile(), scenarios.get(i));
+            try (PrintStream out = new PrintStream(directory.resolve(name + ".hgrm").toFile())) {
+                results.get(i).getResponseTime().outputPercentileDistribution(out, MICROS_PER_MILLI);
+            }
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("warmupSeconds", warmup.toSeconds());
+        summary.put("durationSeconds", duration.toSeconds());
+        summary.put("employees", employees);
+        summary.put("scenarios", scenarios);
+        objectMapper.writeValue(directory.resolve("summary.json").toFile(), summary);
+    }
+
+    static String line(ScenarioResult result) {
+        Histogram responseTime = result.getResponseTime();
+        return String.format("%-12s %8d req %9.1f req/s   p50 %8.2f ms   p99 %8.2f ms   p99.9 %8.2f ms   max %8.2f ms   %s",
+                result.getScenario().getLabel(), responseTime.getTotalCount(), throughput(result),
+                millis(responseTime.getValueAtPercentile(50)), millis(responseTime.getValueAtPercentile(99)),
+                millis(responseTime.getValueAtPercentile(99.9)), millis(responseTime.getMaxValue()),
+                result.getStatusCounts());
+    }
+
+    private Map<String, Object> scenario(ScenarioResult result) {
+        Map<String, Object> scenario = new LinkedHashMap<>();
+        scenario.put("scenario", result.getScenario().getLabel());
+        scenario.put("targetRate", result.getTargetRate());
+        scenario.put("throughput", throughput(result));
+        scenario.put("completed", result.getResponseTime().getTotalCount());
+        scenario.put("failures", result.getFailures());
+        scenario.put("skipped", result.getSkipped());
+        scenario.put("statusCounts", result.getStatusCounts());
+        scenario.put("meanScheduleLagMillis", result.getMeanScheduleLagMicros() / MICROS_PER_MILLI);
+        scenario.put("responseTimeMillis", percentiles(result.getResponseTime()));
+        scenario.put("serviceTimeMillis", percentiles(result.getServiceTime()));
+        Map<String, Object> operations = new LinkedHashMap<>();
+        result.getOperationResponseTimes().forEach((operation, histogram) -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("weight", result.getScenario().getWeights().get(operation));
+            entry.put("completed", histogram.getTotalCount());
+            entry.put("responseTimeMillis", percentiles(histogram));
+            operations.put(operation.getLabel(), entry);
+        });
+        scenario.put("operations", operations);
+        return scenario;
+    }
+
+    private static Map<String, Object> percentiles(Histogram histogram) {
+        Map<String, Object> percentiles = new LinkedHashMap<>();
+        percentiles.put("mean", histogram.getTotalCount() == 0 ? 0 : histogram.getMean() / MICROS_PER_MILLI);
+        for (double percentile : PERCENTILES) {
+            percentiles.put("p" + (percentile % 1 == 0 ? Integer.toString((int) percentile) : Double.toString(percentile)),
+                    millis(histogram.getValueAtPercentile(percentile)));
+        }
+        percentiles.put("max", millis(histogram.getMaxValue()));
+        return percentiles;
+    }
+
+    private static double throughput(ScenarioResult result) {
+        return result.getResponseTime().getTotalCount() / (result.getElapsedNanos() / (double) TimeUnit.SECONDS.toNanos(1));
+    }
+
+    private static double millis(long micros) {
+        return micros / MICROS_PER_MILLI;
+    }
+}
@@ -0,0 +1,100 @@
+package org.example.employeeloadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.employeeapi.EmployeeApiApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * End-to-end load test of the employee API: starts {@link EmployeeApiApplication} on a random port with its
+ * in-memory database, seeds it over HTTP, then drives each scenario open loop at a constant arrival rate,
+ * first for a warm-up whose results are discarded and then for the measured run. Client and server share
+ * the JVM, so compare results only between runs on the same machine and settings.
+ * <p>
+ * Run from the repository root; settings are the {@code loadtest.*} properties of this module's pom:
+ * <pre>
+ * mvn -B -Ploadtest -pl employee-loadtest -am verify -DskipTests -Dloadtest.rate=500 -Dloadtest.scenarios=read-heavy
+ * </pre>
+ * Reports land in {@code employee-loadtest/target/loadtest}.
+ */
+public final class LoadTestRunner {
+    private static final int SEED_BATCH = 1_000;
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<Scenario> scenarios = Arrays.stream(System.getProperty("loadtest.scenarios", "read-heavy,write-heavy,list-heavy")
+                .split(",")).map(Scenario::fromLabel).toList();
+        int rate = Integer.getInteger("loadtest.rate", 200);
+        Duration warmup = DurationStyle.detectAndParse(System.getProperty("loadtest.warmup", "20s"));
+        Duration duration = DurationStyle.detectAndParse(System.getProperty("loadtest.duration", "30s"));
+        int employees = Integer.getInteger("loadtest.employees", 10_000);
+        Path output = Path.of(System.getProperty("loadtest.output", "target/loadtest"));
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(EmployeeApiApplication.class)
+                .run("--server.port=0", "--spring.h2.console.enabled=false", "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN");
+        try {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            URI api = URI.create("http://localhost:" + port + "/api/");
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+
+            Dataset dataset = seed(client, api, employees);
+            OpenLoopDriver driver = new OpenLoopDriver(client, api, dataset);
+            List<ScenarioResult> results = new ArrayList<>();
+            for (Scenario scenario : scenarios) {
+                driver.run(scenario, rate, warmup);
+                ScenarioResult result = driver.run(scenario, rate, duration);
+                System.out.println(LoadTestReport.line(result));
+                results.add(result);
+            }
+            new LoadTestReport(output).write(results, warmup, duration, employees);
+            System.out.println("Reports written to " + output.toAbsolutePath());
+        } finally {
+            context.close();
+        }
+    }
+
+    private static Dataset seed(HttpClient client, URI api, int employees) throws IOException, InterruptedException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        long[] ids = new long[employees];
+        int seeded = 0;
+        while (seeded < employees) {
+            int count = Math.min(SEED_BATCH, employees - seeded);
+            StringBuilder body = new StringBuilder("[");
+            for (int n = seeded; n < seeded + count; n++) {
+                body.append(n == seeded ? "" : ",").append(Dataset.employeeJson("seed-", n));
+            }
+            HttpRequest request = HttpRequest.newBuilder(api.resolve("employees/batch"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body.append(']').toString()))
+                    .build();
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Seeding failed with " + response.statusCode() + ": " + response.body());
+            }
+            for (JsonNode result : objectMapper.readTree(response.body())) {
+                ids[seeded++] = result.get("id").asLong();
+            }
+        }
+        return new Dataset(ids);
+    }
+}
@@ -0,0 +1,77 @@
+package org.example.employeeloadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends requests at a constant arrival rate regardless of how fast responses come back (open loop): request
+ * {@code i} is due at {@code start + i / rate}, and a slow response never delays the next request. If the
+ * sender itself falls behind, requests go out late but are still timed from when they were due.
+ */
+final class OpenLoopDriver {
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(60);
+
+    private final HttpClient client;
+    private final URI api;
+    private final Dataset dataset;
+
+    OpenLoopDriver(HttpClient client, URI api, Dataset dataset) {
+        this.client = client;
+        this.api = api;
+        this.dataset = dataset;
+    }
+
+    ScenarioResult run(Scenario scenario, int rate, Duration duration) throws InterruptedException, TimeoutException {
+        ScenarioResult result = new ScenarioResult(scenario, rate);
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long requests = duration.toNanos() / intervalNanos;
+        AtomicLong inFlight = new AtomicLong();
+
+        long start = System.nanoTime();
+        for (long i = 0; i < requests; i++) {
+            long due = start + i * intervalNanos;
+            long wait;
+            while ((wait = due - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            Operation operation = scenario.next();
+            HttpRequest request = operation.request(api, dataset);
+            if (request == null) {
+                result.recordSkipped();
+                continue;
+            }
+            inFlight.incrementAndGet();
+            long sent = System.nanoTime();
+            client.sendAsync(request, HttpResponse.BodyHandlers.ofString()).whenComplete((response, failure) -> {
+                try {
+                    if (failure != null) {
+                        result.recordFailure();
+                    } else {
+                        result.recordResponse(operation, due, sent, System.nanoTime(), response.statusCode());
+                        operation.completed(dataset, response);
+                    }
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            });
+        }
+
+        long drainDeadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+        while (inFlight.get() > 0) {
+            if (System.nanoTime() > drainDeadline) {
+                throw new TimeoutException(inFlight.get() + " requests still outstanding after " + DRAIN_TIMEOUT);
+            }
+            Thread.sleep(10);
+        }
+        result.setElapsedNanos(System.nanoTime() - start);
+        return result;
+    }
+}
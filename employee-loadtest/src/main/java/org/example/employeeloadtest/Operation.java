@@ -0,0 +1,112 @@
+package org.example.employeeloadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.employeeapi.util.CursorCodec;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * One kind of request a scenario sends. {@link #request} returns null when the operation has nothing to act on
+ * (no created employee left to delete); the driver counts that as skipped.
+ */
+enum Operation {
+    GET_BY_ID("get-by-id") {
+        @Override
+        HttpRequest request(URI api, Dataset dataset) {
+            return get(api.resolve("employees/" + dataset.randomSeededId()));
+        }
+    },
+    LIST_PAGE("list-page") {
+        @Override
+        HttpRequest request(URI api, Dataset dataset) {
+            return get(api.resolve("employees?limit=50&after=" + CursorCodec.encode(dataset.randomSeededId())));
+        }
+    },
+    LIST_FIELDS("list-fields") {
+        @Override
+        HttpRequest request(URI api, Dataset dataset) {
+            return get(api.resolve("employees?limit=100&fields=id,email,position&after="
+                    + CursorCodec.encode(dataset.randomSeededId())));
+        }
+    },
+    SEARCH("search") {
+        @Override
+        HttpRequest request(URI api, Dataset dataset) {
+            // "first1234"-style prefixes of the seeded first names, from broad to exact
+            String prefix = Long.toString(ThreadLocalRandom.current().nextLong(1, dataset.size() + 1));
+            return get(api.resolve("employees/search?limit=20&q=first" + prefix));
+        }
+    },
+    CREATE("create") {
+        @Override
+        HttpRequest request(URI api, Dataset dataset) {
+            return json(api.resolve("employees/create"), "POST", dataset.newEmployeeJson());
+        }
+
+        @Override
+        void completed(Dataset dataset, HttpResponse<String> response) {
+            if (response.statusCode() == 201) {
+                dataset.created(readId(response.body()));
+            }
+        }
+    },
+    PATCH("patch") {
+        @Override
+        HttpRequest request(URI api, Dataset dataset) {
+            String position = Dataset.POSITIONS[ThreadLocalRandom.current().nextInt(Dataset.POSITIONS.length)];
+            return json(api.resolve("employees/" + dataset.randomSeededId()), "PATCH",
+                    "{\"position\":\"" + position + "\"}");
+        }
+    },
+    DELETE("delete") {
+        @Override
+        HttpRequest request(URI api, Dataset dataset) {
+            Long id = dataset.takeCreatedId();
+            return id == null ? null : HttpRequest.newBuilder(api.resolve("employees/" + id)).DELETE().build();
+        }
+    };
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final String label;
+
+    Operation(String label) {
+        this.label = label;
+    }
+
+    String getLabel() {
+        return label;
+    }
+
+    abstract HttpRequest request(URI api, Dataset dataset);
+
+    void completed(Dataset dataset, HttpResponse<String> response) {
+    }
+
+    private static HttpRequest get(URI uri) {
+        return HttpRequest.newBuilder(uri).header("Accept", "application/json").GET().build();
+    }
+
+    private static HttpRequest json(URI uri, String method, String body) {
+        return HttpRequest.newBuilder(uri)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static long readId(String body) {
+        try {
+            JsonNode employee = objectMapper.readTree(body);
+            return employee.get("id").asLong();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
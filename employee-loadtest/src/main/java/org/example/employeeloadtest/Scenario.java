@@ -0,0 +1,63 @@
+package org.example.employeeloadtest;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A weighted mix of operations. Each arrival draws its operation independently, so the mix holds on average
+ * rather than in a fixed order.
+ */
+enum Scenario {
+    READ_HEAVY("read-heavy", mix(Operation.GET_BY_ID, 80, Operation.SEARCH, 10, Operation.LIST_PAGE, 5, Operation.PATCH, 5)),
+    WRITE_HEAVY("write-heavy", mix(Operation.CREATE, 35, Operation.PATCH, 25, Operation.DELETE, 10, Operation.GET_BY_ID, 30)),
+    LIST_HEAVY("list-heavy", mix(Operation.LIST_PAGE, 50, Operation.LIST_FIELDS, 30, Operation.SEARCH, 20));
+
+    private final String label;
+    private final Map<Operation, Integer> weights;
+    // one entry per unit of weight, so drawing is a single array lookup
+    private final Operation[] draws;
+
+    Scenario(String label, Map<Operation, Integer> weights) {
+        this.label = label;
+        this.weights = weights;
+        List<Operation> draws = new ArrayList<>();
+        weights.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                draws.add(operation);
+            }
+        });
+        this.draws = draws.toArray(new Operation[0]);
+    }
+
+    String getLabel() {
+        return label;
+    }
+
+    Map<Operation, Integer> getWeights() {
+        return weights;
+    }
+
+    Operation next() {
+        return draws[ThreadLocalRandom.current().nextInt(draws.length)];
+    }
+
+    static Scenario fromLabel(String label) {
+        for (Scenario scenario : values()) {
+            if (scenario.label.equals(label.trim())) {
+                return scenario;
+            }
+        }
+        throw new IllegalArgumentException("Unknown scenario '" + label + "', expected one of read-heavy, write-heavy, list-heavy");
+    }
+
+    private static Map<Operation, Integer> mix(Object... operationsAndWeights) {
+        Map<Operation, Integer> mix = new LinkedHashMap<>();
+        for (int i = 0; i < operationsAndWeights.length; i += 2) {
+            mix.put((Operation) operationsAndWeights[i], (Integer) operationsAndWeights[i + 1]);
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,109 @@
+package org.example.employeeloadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * What one measured run of a scenario observed. Latencies are recorded in microseconds.
+ * <p>
+ * Response time runs from when a request was <em>due</em> by the arrival schedule to when its response was
+ * complete, so time a request spent waiting behind a stalled client or server counts against it (coordinated
+ * omission corrected). Service time runs from when it was actually sent.
+ */
+final class ScenarioResult {
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Scenario scenario;
+    private final int targetRate;
+    private final Histogram responseTime = histogram();
+    private final Histogram serviceTime = histogram();
+    private final Map<Operation, Histogram> operationResponseTimes = new EnumMap<>(Operation.class);
+    private final Map<Integer, LongAdder> statusCounts = new ConcurrentHashMap<>();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final LongAdder scheduleLagMicros = new LongAdder();
+    private long elapsedNanos;
+
+    ScenarioResult(Scenario scenario, int targetRate) {
+        this.scenario = scenario;
+        this.targetRate = targetRate;
+        for (Operation operation : scenario.getWeights().keySet()) {
+            operationResponseTimes.put(operation, histogram());
+        }
+    }
+
+    void recordResponse(Operation operation, long dueNanos, long sentNanos, long completedNanos, int status) {
+        long response = TimeUnit.NANOSECONDS.toMicros(completedNanos - dueNanos);
+        responseTime.recordValue(response);
+        operationResponseTimes.get(operation).recordValue(response);
+        serviceTime.recordValue(TimeUnit.NANOSECONDS.toMicros(completedNanos - sentNanos));
+        scheduleLagMicros.add(TimeUnit.NANOSECONDS.toMicros(sentNanos - dueNanos));
+        statusCounts.computeIfAbsent(status, key -> new LongAdder()).increment();
+    }
+
+    void recordFailure() {
+        failures.increment();
+    }
+
+    void recordSkipped() {
+        skipped.increment();
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    Scenario getScenario() {
+        return scenario;
+    }
+
+    int getTargetRate() {
+        return targetRate;
+    }
+
+    Histogram getResponseTime() {
+        return responseTime;
+    }
+
+    Histogram getServiceTime() {
+        return serviceTime;
+    }
+
+    Map<Operation, Histogram> getOperationResponseTimes() {
+        return operationResponseTimes;
+    }
+
+    Map<Integer, Long> getStatusCounts() {
+        Map<Integer, Long> counts = new TreeMap<>();
+        statusCounts.forEach((status, count) -> counts.put(status, count.sum()));
+        return counts;
+    }
+
+    long getFailures() {
+        return failures.sum();
+    }
+
+    long getSkipped() {
+        return skipped.sum();
+    }
+
+    double getMeanScheduleLagMicros() {
+        long completed = responseTime.getTotalCount();
+        return completed == 0 ? 0 : (double) scheduleLagMicros.sum() / completed;
+    }
+
+    long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    private static Histogram histogram() {
+        return new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+    }
+}
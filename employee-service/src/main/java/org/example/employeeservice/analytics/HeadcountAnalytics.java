@@ -0,0 +1,141 @@
+package org.example.employeeservice.analytics;
+
+import org.example.employeeservice.datasource.ReadWriteRoutingDataSource;
+import org.example.employeeservice.entity.Employee;
+import org.example.employeeservice.event.EmployeeDeletedEvent;
+import org.example.employeeservice.event.EmployeeSavedEvent;
+import org.example.employeeservice.event.EmployeesInsertedEvent;
+import org.example.employeeservice.lookup.DeletedEmployeeIds;
+import org.example.employeeservice.model.HeadcountSummary;
+import org.example.employeeservice.service.EmployeeService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Headcount by position and hires by month, kept in memory so dashboards do not scan the table.
+ * <p>
+ * Counts are loaded once at startup and then adjusted in O(1) per employee from {@link EmployeeSavedEvent},
+ * {@link EmployeesInsertedEvent} and {@link EmployeeDeletedEvent} after each commit. The last seen position, hire month and version of every
+ * employee are kept, so a change moves one count from the old bucket to the new one and an event that
+ * arrives after a newer one for the same employee is ignored, as is a save for one of the
+ * {@link DeletedEmployeeIds}. {@link #recompute()} rebuilds the figures from the database for checking that
+ * the two agree.
+ */
+@Component
+public class HeadcountAnalytics implements SmartInitializingSingleton {
+    private final ObjectProvider<EmployeeService> employeeService;
+    private final Map<Long, Counted> employees = new HashMap<>();
+    private final DeletedEmployeeIds deletedIds;
+    private final Map<String, Long> byPosition = new HashMap<>();
+    private final Map<YearMonth, Long> hiresByMonth = new HashMap<>();
+    // rebuilt on the first read after a change, so repeated dashboard reads cost a volatile read
+    private volatile HeadcountSummary summary;
+
+    public HeadcountAnalytics(ObjectProvider<EmployeeService> employeeService, DeletedEmployeeIds deletedIds) {
+        this.employeeService = employeeService;
+        this.deletedIds = deletedIds;
+    }
+
+    @Override
+    public synchronized void afterSingletonsInstantiated() {
+        ReadWriteRoutingDataSource.onPrimary(() -> employeeService.getObject().exportEmployees(this::apply));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeSaved(EmployeeSavedEvent event) {
+        apply(event.getEmployee());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onEmployeesInserted(EmployeesInsertedEvent event) {
+        event.getEmployees().forEach(this::apply);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onEmployeeDeleted(EmployeeDeletedEvent event) {
+        deletedIds.add(event.getId());
+        Counted previous = employees.remove(event.getId());
+        if (previous != null) {
+            uncount(previous);
+            summary = null;
+        }
+    }
+
+    public HeadcountSummary summary() {
+        HeadcountSummary current = summary;
+        if (current == null) {
+            synchronized (this) {
+                current = summary;
+                if (current == null) {
+                    current = new HeadcountSummary(employees.size(), new TreeMap<>(byPosition), new TreeMap<>(hiresByMonth));
+                    summary = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Computes the same figures from a full scan of the table, ignoring the maintained counts.
+     */
+    public HeadcountSummary recompute() {
+        long[] total = {0};
+        TreeMap<String, Long> positions = new TreeMap<>();
+        TreeMap<YearMonth, Long> months = new TreeMap<>();
+        ReadWriteRoutingDataSource.onPrimary(() -> employeeService.getObject().exportEmployees(employee -> {
+            total[0]++;
+            positions.merge(employee.getPosition(), 1L, Long::sum);
+            if (employee.getHireDate() != null) {
+                months.merge(YearMonth.from(employee.getHireDate()), 1L, Long::sum);
+            }
+        }));
+        return new HeadcountSummary(total[0], positions, months);
+    }
+
+    private synchronized void apply(Employee employee) {
+        if (deletedIds.contains(employee.getId())) {
+            return;
+        }
+        Counted previous = employees.get(employee.getId());
+        if (previous != null) {
+            if (employee.getVersion() != null && previous.version != null && employee.getVersion() < previous.version) {
+                return;
+            }
+            uncount(previous);
+        }
+        Counted counted = new Counted(employee.getPosition(),
+                employee.getHireDate() == null ? null : YearMonth.from(employee.getHireDate()), employee.getVersion());
+        employees.put(employee.getId(), counted);
+        byPosition.merge(counted.position, 1L, Long::sum);
+        if (counted.hireMonth != null) {
+            hiresByMonth.merge(counted.hireMonth, 1L, Long::sum);
+        }
+        summary = null;
+    }
+
+    private void uncount(Counted counted) {
+        byPosition.computeIfPresent(counted.position, (position, count) -> count == 1 ? null : count - 1);
+        if (counted.hireMonth != null) {
+            hiresByMonth.computeIfPresent(counted.hireMonth, (month, count) -> count == 1 ? null : count - 1);
+        }
+    }
+
+    private static final class Counted {
+        private final String position;
+        private final YearMonth hireMonth;
+        private final Long version;
+
+        Counted(String position, YearMonth hireMonth, Long version) {
+            this.position = position;
+            this.hireMonth = hireMonth;
+            this.version = version;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package org.example.employeeservice.concurrent;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Request coalescing: while a load for a key is running, concurrent callers for the same key wait for
+ * that load instead of starting their own, and all of them get its result (or its exception). A flight
+ * is forgotten as soon as it completes, so callers never receive a result older than the load they
+ * joined; {@link #forget} also detaches a running flight so that later callers start a fresh one.
+ */
+public class SingleFlight<K, V> implements MeterBinder {
+    private final String name;
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder leaders = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    public SingleFlight(String name) {
+        this.name = name;
+    }
+
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+
+        leaders.increment();
+        try {
+            V value = loader.get();
+            inFlight.remove(key, flight);
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(key, flight);
+            flight.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    public void forget(K key) {
+        inFlight.remove(key);
+    }
+
+    public void forgetAll() {
+        inFlight.clear();
+    }
+
+    public long getLeaderCount() {
+        return leaders.sum();
+    }
+
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("employee.read.coalescing", leaders, LongAdder::doubleValue)
+                .description("Reads that ran their own query (leader) or shared one already in flight (coalesced)")
+                .tag("query", name)
+                .tag("role", "leader")
+                .register(registry);
+        FunctionCounter.builder("employee.read.coalescing", coalesced, LongAdder::doubleValue)
+                .description("Reads that ran their own query (leader) or shared one already in flight (coalesced)")
+                .tag("query", name)
+                .tag("role", "coalesced")
+                .register(registry);
+    }
+
+    private static <V> V await(CompletableFuture<V> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package org.example.employeeservice.config;
+
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.autoconfigure.cache.CacheType;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+/**
+ * Enables the employee read-through cache. Size and TTL come from {@code spring.cache.caffeine.spec};
+ * {@code recordStats} there is what feeds the hit/miss/eviction metrics, and {@code spring.cache.type=none} turns the
+ * cache off.
+ * <p>
+ * The writes that evict entries are transactional, and nothing orders the caching advice outside the
+ * transaction's, so the cache manager defers evictions made in a transaction until it commits, and drops them
+ * if it rolls back. Readers never see an uncommitted version. Writes evict rather than put: the after-commit
+ * puts of two concurrent updates can land in either order and leave the older version cached, whereas the
+ * next read after an eviction loads the committed row.
+ */
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+    public static final String EMPLOYEES_CACHE = "employees";
+
+    @Bean
+    public CacheManager cacheManager(CacheProperties cacheProperties) {
+        if (cacheProperties.getType() == CacheType.NONE) {
+            return new NoOpCacheManager();
+        }
+        CaffeineCacheManager caffeine = new CaffeineCacheManager();
+        String spec = cacheProperties.getCaffeine().getSpec();
+        if (StringUtils.hasText(spec)) {
+            caffeine.setCacheSpecification(spec);
+        }
+        if (!cacheProperties.getCacheNames().isEmpty()) {
+            caffeine.setCacheNames(cacheProperties.getCacheNames());
+        }
+        return new TransactionAwareCacheManagerProxy(caffeine);
+    }
+}
@@ -0,0 +1,42 @@
+package org.example.employeeservice.config;
+
+import org.example.employeeservice.datasource.BulkheadDataSource;
+import org.example.employeeservice.datasource.JdbcBulkhead;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Wraps the application {@code dataSource} in a {@link BulkheadDataSource} when
+ * {@code employee.jdbc.bulkhead.enabled} is set (it defaults to on together with virtual threads).
+ */
+@Configuration
+@ConditionalOnProperty(name = "employee.jdbc.bulkhead.enabled", havingValue = "true")
+public class JdbcBulkheadConfig {
+
+    @Bean
+    public JdbcBulkhead jdbcBulkhead(@Value("${employee.jdbc.bulkhead.max-concurrent:10}") int maxConcurrent,
+                                     @Value("${employee.jdbc.bulkhead.max-waiting:200}") int maxWaiting,
+                                     @Value("${employee.jdbc.bulkhead.max-wait:2s}") Duration maxWait) {
+        return new JdbcBulkhead(maxConcurrent, maxWaiting, maxWait);
+    }
+
+    @Bean
+    public static BeanPostProcessor jdbcBulkheadDataSourceWrapper(ObjectProvider<JdbcBulkhead> jdbcBulkhead) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && "dataSource".equals(beanName)) {
+                    return new BulkheadDataSource(dataSource, jdbcBulkhead.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
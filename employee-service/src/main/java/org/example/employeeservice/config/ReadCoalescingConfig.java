@@ -0,0 +1,22 @@
+package org.example.employeeservice.config;
+
+import org.example.employeeservice.concurrent.SingleFlight;
+import org.example.employeeservice.entity.Employee;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Single-flight groups used by {@code EmployeeServiceImpl} to share identical in-flight reads.
+ * Being beans, their leader/coalesced counters are bound to the meter registry automatically.
+ * Lookups by id need none: the employee cache's synchronized get already runs one load per id.
+ */
+@Configuration
+public class ReadCoalescingConfig {
+
+    @Bean
+    public SingleFlight<String, List<Employee>> allEmployeesFlight() {
+        return new SingleFlight<>("getAllEmployees");
+    }
+}
@@ -0,0 +1,66 @@
+package org.example.employeeservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.example.employeeservice.datasource.ReadWriteRoutingDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Splits the application {@code dataSource} into a primary and a replica pool when
+ * {@code employee.datasource.replica.url} is set: writes go to {@code spring.datasource.*}, read-only
+ * transactions to the replica (see {@link ReadWriteRoutingDataSource}). Both are Hikari pools named after
+ * their role, so {@code hikaricp.*} metrics come out per pool.
+ */
+@Configuration
+@ConditionalOnProperty(name = "employee.datasource.replica.url")
+public class ReadWriteRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(ReadWriteRoutingDataSource.PRIMARY);
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("employee.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                              @Value("${employee.datasource.replica.url}") String url,
+                                              @Value("${employee.datasource.replica.username:}") String username,
+                                              @Value("${employee.datasource.replica.password:}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(url)
+                .username(username.isEmpty() ? properties.determineUsername() : username)
+                .password(username.isEmpty() ? properties.determinePassword() : password)
+                .build();
+        dataSource.setPoolName(ReadWriteRoutingDataSource.REPLICA);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReadWriteRoutingDataSource readWriteRoutingDataSource(
+            HikariDataSource primaryDataSource, HikariDataSource replicaDataSource,
+            @Value("${employee.datasource.replica.read-your-writes-window:2s}") Duration readYourWritesWindow) {
+        return new ReadWriteRoutingDataSource(primaryDataSource, replicaDataSource, readYourWritesWindow);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource readWriteRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(readWriteRoutingDataSource);
+    }
+}
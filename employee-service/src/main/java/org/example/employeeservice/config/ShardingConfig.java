@@ -0,0 +1,132 @@
+package org.example.employeeservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.example.employeeservice.datasource.ShardRoutingDataSource;
+import org.example.employeeservice.repository.EmployeeRepository;
+import org.example.employeeservice.search.EmployeeSearchIndex;
+import org.example.employeeservice.service.impl.EmployeeServiceImpl;
+import org.example.employeeservice.sharding.EmployeeEmailDirectory;
+import org.example.employeeservice.sharding.ShardedEmployeeService;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Spreads employees over several databases when {@code employee.datasource.shards.urls} lists the shards besides
+ * {@code spring.datasource.*}, which is shard 0. Every shard holds a part of the {@link EmployeeEmailDirectory} and
+ * gets the schema from {@code db/schema.sql} and its own interleaved employee id sequence before Hibernate
+ * starts, so sharding must start from empty databases and the shards must keep their order. Cannot be combined
+ * with a read replica.
+ */
+@Configuration
+@ConditionalOnProperty(name = "employee.datasource.shards.urls")
+public class ShardingConfig {
+
+    @Bean
+    public ShardRoutingDataSource shardRoutingDataSource(DataSourceProperties properties, Environment environment,
+                                                         @Value("${employee.datasource.shards.urls}") String[] urls,
+                                                         @Value("${employee.datasource.shards.username:}") String username,
+                                                         @Value("${employee.datasource.shards.password:}") String password) {
+        Binder binder = Binder.get(environment);
+        List<HikariDataSource> shards = new ArrayList<>();
+        HikariDataSource home = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(home));
+        shards.add(home);
+        for (String url : urls) {
+            HikariDataSource shard = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(properties.determineDriverClassName())
+                    .url(url.trim())
+                    .username(username.isEmpty() ? properties.determineUsername() : username)
+                    .password(username.isEmpty() ? properties.determinePassword() : password)
+                    .build();
+            binder.bind("employee.datasource.shards.hikari", Bindable.ofInstance(shard));
+            shards.add(shard);
+        }
+        for (int index = 0; index < shards.size(); index++) {
+            shards.get(index).setPoolName("shard-" + index);
+            initializeShard(shards.get(index), index, shards.size());
+        }
+        return new ShardRoutingDataSource(shards);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+    }
+
+    /**
+     * The interleaved sequences skip the other shards' blocks, so a value read from one is the low end of the
+     * block it issues (pooled-lo), and its increment is larger than the allocation size on purpose. Hibernate
+     * may update the schema but not recreate it, which would reset shard 0's sequence to its own definition.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer shardedSequenceSettings() {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.PREFERRED_POOLED_OPTIMIZER, "pooled-lo");
+            hibernateProperties.put(AvailableSettings.SEQUENCE_INCREMENT_SIZE_MISMATCH_STRATEGY, "none");
+            Object ddlAuto = hibernateProperties.get(AvailableSettings.HBM2DDL_AUTO);
+            if ("create".equals(ddlAuto) || "create-drop".equals(ddlAuto)) {
+                hibernateProperties.put(AvailableSettings.HBM2DDL_AUTO, "update");
+            }
+        };
+    }
+
+    @Bean
+    public EmployeeEmailDirectory employeeEmailDirectory(ShardRoutingDataSource shardRoutingDataSource) {
+        return new EmployeeEmailDirectory(shardRoutingDataSource);
+    }
+
+    @Bean
+    @Primary
+    public ShardedEmployeeService shardedEmployeeService(EmployeeServiceImpl employeeServiceImpl,
+                                                         EmployeeRepository employeeRepository,
+                                                         EmployeeSearchIndex employeeSearchIndex,
+                                                         ShardRoutingDataSource shardRoutingDataSource,
+                                                         EmployeeEmailDirectory employeeEmailDirectory,
+                                                         PlatformTransactionManager transactionManager) {
+        return new ShardedEmployeeService(employeeServiceImpl, employeeRepository, employeeSearchIndex,
+                shardRoutingDataSource, employeeEmailDirectory, transactionManager);
+    }
+
+    /**
+     * Shard {@code index} of {@code count} issues employee id blocks {@code index}, {@code index + count}, ...
+     */
+    private static void initializeShard(DataSource shard, int index, int count) {
+        long start = 1 + (long) index * ShardRoutingDataSource.ID_BLOCK_SIZE;
+        long increment = (long) count * ShardRoutingDataSource.ID_BLOCK_SIZE;
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(shard);
+        jdbcTemplate.execute("create sequence if not exists employees_seq start with " + start + " increment by " + increment);
+        new ResourceDatabasePopulator(new ClassPathResource("db/schema.sql")).execute(shard);
+
+        Map<String, Object> sequence = jdbcTemplate.queryForMap(
+                "select start_value, increment from information_schema.sequences where sequence_name = 'EMPLOYEES_SEQ'");
+        long actualStart = ((Number) sequence.get("START_VALUE")).longValue();
+        long actualIncrement = ((Number) sequence.get("INCREMENT")).longValue();
+        if (actualStart != start || actualIncrement != increment) {
+            throw new IllegalStateException("employees_seq on shard " + index + " starts at " + actualStart
+                    + " and increments by " + actualIncrement + ", but shard " + index + " of " + count
+                    + " must start at " + start + " and increment by " + increment);
+        }
+    }
+}
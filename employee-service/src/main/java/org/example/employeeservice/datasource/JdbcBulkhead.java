@@ -0,0 +1,77 @@
+package org.example.employeeservice.datasource;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Semaphore bulkhead in front of the connection pool. With virtual threads there is no request thread
+ * cap, so without it every blocked request would queue inside the pool; here at most
+ * {@code maxConcurrent} callers hold a connection, at most {@code maxWaiting} more wait (FIFO) for up to
+ * {@code maxWait}, and everyone else is rejected immediately.
+ */
+public class JdbcBulkhead implements MeterBinder {
+    private final Semaphore permits;
+    private final int maxConcurrent;
+    private final int maxWaiting;
+    private final long maxWaitNanos;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+
+    public JdbcBulkhead(int maxConcurrent, int maxWaiting, Duration maxWait) {
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.maxConcurrent = maxConcurrent;
+        this.maxWaiting = maxWaiting;
+        this.maxWaitNanos = maxWait.toNanos();
+    }
+
+    public void acquire() throws SQLTransientConnectionException {
+        if (permits.tryAcquire()) {
+            return;
+        }
+        if (waiting.incrementAndGet() > maxWaiting) {
+            waiting.decrementAndGet();
+            throw reject("JDBC bulkhead queue is full (" + maxWaiting + " waiting)");
+        }
+        try {
+            if (!permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS)) {
+                throw reject("Timed out waiting for a JDBC bulkhead permit");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw reject("Interrupted waiting for a JDBC bulkhead permit");
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("employee.jdbc.bulkhead.active", () -> maxConcurrent - permits.availablePermits())
+                .description("Callers currently holding a JDBC bulkhead permit")
+                .register(registry);
+        Gauge.builder("employee.jdbc.bulkhead.waiting", waiting::get)
+                .description("Callers queued for a JDBC bulkhead permit")
+                .register(registry);
+        FunctionCounter.builder("employee.jdbc.bulkhead.rejected", rejected, LongAdder::doubleValue)
+                .description("Callers turned away by the JDBC bulkhead")
+                .register(registry);
+    }
+
+    private SQLTransientConnectionException reject(String message) {
+        rejected.increment();
+        return new SQLTransientConnectionException(message);
+    }
+}
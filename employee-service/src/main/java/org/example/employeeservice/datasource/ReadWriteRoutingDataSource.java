@@ -0,0 +1,169 @@
+package org.example.employeeservice.datasource;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.example.employeeservice.event.EmployeeDeletedEvent;
+import org.example.employeeservice.event.EmployeeSavedEvent;
+import org.example.employeeservice.event.EmployeesInsertedEvent;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Sends connections for read-only transactions to the replica pool and everything else to the primary.
+ * <p>
+ * The decision is made when the connection is first used, so this must sit behind a
+ * {@link LazyConnectionDataSourceProxy}: the transaction manager opens its connection before the transaction's
+ * read-only flag is published. Reads still go to the primary
+ * <ul>
+ *     <li>for the client that wrote, for the read-your-writes window after its employee write commits, so it
+ *     does not read the replica's older state as long as replication lag stays under the window. The client is
+ *     the current thread, or whoever {@link #setClientLastWrite} names for it, such as the sender of a web
+ *     request carrying the time of its last write. Writes by other clients leave this one's reads on the
+ *     replica, so reads keep scaling out however often anyone writes;</li>
+ *     <li>inside {@link #onPrimary}, for readers that must never see a lagging copy (the change feed's sequence
+ *     and the in-memory views loaded at startup).</li>
+ * </ul>
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements MeterBinder {
+    public static final String PRIMARY = "primary";
+    public static final String REPLICA = "replica";
+
+    private static final ThreadLocal<Integer> primaryPinned = ThreadLocal.withInitial(() -> 0);
+    // epoch millis, as the time may come back from a client that wrote through another instance
+    private static final ThreadLocal<Long> clientLastWriteMillis = new ThreadLocal<>();
+
+    private final long readYourWritesWindowMillis;
+    private final LongAdder primaryConnections = new LongAdder();
+    private final LongAdder replicaConnections = new LongAdder();
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, Duration readYourWritesWindow) {
+        this.readYourWritesWindowMillis = readYourWritesWindow.toMillis();
+        setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    /**
+     * Runs {@code action} with every connection it opens taken from the primary, read-only or not.
+     */
+    public static <T> T onPrimary(Supplier<T> action) {
+        int depth = primaryPinned.get();
+        primaryPinned.set(depth + 1);
+        try {
+            return action.get();
+        } finally {
+            if (depth == 0) {
+                primaryPinned.remove();
+            } else {
+                primaryPinned.set(depth);
+            }
+        }
+    }
+
+    public static void onPrimary(Runnable action) {
+        onPrimary(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Reads on this thread are made for a client whose last employee write committed at {@code lastWrite}, or
+     * that has not written recently if null, until {@link #clearClientLastWrite()}. Writes committed on this
+     * thread in the meantime move it forward.
+     */
+    public static void setClientLastWrite(Instant lastWrite) {
+        if (lastWrite == null) {
+            clientLastWriteMillis.remove();
+        } else {
+            clientLastWriteMillis.set(lastWrite.toEpochMilli());
+        }
+    }
+
+    /**
+     * @return when the client of this thread last wrote, or null if not known
+     */
+    public static Instant getClientLastWrite() {
+        Long lastWrite = clientLastWriteMillis.get();
+        return lastWrite == null ? null : Instant.ofEpochMilli(lastWrite);
+    }
+
+    public static void clearClientLastWrite() {
+        clientLastWriteMillis.remove();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (useReplica()) {
+            replicaConnections.increment();
+            return REPLICA;
+        }
+        primaryConnections.increment();
+        return PRIMARY;
+    }
+
+    private boolean useReplica() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && primaryPinned.get() == 0
+                && !clientWroteRecently();
+    }
+
+    private boolean clientWroteRecently() {
+        Long lastWrite = clientLastWriteMillis.get();
+        if (lastWrite == null) {
+            return false;
+        }
+        // the time may come from a client's cookie, so it is clamped to [now - window, now]: up to a window ahead
+        // of this clock is skew between instances and counts as now; further ahead is not a write of ours, and
+        // must not keep the client on the primary
+        long now = System.currentTimeMillis();
+        if (lastWrite > now + readYourWritesWindowMillis) {
+            return false;
+        }
+        return now - Math.min(lastWrite, now) < readYourWritesWindowMillis;
+    }
+
+    /**
+     * After-commit listeners run on the thread that committed, i.e. the writing client's.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSaved(EmployeeSavedEvent event) {
+        clientLastWriteMillis.set(System.currentTimeMillis());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInserted(EmployeesInsertedEvent event) {
+        clientLastWriteMillis.set(System.currentTimeMillis());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeleted(EmployeeDeletedEvent event) {
+        clientLastWriteMillis.set(System.currentTimeMillis());
+    }
+
+    long getConnectionCount(String target) {
+        return (PRIMARY.equals(target) ? primaryConnections : replicaConnections).sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("employee.datasource.connections", primaryConnections, LongAdder::doubleValue)
+                .description("Connections handed out by the read/write router, by the pool they came from")
+                .tag("pool", PRIMARY)
+                .register(registry);
+        FunctionCounter.builder("employee.datasource.connections", replicaConnections, LongAdder::doubleValue)
+                .description("Connections handed out by the read/write router, by the pool they came from")
+                .tag("pool", REPLICA)
+                .register(registry);
+    }
+}
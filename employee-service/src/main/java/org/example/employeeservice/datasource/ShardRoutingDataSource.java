@@ -0,0 +1,136 @@
+package org.example.employeeservice.datasource;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Hands out connections from one of several shard pools: the one bound to the current thread by
+ * {@link #onShard}, or shard 0 outside of it.
+ * <p>
+ * Employee ids encode their shard. Every shard allocates ids from its own sequence in blocks of
+ * {@link #ID_BLOCK_SIZE}, and the sequences are interleaved so that block {@code b} is only ever issued by shard
+ * {@code b mod N}; {@link #shardOf} recovers the shard from any id without a lookup, and no two shards can
+ * issue the same id. Like {@link ReadWriteRoutingDataSource} this must sit behind a
+ * {@link LazyConnectionDataSourceProxy}, so the shard is chosen when the transaction first touches the database.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements MeterBinder, Closeable {
+    /**
+     * The allocation size of the employee id sequence: ids are issued in blocks of this many.
+     */
+    public static final int ID_BLOCK_SIZE = 50;
+
+    private static final ThreadLocal<Integer> currentShard = new ThreadLocal<>();
+
+    private final List<DataSource> shards;
+    private final LongAdder[] connections;
+
+    public ShardRoutingDataSource(List<? extends DataSource> shards) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("At least one shard is required");
+        }
+        this.shards = List.copyOf(shards);
+        this.connections = new LongAdder[shards.size()];
+        Map<Object, Object> targets = new HashMap<>();
+        for (int shard = 0; shard < shards.size(); shard++) {
+            targets.put(shard, shards.get(shard));
+            connections[shard] = new LongAdder();
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(shards.get(0));
+        setLenientFallback(false);
+    }
+
+    /**
+     * Runs {@code action} with every connection it opens taken from {@code shard}; a transaction must
+     * begin and end inside it.
+     */
+    public static <T> T onShard(int shard, Supplier<T> action) {
+        Integer previous = currentShard.get();
+        currentShard.set(shard);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                currentShard.remove();
+            } else {
+                currentShard.set(previous);
+            }
+        }
+    }
+
+    public static void onShard(int shard, Runnable action) {
+        onShard(shard, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * The shard bound to this thread, 0 if none is.
+     */
+    public static int currentShard() {
+        Integer shard = currentShard.get();
+        return shard == null ? 0 : shard;
+    }
+
+    public int getShardCount() {
+        return shards.size();
+    }
+
+    public DataSource getShard(int shard) {
+        return shards.get(shard);
+    }
+
+    /**
+     * The shard that issued, and therefore holds, the employee with this id.
+     */
+    public int shardOf(long id) {
+        return shardOf(id, shards.size());
+    }
+
+    static int shardOf(long id, int shardCount) {
+        return (int) Math.floorMod(Math.floorDiv(id - 1, ID_BLOCK_SIZE), (long) shardCount);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        int shard = currentShard();
+        connections[shard].increment();
+        return shard;
+    }
+
+    long getConnectionCount(int shard) {
+        return connections[shard].sum();
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (DataSource shard : shards) {
+            if (shard instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (int shard = 0; shard < connections.length; shard++) {
+            FunctionCounter.builder("employee.datasource.connections", connections[shard], LongAdder::doubleValue)
+                    .description("Connections handed out by the shard router, by the pool they came from")
+                    .tag("pool", "shard-" + shard)
+                    .register(registry);
+        }
+    }
+}
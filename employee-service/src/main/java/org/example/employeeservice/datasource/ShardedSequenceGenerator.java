@@ -0,0 +1,64 @@
+package org.example.employeeservice.datasource;
+
+import org.example.employeeservice.entity.ShardedSequence;
+import org.hibernate.MappingException;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+import org.hibernate.id.enhanced.Optimizer;
+import org.hibernate.id.enhanced.OptimizerDescriptor;
+import org.hibernate.id.enhanced.OptimizerFactory;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.lang.reflect.Member;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A pooled sequence that holds one block of ids in memory per shard rather than one overall. Every shard has its
+ * own copy of the sequence (for employees an interleaved one, see {@link ShardRoutingDataSource}), so an id must
+ * come from a block of the shard the row is written to. Without sharding every insert runs on shard 0 and this
+ * behaves exactly like the standard sequence generator. Applied to an id with {@link ShardedSequence}.
+ */
+public class ShardedSequenceGenerator extends SequenceStyleGenerator {
+    private final ConcurrentMap<Integer, Optimizer> shardOptimizers = new ConcurrentHashMap<>();
+    private final ShardedSequence config;
+    private OptimizerDescriptor optimizerType;
+    private int initialValue;
+
+    public ShardedSequenceGenerator(ShardedSequence config, Member idMember, CustomIdGeneratorCreationContext context) {
+        this.config = config;
+    }
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        params.setProperty(SEQUENCE_PARAM, config.value());
+        params.setProperty(INCREMENT_PARAM, Integer.toString(config.allocationSize()));
+        super.configure(type, params, serviceRegistry);
+    }
+
+    @Override
+    protected int determineInitialValue(Properties params) {
+        initialValue = super.determineInitialValue(params);
+        return initialValue;
+    }
+
+    @Override
+    protected OptimizerDescriptor determineOptimizationStrategy(Properties params, int incrementSize) {
+        optimizerType = super.determineOptimizationStrategy(params, incrementSize);
+        return optimizerType;
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        int shard = ShardRoutingDataSource.currentShard();
+        if (shard == 0) {
+            return super.generate(session, object);
+        }
+        Optimizer optimizer = shardOptimizers.computeIfAbsent(shard, ignored -> OptimizerFactory.buildOptimizer(
+                optimizerType, Long.class, getOptimizer().getIncrementSize(), initialValue));
+        return optimizer.generate(getDatabaseStructure().buildCallback(session));
+    }
+}
@@ -5,10 +5,16 @@ import jakarta.persistence.*;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "employees")
+// secondary indexes for the filtered listings; keep in step with db/schema.sql
+@Table(name = "employees", indexes = {
+        @Index(name = "employees_position_hire_date_idx", columnList = "position, hire_date"),
+        @Index(name = "employees_hire_date_idx", columnList = "hire_date"),
+        @Index(name = "employees_last_name_idx", columnList = "last_name")
+})
 public class Employee {
+    // pooled sequence rather than IDENTITY so Hibernate can batch inserts; one id block per shard when sharded
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @ShardedSequence("employees_seq")
     private Long id;
     private String firstName;
     private String lastName;
@@ -16,6 +22,8 @@ public class Employee {
     private String email;
     private String position;
     private LocalDate hireDate;
+    @Version
+    private Long version;
 
     public Employee() {
     }
@@ -77,5 +85,13 @@ public class Employee {
         return hireDate;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
 
 }
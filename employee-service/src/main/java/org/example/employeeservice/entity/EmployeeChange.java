@@ -0,0 +1,103 @@
+package org.example.employeeservice.entity;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Outbox record of one committed change to an employee, with the employee's state after it (none for a
+ * deletion). Rows are written in the same transaction as the change and only get their feed
+ * {@code sequence} once committed, see {@code EmployeeChangeFeed}.
+ */
+@Entity
+@Table(name = "employee_changes", indexes = @Index(name = "employee_changes_seq_idx", columnList = "seq", unique = true))
+public class EmployeeChange {
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    @Id
+    @ShardedSequence("employee_changes_id_seq")
+    private Long id;
+    // dense and in commit order, unlike id; null until the feed has seen the row committed
+    @Column(name = "seq")
+    private Long sequence;
+    @Enumerated(EnumType.STRING)
+    private Type type;
+    private Long employeeId;
+    private Long version;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private String position;
+    private LocalDate hireDate;
+    private Instant recordedAt;
+
+    public EmployeeChange() {
+    }
+
+    public EmployeeChange(Type type, Long employeeId, Employee employee) {
+        this.type = type;
+        this.employeeId = employeeId;
+        if (employee != null) {
+            this.version = employee.getVersion();
+            this.firstName = employee.getFirstName();
+            this.lastName = employee.getLastName();
+            this.email = employee.getEmail();
+            this.position = employee.getPosition();
+            this.hireDate = employee.getHireDate();
+        }
+        this.recordedAt = Instant.now();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(Long sequence) {
+        this.sequence = sequence;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getPosition() {
+        return position;
+    }
+
+    public LocalDate getHireDate() {
+        return hireDate;
+    }
+
+    public Instant getRecordedAt() {
+        return recordedAt;
+    }
+}
@@ -0,0 +1,29 @@
+package org.example.employeeservice.entity;
+
+import org.example.employeeservice.datasource.ShardRoutingDataSource;
+import org.example.employeeservice.datasource.ShardedSequenceGenerator;
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates the annotated id from a pooled database sequence, one block of ids per shard (see
+ * {@link ShardedSequenceGenerator}).
+ */
+@IdGeneratorType(ShardedSequenceGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface ShardedSequence {
+    /**
+     * The name of the sequence.
+     */
+    String value();
+
+    /**
+     * How many ids are taken from the sequence at a time.
+     */
+    int allocationSize() default ShardRoutingDataSource.ID_BLOCK_SIZE;
+}
@@ -0,0 +1,35 @@
+package org.example.employeeservice.event;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts committed employee changes. Its revision identifies the state of the whole table, e.g. for a
+ * collection ETag; the start time is part of it so that revisions from before a restart never repeat.
+ */
+@Component
+public class EmployeeChangeCounter {
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong changes = new AtomicLong();
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeSaved(EmployeeSavedEvent event) {
+        changes.incrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeesInserted(EmployeesInsertedEvent event) {
+        changes.addAndGet(event.getEmployees().size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeDeleted(EmployeeDeletedEvent event) {
+        changes.incrementAndGet();
+    }
+
+    public String revision() {
+        return epoch + "-" + changes.get();
+    }
+}
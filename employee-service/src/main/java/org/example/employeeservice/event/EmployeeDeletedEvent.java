@@ -0,0 +1,16 @@
+package org.example.employeeservice.event;
+
+/**
+ * Published by {@code EmployeeServiceImpl} whenever an employee is deleted.
+ */
+public class EmployeeDeletedEvent {
+    private final Long id;
+
+    public EmployeeDeletedEvent(Long id) {
+        this.id = id;
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
@@ -0,0 +1,26 @@
+package org.example.employeeservice.event;
+
+import org.example.employeeservice.entity.Employee;
+
+/**
+ * Published by {@code EmployeeServiceImpl} whenever an employee is created or changed. Carries a copy of
+ * the committed state, so listeners may keep it.
+ */
+public class EmployeeSavedEvent {
+    private final Employee employee;
+
+    public EmployeeSavedEvent(Employee employee) {
+        this.employee = snapshot(employee);
+    }
+
+    static Employee snapshot(Employee employee) {
+        Employee snapshot = new Employee(employee.getId(), employee.getFirstName(), employee.getLastName(),
+                employee.getEmail(), employee.getPosition(), employee.getHireDate());
+        snapshot.setVersion(employee.getVersion());
+        return snapshot;
+    }
+
+    public Employee getEmployee() {
+        return employee;
+    }
+}
@@ -0,0 +1,28 @@
+package org.example.employeeservice.event;
+
+import org.example.employeeservice.entity.Employee;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Published by {@code EmployeeServiceImpl} once per bulk insert in place of an {@link EmployeeSavedEvent} per
+ * row, so each listener runs once per batch rather than once per employee. Carries copies of the inserted
+ * state, so listeners may keep them.
+ */
+public class EmployeesInsertedEvent {
+    private final List<Employee> employees;
+
+    public EmployeesInsertedEvent(List<Employee> employees) {
+        List<Employee> snapshots = new ArrayList<>(employees.size());
+        for (Employee employee : employees) {
+            snapshots.add(EmployeeSavedEvent.snapshot(employee));
+        }
+        this.employees = Collections.unmodifiableList(snapshots);
+    }
+
+    public List<Employee> getEmployees() {
+        return employees;
+    }
+}
@@ -0,0 +1,35 @@
+package org.example.employeeservice.lookup;
+
+import org.springframework.stereotype.Component;
+
+import java.util.BitSet;
+
+/**
+ * Ids of the employees deleted through this instance, for the in-memory views kept current from after-commit
+ * events. The listeners of concurrent transactions run in any order, so the save of an update that committed
+ * just before a delete can arrive after it; a view that remembers nothing would add the employee back. Ids
+ * are never reused, so any save for an id in here is stale and can be dropped, and nothing ever has to be
+ * forgotten. A bitmap keeps that at one bit per id ever issued.
+ * <p>
+ * Each view records the id while handling the delete, under its own lock, so the tombstone is in place before
+ * that view can see a later save. Ids beyond what a bitmap can address are not remembered.
+ */
+@Component
+public class DeletedEmployeeIds {
+    // guarded by this
+    private final BitSet ids = new BitSet();
+
+    public synchronized void add(Long id) {
+        if (isAddressable(id)) {
+            ids.set(id.intValue());
+        }
+    }
+
+    public synchronized boolean contains(Long id) {
+        return isAddressable(id) && ids.get(id.intValue());
+    }
+
+    private static boolean isAddressable(Long id) {
+        return id != null && id > 0 && id <= Integer.MAX_VALUE;
+    }
+}
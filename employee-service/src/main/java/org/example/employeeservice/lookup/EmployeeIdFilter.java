@@ -0,0 +1,143 @@
+package org.example.employeeservice.lookup;
+
+import org.example.employeeservice.datasource.ReadWriteRoutingDataSource;
+import org.example.employeeservice.entity.Employee;
+import org.example.employeeservice.event.EmployeeDeletedEvent;
+import org.example.employeeservice.event.EmployeeSavedEvent;
+import org.example.employeeservice.event.EmployeesInsertedEvent;
+import org.example.employeeservice.repository.EmployeeRepository;
+import org.example.employeeservice.service.EmployeeService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.BitSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * The ids known to exist and the ids known to be deleted, so that lookups for deleted employees are answered
+ * without a query. Ids come from a sequence and are dense, so a bitmap holds them exactly in about one bit per
+ * id ever issued (125 KB per million); unlike a Bloom filter it has no false positives either.
+ * <p>
+ * Loaded from the database before the application starts serving, then kept current from
+ * {@link EmployeeSavedEvent}/{@link EmployeesInsertedEvent}/{@link EmployeeDeletedEvent} after each commit.
+ * Any other id is unknown rather than missing, and is looked up in the database: events only cover writes
+ * made through this instance, another instance sharing the database hands out ids from its own blocks, a
+ * lower id can commit after a higher one, and a row is committed before its event arrives. Until it is loaded,
+ * and for ids beyond what a bitmap can address, every id might exist.
+ */
+@Component
+public class EmployeeIdFilter implements SmartInitializingSingleton {
+    private final ObjectProvider<EmployeeService> employeeService;
+    private final EmployeeRepository employeeRepository;
+    private final DeletedEmployeeIds deletedIds;
+    private final boolean enabled;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // guarded by lock
+    private final BitSet ids = new BitSet();
+    private volatile boolean loaded;
+
+    public EmployeeIdFilter(ObjectProvider<EmployeeService> employeeService, EmployeeRepository employeeRepository,
+                            DeletedEmployeeIds deletedIds, @Value("${employee.id-filter.enabled:true}") boolean enabled) {
+        this.employeeService = employeeService;
+        this.employeeRepository = employeeRepository;
+        this.deletedIds = deletedIds;
+        this.enabled = enabled;
+    }
+
+    /**
+     * False only if no employee with this id exists. Answered from memory for known and deleted ids; any
+     * other id costs a primary key lookup.
+     */
+    public boolean mightExist(Long id) {
+        if (id == null || !loaded || id > Integer.MAX_VALUE) {
+            return true;
+        }
+        if (id <= 0) {
+            return false;
+        }
+        if (deletedIds.contains(id)) {
+            return false;
+        }
+        lock.readLock().lock();
+        try {
+            if (ids.get(id.intValue())) {
+                return true;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        // from the primary, as a replica may not have the row yet
+        if (!ReadWriteRoutingDataSource.onPrimary(() -> employeeRepository.existsById(id))) {
+            return false;
+        }
+        lock.writeLock().lock();
+        try {
+            add(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            // from the primary: events only cover writes committed after this load
+            ReadWriteRoutingDataSource.onPrimary(() -> employeeService.getObject().exportIds(this::add));
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeSaved(EmployeeSavedEvent event) {
+        lock.writeLock().lock();
+        try {
+            add(event.getEmployee().getId());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeesInserted(EmployeesInsertedEvent event) {
+        lock.writeLock().lock();
+        try {
+            for (Employee employee : event.getEmployees()) {
+                add(employee.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeDeleted(EmployeeDeletedEvent event) {
+        Long id = event.getId();
+        if (id == null || id <= 0 || id > Integer.MAX_VALUE) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            deletedIds.add(id);
+            ids.clear(id.intValue());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void add(long id) {
+        // a save can arrive after the delete of its employee
+        if (id > 0 && id <= Integer.MAX_VALUE && !deletedIds.contains(id)) {
+            ids.set((int) id);
+        }
+    }
+}
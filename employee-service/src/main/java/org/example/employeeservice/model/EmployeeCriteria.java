@@ -0,0 +1,53 @@
+package org.example.employeeservice.model;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Which employees a filtered listing or a set-based write applies to. Every given condition must hold; a null
+ * one matches any employee, an empty id list matches none. The hire date range includes both ends.
+ */
+public class EmployeeCriteria {
+    private final List<Long> ids;
+    private final String position;
+    private final String lastName;
+    private final LocalDate hiredFrom;
+    private final LocalDate hiredTo;
+
+    public EmployeeCriteria(Collection<Long> ids, String position, String lastName, LocalDate hiredFrom,
+                            LocalDate hiredTo) {
+        this.ids = ids == null ? null : List.copyOf(ids);
+        this.position = position;
+        this.lastName = lastName;
+        this.hiredFrom = hiredFrom;
+        this.hiredTo = hiredTo;
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public String getPosition() {
+        return position;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public LocalDate getHiredFrom() {
+        return hiredFrom;
+    }
+
+    public LocalDate getHiredTo() {
+        return hiredTo;
+    }
+
+    /**
+     * Whether no condition is given, i.e. these criteria match every employee.
+     */
+    public boolean isEmpty() {
+        return ids == null && position == null && lastName == null && hiredFrom == null && hiredTo == null;
+    }
+}
@@ -0,0 +1,39 @@
+package org.example.employeeservice.model;
+
+/**
+ * Employee attributes a caller can select individually, in the order they are rendered.
+ */
+public enum EmployeeField {
+    ID("id"),
+    FIRST_NAME("firstName"),
+    LAST_NAME("lastName"),
+    EMAIL("email"),
+    POSITION("position"),
+    HIRE_DATE("hireDate"),
+    VERSION("version");
+
+    private final String attribute;
+
+    EmployeeField(String attribute) {
+        this.attribute = attribute;
+    }
+
+    /**
+     * Entity attribute name, which is also the property name clients see.
+     */
+    public String getAttribute() {
+        return attribute;
+    }
+
+    /**
+     * @return the field with the given attribute name, or null if there is none
+     */
+    public static EmployeeField fromAttribute(String attribute) {
+        for (EmployeeField field : values()) {
+            if (field.attribute.equals(attribute)) {
+                return field;
+            }
+        }
+        return null;
+    }
+}
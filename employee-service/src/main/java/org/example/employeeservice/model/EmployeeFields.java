@@ -0,0 +1,34 @@
+package org.example.employeeservice.model;
+
+import java.util.Map;
+
+/**
+ * A projection of one employee row holding only the selected fields. The id and version are always
+ * read along with them, so callers can still page and tag the row even when they were not selected.
+ */
+public class EmployeeFields {
+    private final Long id;
+    private final Long version;
+    private final Map<String, Object> values;
+
+    public EmployeeFields(Long id, Long version, Map<String, Object> values) {
+        this.id = id;
+        this.version = version;
+        this.values = values;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    /**
+     * Selected attribute values keyed by attribute name, in {@link EmployeeField} order.
+     */
+    public Map<String, Object> getValues() {
+        return values;
+    }
+}
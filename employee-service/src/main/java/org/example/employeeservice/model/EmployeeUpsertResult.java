@@ -0,0 +1,26 @@
+package org.example.employeeservice.model;
+
+import org.example.employeeservice.entity.Employee;
+
+public class EmployeeUpsertResult {
+    public enum Status {
+        CREATED,
+        UPDATED
+    }
+
+    private final Employee employee;
+    private final Status status;
+
+    public EmployeeUpsertResult(Employee employee, Status status) {
+        this.employee = employee;
+        this.status = status;
+    }
+
+    public Employee getEmployee() {
+        return employee;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+}
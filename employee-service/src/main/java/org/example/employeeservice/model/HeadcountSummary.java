@@ -0,0 +1,56 @@
+package org.example.employeeservice.model;
+
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SortedMap;
+
+/**
+ * Point-in-time headcount: employees per position and hires per month. Employees without a hire date
+ * count towards the total and their position only.
+ */
+public class HeadcountSummary {
+    private final long total;
+    private final SortedMap<String, Long> byPosition;
+    private final SortedMap<YearMonth, Long> hiresByMonth;
+
+    public HeadcountSummary(long total, SortedMap<String, Long> byPosition, SortedMap<YearMonth, Long> hiresByMonth) {
+        this.total = total;
+        this.byPosition = Collections.unmodifiableSortedMap(byPosition);
+        this.hiresByMonth = Collections.unmodifiableSortedMap(hiresByMonth);
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public Map<String, Long> getByPosition() {
+        return byPosition;
+    }
+
+    public Map<YearMonth, Long> getHiresByMonth() {
+        return hiresByMonth;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof HeadcountSummary that)) {
+            return false;
+        }
+        return total == that.total && byPosition.equals(that.byPosition) && hiresByMonth.equals(that.hiresByMonth);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(total, byPosition, hiresByMonth);
+    }
+
+    @Override
+    public String toString() {
+        return "HeadcountSummary{total=" + total + ", byPosition=" + byPosition + ", hiresByMonth=" + hiresByMonth + "}";
+    }
+}
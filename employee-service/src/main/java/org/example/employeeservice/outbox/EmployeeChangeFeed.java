@@ -0,0 +1,244 @@
+package org.example.employeeservice.outbox;
+
+import org.example.employeeservice.datasource.ReadWriteRoutingDataSource;
+import org.example.employeeservice.datasource.ShardRoutingDataSource;
+import org.example.employeeservice.entity.EmployeeChange;
+import org.example.employeeservice.event.EmployeeDeletedEvent;
+import org.example.employeeservice.event.EmployeeSavedEvent;
+import org.example.employeeservice.event.EmployeesInsertedEvent;
+import org.example.employeeservice.repository.EmployeeChangeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Ordered feed of committed employee changes, read from the outbox that {@link EmployeeOutbox} fills.
+ * <p>
+ * A single relay thread gives committed outbox rows their feed sequence, 1, 2, 3, ... in the order it sees
+ * them committed. Sequence ids are handed out before commit, so on their own they would leave gaps for
+ * rolled-back writes and let a slow transaction commit a row below one a reader already passed; stamping
+ * after commit makes the sequence dense, so resuming after sequence {@code n} misses nothing. The relay wakes
+ * up after every employee commit and polls once a second besides.
+ * <p>
+ * Freshly stamped changes are pushed into the bounded buffer of every live {@link EmployeeChangeSubscription}.
+ * A subscriber that lets its buffer fill up, or that resumes from an older sequence, instead reads the outbox
+ * itself in batches until it has caught up, so a slow consumer costs database reads rather than memory and
+ * never holds up the others.
+ * <p>
+ * With sharding every shard has its own outbox, written together with the employee rows it holds; the relay
+ * stamps each in turn from the one sequence, and reads gather the range from all of them.
+ * <p>
+ * The feed assumes exactly one relay per database, i.e. one application instance writing to it. Stamping
+ * continues from the in-memory {@code tail}, which is read from the outbox only at startup, so a second
+ * instance relaying the same outbox would hand out the same sequence numbers again. Running several
+ * instances needs the stamping moved behind a lock or a database sequence first.
+ */
+@Component
+public class EmployeeChangeFeed implements SmartInitializingSingleton, DisposableBean {
+    static final int BATCH_SIZE = 500;
+    static final int SUBSCRIBER_BUFFER = 2_000;
+    private static final long POLL_INTERVAL_MILLIS = 1_000;
+    private static final long PRUNE_INTERVAL_MINUTES = 60;
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeChangeFeed.class);
+
+    private final EmployeeChangeRepository employeeChangeRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration retention;
+    private final int shardCount;
+    private final ScheduledExecutorService relay = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "employee-change-relay");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean wakeUpPending = new AtomicBoolean();
+    // guarded by this
+    private final List<EmployeeChangeSubscription> subscriptions = new ArrayList<>();
+    // highest sequence stamped and handed to live subscribers; only the relay writes it, under the lock
+    private volatile long tail;
+
+    public EmployeeChangeFeed(EmployeeChangeRepository employeeChangeRepository,
+                              PlatformTransactionManager transactionManager,
+                              ObjectProvider<ShardRoutingDataSource> shards,
+                              @Value("${employee.changes.retention:7d}") Duration retention) {
+        this.employeeChangeRepository = employeeChangeRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retention = retention;
+        ShardRoutingDataSource shardRouting = shards.getIfAvailable();
+        this.shardCount = shardRouting == null ? 1 : shardRouting.getShardCount();
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        // the feed is read from the primary only: a lagging replica would hand out sequences twice or skip changes
+        long maxSequence = 0L;
+        for (int shard = 0; shard < shardCount; shard++) {
+            Long shardMax = ShardRoutingDataSource.onShard(shard,
+                    () -> ReadWriteRoutingDataSource.onPrimary(employeeChangeRepository::findMaxSequence));
+            maxSequence = Math.max(maxSequence, shardMax == null ? 0L : shardMax);
+        }
+        tail = maxSequence;
+        relay.scheduleWithFixedDelay(this::relay, 0, POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        relay.scheduleWithFixedDelay(this::prune, PRUNE_INTERVAL_MINUTES, PRUNE_INTERVAL_MINUTES, TimeUnit.MINUTES);
+    }
+
+    @Override
+    public void destroy() {
+        relay.shutdownNow();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeSaved(EmployeeSavedEvent event) {
+        wakeUp();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeesInserted(EmployeesInsertedEvent event) {
+        wakeUp();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeDeleted(EmployeeDeletedEvent event) {
+        wakeUp();
+    }
+
+    /**
+     * Subscribes to changes after {@code lastSequence}, or to changes from now on when it is null.
+     */
+    public synchronized EmployeeChangeSubscription subscribe(Long lastSequence) {
+        EmployeeChangeSubscription subscription;
+        if (lastSequence == null || lastSequence >= tail) {
+            subscription = new EmployeeChangeSubscription(this, lastSequence == null ? tail : lastSequence, true);
+        } else {
+            subscription = new EmployeeChangeSubscription(this, lastSequence, false);
+        }
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    synchronized void unsubscribe(EmployeeChangeSubscription subscription) {
+        subscriptions.remove(subscription);
+    }
+
+    /**
+     * Called by a catching-up subscriber that found nothing after {@code cursor}: it goes live unless the
+     * relay stamped more changes in the meantime, which it must read first.
+     */
+    synchronized boolean goLive(EmployeeChangeSubscription subscription, long cursor) {
+        if (cursor < tail) {
+            return false;
+        }
+        subscription.setLive(true);
+        return true;
+    }
+
+    /**
+     * Reads the next batch of stamped changes after {@code cursor} straight from the outbox.
+     */
+    List<EmployeeChange> read(long cursor, int limit) {
+        long upTo = tail;
+        if (cursor >= upTo) {
+            return List.of();
+        }
+        if (shardCount == 1) {
+            return ReadWriteRoutingDataSource.onPrimary(
+                    () -> employeeChangeRepository.findBySequenceBetweenOrderBySequenceAsc(cursor + 1, upTo, Limit.of(limit)));
+        }
+        List<EmployeeChange> changes = new ArrayList<>();
+        for (int shard = 0; shard < shardCount; shard++) {
+            changes.addAll(ShardRoutingDataSource.onShard(shard,
+                    () -> employeeChangeRepository.findBySequenceBetweenOrderBySequenceAsc(cursor + 1, upTo, Limit.of(limit))));
+        }
+        changes.sort(Comparator.comparing(EmployeeChange::getSequence));
+        return changes.size() > limit ? changes.subList(0, limit) : changes;
+    }
+
+    long tail() {
+        return tail;
+    }
+
+    private void wakeUp() {
+        if (wakeUpPending.compareAndSet(false, true)) {
+            try {
+                relay.execute(() -> {
+                    wakeUpPending.set(false);
+                    relay();
+                });
+            } catch (RuntimeException e) {
+                // shutting down
+                wakeUpPending.set(false);
+            }
+        }
+    }
+
+    private void relay() {
+        try {
+            for (int shard = 0; shard < shardCount; shard++) {
+                ShardRoutingDataSource.onShard(shard, () -> {
+                    List<EmployeeChange> stamped;
+                    do {
+                        stamped = transactionTemplate.execute(status -> stampCommittedChanges());
+                        if (!stamped.isEmpty()) {
+                            publish(stamped);
+                        }
+                    } while (stamped.size() == BATCH_SIZE);
+                });
+            }
+        } catch (RuntimeException e) {
+            // keep the schedule alive; the next poll retries
+            log.warn("Relaying employee changes failed", e);
+        }
+    }
+
+    private List<EmployeeChange> stampCommittedChanges() {
+        List<EmployeeChange> pending = employeeChangeRepository.findBySequenceIsNullOrderByIdAsc(Limit.of(BATCH_SIZE));
+        // only correct while this is the only relay for the database; see the class comment
+        long sequence = tail;
+        for (EmployeeChange change : pending) {
+            change.setSequence(++sequence);
+        }
+        return pending;
+    }
+
+    private synchronized void publish(List<EmployeeChange> stamped) {
+        tail = stamped.get(stamped.size() - 1).getSequence();
+        for (EmployeeChangeSubscription subscription : subscriptions) {
+            if (subscription.isLive()) {
+                subscription.offer(stamped);
+            }
+        }
+    }
+
+    private void prune() {
+        try {
+            Instant cutoff = Instant.now().minus(retention);
+            int deleted = 0;
+            for (int shard = 0; shard < shardCount; shard++) {
+                deleted += ShardRoutingDataSource.onShard(shard, () -> employeeChangeRepository.deleteSequencedBefore(cutoff));
+            }
+            if (deleted > 0) {
+                log.info("Pruned {} employee changes older than {}", deleted, retention);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Pruning employee changes failed", e);
+        }
+    }
+}
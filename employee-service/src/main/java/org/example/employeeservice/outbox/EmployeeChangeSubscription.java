@@ -0,0 +1,105 @@
+package org.example.employeeservice.outbox;
+
+import org.example.employeeservice.entity.EmployeeChange;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One consumer's position in the {@link EmployeeChangeFeed}. {@link #next} must be called from a single
+ * thread; the subscription must be closed when the consumer goes away.
+ */
+public class EmployeeChangeSubscription implements AutoCloseable {
+    private final EmployeeChangeFeed feed;
+    private final BlockingQueue<EmployeeChange> buffer = new ArrayBlockingQueue<>(EmployeeChangeFeed.SUBSCRIBER_BUFFER);
+    // last sequence handed to the consumer
+    private long cursor;
+    // live subscriptions are fed by the relay; others read the outbox themselves. Changed under the feed's lock
+    private volatile boolean live;
+
+    EmployeeChangeSubscription(EmployeeChangeFeed feed, long cursor, boolean live) {
+        this.feed = feed;
+        this.cursor = cursor;
+        this.live = live;
+    }
+
+    /**
+     * Waits up to {@code timeout} for the next changes, in sequence order.
+     *
+     * @return up to {@value EmployeeChangeFeed#BATCH_SIZE} changes, or none if there were none in time
+     */
+    public List<EmployeeChange> next(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (true) {
+            List<EmployeeChange> changes = new ArrayList<>();
+            // whatever was buffered before falling behind comes first
+            if (buffer.drainTo(changes, EmployeeChangeFeed.BATCH_SIZE) == 0 && !live) {
+                changes = feed.read(cursor, EmployeeChangeFeed.BATCH_SIZE);
+                if (changes.isEmpty() && !feed.goLive(this, cursor)) {
+                    continue;
+                }
+            }
+            if (changes.isEmpty()) {
+                EmployeeChange first = buffer.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    return List.of();
+                }
+                changes.add(first);
+                buffer.drainTo(changes, EmployeeChangeFeed.BATCH_SIZE - 1);
+            }
+            List<EmployeeChange> unseen = afterCursor(changes);
+            if (!unseen.isEmpty()) {
+                return unseen;
+            }
+        }
+    }
+
+    /**
+     * Sequence of the last change returned by {@link #next}.
+     */
+    public long getCursor() {
+        return cursor;
+    }
+
+    @Override
+    public void close() {
+        feed.unsubscribe(this);
+    }
+
+    boolean isLive() {
+        return live;
+    }
+
+    void setLive(boolean live) {
+        this.live = live;
+    }
+
+    /**
+     * Called by the relay with the feed's lock held. On overflow the subscription stops being fed and catches
+     * up from the outbox once it has drained what it holds.
+     */
+    void offer(List<EmployeeChange> changes) {
+        for (EmployeeChange change : changes) {
+            if (!buffer.offer(change)) {
+                live = false;
+                return;
+            }
+        }
+    }
+
+    private List<EmployeeChange> afterCursor(List<EmployeeChange> changes) {
+        List<EmployeeChange> unseen = new ArrayList<>(changes.size());
+        for (EmployeeChange change : changes) {
+            // a subscriber resuming past the tail may be offered changes it already has
+            if (change.getSequence() > cursor) {
+                unseen.add(change);
+                cursor = change.getSequence();
+            }
+        }
+        return unseen;
+    }
+}
@@ -0,0 +1,56 @@
+package org.example.employeeservice.outbox;
+
+import org.example.employeeservice.entity.Employee;
+import org.example.employeeservice.entity.EmployeeChange;
+import org.example.employeeservice.event.EmployeeDeletedEvent;
+import org.example.employeeservice.event.EmployeeSavedEvent;
+import org.example.employeeservice.event.EmployeesInsertedEvent;
+import org.example.employeeservice.repository.EmployeeChangeRepository;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records every employee change in the outbox table as part of the transaction that makes it, so the change
+ * feed has exactly the changes that were committed. Unlike the other listeners this one runs at publish time,
+ * inside the writing transaction, and refuses to run outside one.
+ */
+@Component
+public class EmployeeOutbox {
+    private final EmployeeChangeRepository employeeChangeRepository;
+
+    public EmployeeOutbox(EmployeeChangeRepository employeeChangeRepository) {
+        this.employeeChangeRepository = employeeChangeRepository;
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onEmployeeSaved(EmployeeSavedEvent event) {
+        Employee employee = event.getEmployee();
+        // versions start at 0, so only the insert of a row can produce version 0
+        EmployeeChange.Type type = employee.getVersion() == null || employee.getVersion() == 0L
+                ? EmployeeChange.Type.CREATED
+                : EmployeeChange.Type.UPDATED;
+        employeeChangeRepository.save(new EmployeeChange(type, employee.getId(), employee));
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onEmployeesInserted(EmployeesInsertedEvent event) {
+        List<EmployeeChange> changes = new ArrayList<>(event.getEmployees().size());
+        for (Employee employee : event.getEmployees()) {
+            changes.add(new EmployeeChange(EmployeeChange.Type.CREATED, employee.getId(), employee));
+        }
+        employeeChangeRepository.saveAll(changes);
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onEmployeeDeleted(EmployeeDeletedEvent event) {
+        employeeChangeRepository.save(new EmployeeChange(EmployeeChange.Type.DELETED, event.getId(), null));
+    }
+}
@@ -0,0 +1,38 @@
+package org.example.employeeservice.repository;
+
+import jakarta.persistence.QueryHint;
+import org.example.employeeservice.entity.EmployeeChange;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface EmployeeChangeRepository extends JpaRepository<EmployeeChange, Long> {
+
+    /**
+     * Committed changes that have no feed sequence yet, oldest first.
+     */
+    List<EmployeeChange> findBySequenceIsNullOrderByIdAsc(Limit limit);
+
+    /**
+     * Feed page of the changes with {@code from <= sequence <= to}, read without managing the rows.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<EmployeeChange> findBySequenceBetweenOrderBySequenceAsc(long from, long to, Limit limit);
+
+    @Query("select max(c.sequence) from EmployeeChange c")
+    Long findMaxSequence();
+
+    @Transactional
+    @Modifying
+    @Query("delete from EmployeeChange c where c.sequence is not null and c.recordedAt < :cutoff")
+    int deleteSequencedBefore(Instant cutoff);
+}
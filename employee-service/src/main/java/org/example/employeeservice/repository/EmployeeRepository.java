@@ -1,10 +1,56 @@
 package org.example.employeeservice.repository;
 
+import jakarta.persistence.QueryHint;
 import org.example.employeeservice.entity.Employee;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
 @Repository
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, EmployeeRepositoryCustom {
     Employee findByFirstNameAndLastName(String firstName , String lastName);
+
+    List<Employee> findByEmailIn(Collection<String> emails);
+
+    @Query("select e.email from Employee e where e.id in :ids and e.email is not null")
+    List<String> findEmailsByIdIn(Collection<Long> ids);
+
+    /**
+     * Keyset page: seeks past {@code id} on the primary key index, so every page costs the same
+     * regardless of how deep the client has paged.
+     */
+    List<Employee> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /**
+     * Forward-only, read-only cursor over the whole table. Must be consumed inside a transaction
+     * and closed by the caller.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("select e from Employee e order by e.id")
+    Stream<Employee> streamAllBy();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("select e.email from Employee e")
+    Stream<String> streamAllEmails();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("select e.id from Employee e")
+    Stream<Long> streamAllIds();
 }
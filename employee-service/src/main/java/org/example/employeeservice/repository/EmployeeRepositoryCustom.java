@@ -0,0 +1,80 @@
+package org.example.employeeservice.repository;
+
+import org.example.employeeservice.entity.Employee;
+import org.example.employeeservice.model.EmployeeCriteria;
+import org.example.employeeservice.model.EmployeeField;
+import org.example.employeeservice.model.EmployeeFields;
+import org.springframework.data.domain.Sort;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+public interface EmployeeRepositoryCustom {
+
+    /**
+     * Issues a single {@code UPDATE employees SET <fields>, version = version + 1 WHERE id = ?} touching only
+     * the given attributes, without loading the entity first. When {@code expectedVersion} is not null the
+     * statement also matches on it, so a concurrent writer makes it update nothing.
+     *
+     * @return number of rows updated (0 or 1)
+     */
+    int updateFields(Long id, Long expectedVersion, Map<String, Object> fields);
+
+    /**
+     * Set-based form of {@link #updateFields(Long, Long, Map)}: one {@code UPDATE ... WHERE id IN (...)} for all
+     * of {@code ids}, bumping each row's version.
+     *
+     * @return number of rows updated
+     */
+    int updateFields(Collection<Long> ids, Map<String, Object> fields);
+
+    /**
+     * Single-statement delete by id, optionally guarded by {@code expectedVersion}.
+     *
+     * @return number of rows deleted (0 or 1)
+     */
+    int deleteVersioned(Long id, Long expectedVersion);
+
+    /**
+     * One {@code DELETE ... WHERE id IN (...)} for all of {@code ids}.
+     *
+     * @return number of rows deleted
+     */
+    int deleteByIds(Collection<Long> ids);
+
+    /**
+     * Ids of the employees matching {@code criteria}, in id order, read with {@code SELECT ... FOR UPDATE}: the
+     * rows can neither change nor go away until the calling transaction ends, so writes by these ids afterwards
+     * hit exactly the rows that matched.
+     */
+    List<Long> lockIdsMatching(EmployeeCriteria criteria);
+
+    /**
+     * Scalar projection of one employee: selects only the columns of {@code fields} (plus id and version),
+     * so no entity is instantiated, managed or dirty-checked.
+     */
+    Optional<EmployeeFields> findFieldsById(Long id, Set<EmployeeField> fields);
+
+    /**
+     * Keyset page of projections ordered by id, like {@code findByIdGreaterThanOrderByIdAsc}. A null
+     * {@code limit} returns every employee after {@code afterId}.
+     */
+    List<EmployeeFields> findFieldsAfter(long afterId, Integer limit, Set<EmployeeField> fields);
+
+    /**
+     * Employees matching {@code criteria} in {@code sort} order, as one query whose conditions and order can be
+     * served by the secondary indexes on {@code employees}. {@code sort} must end with {@code id} so the order
+     * is total; nulls sort before any value. With {@code after}, the page starts past that row: it holds the
+     * id and the values of the sort properties of the last row seen. A null {@code limit} returns every match.
+     */
+    List<Employee> findMatching(EmployeeCriteria criteria, Sort sort, EmployeeFields after, Integer limit);
+
+    /**
+     * Projection form of {@link #findMatching}, selecting only the columns of {@code fields}.
+     */
+    List<EmployeeFields> findFieldsMatching(EmployeeCriteria criteria, Sort sort, EmployeeFields after, Integer limit,
+                                            Set<EmployeeField> fields);
+}
@@ -0,0 +1,284 @@
+package org.example.employeeservice.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaDelete;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.example.employeeservice.entity.Employee;
+import org.example.employeeservice.model.EmployeeCriteria;
+import org.example.employeeservice.model.EmployeeField;
+import org.example.employeeservice.model.EmployeeFields;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+class EmployeeRepositoryCustomImpl implements EmployeeRepositoryCustom {
+    private static final int PROJECTION_FETCH_SIZE = 500;
+
+    private final EntityManager entityManager;
+
+    EmployeeRepositoryCustomImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public int updateFields(Long id, Long expectedVersion, Map<String, Object> fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Employee> update = cb.createCriteriaUpdate(Employee.class);
+        Root<Employee> root = update.from(Employee.class);
+
+        fields.forEach((attribute, value) -> {
+            if (value == null) {
+                setNull(update, cb, root.get(attribute));
+            } else {
+                update.set(attribute, value);
+            }
+        });
+        Path<Long> version = root.get("version");
+        update.set(version, cb.sum(version, 1L));
+        update.where(matches(cb, root, id, expectedVersion));
+
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    @Override
+    public int updateFields(Collection<Long> ids, Map<String, Object> fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Employee> update = cb.createCriteriaUpdate(Employee.class);
+        Root<Employee> root = update.from(Employee.class);
+
+        fields.forEach((attribute, value) -> {
+            if (value == null) {
+                setNull(update, cb, root.get(attribute));
+            } else {
+                update.set(attribute, value);
+            }
+        });
+        Path<Long> version = root.get("version");
+        update.set(version, cb.sum(version, 1L));
+        update.where(root.get("id").in(ids));
+
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    @Override
+    public int deleteVersioned(Long id, Long expectedVersion) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaDelete<Employee> delete = cb.createCriteriaDelete(Employee.class);
+        Root<Employee> root = delete.from(Employee.class);
+        delete.where(matches(cb, root, id, expectedVersion));
+
+        return entityManager.createQuery(delete).executeUpdate();
+    }
+
+    @Override
+    public int deleteByIds(Collection<Long> ids) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaDelete<Employee> delete = cb.createCriteriaDelete(Employee.class);
+        Root<Employee> root = delete.from(Employee.class);
+        delete.where(root.get("id").in(ids));
+
+        return entityManager.createQuery(delete).executeUpdate();
+    }
+
+    @Override
+    public List<Long> lockIdsMatching(EmployeeCriteria criteria) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Employee> root = query.from(Employee.class);
+        Path<Long> id = root.get("id");
+        query.select(id).where(matching(cb, root, criteria)).orderBy(cb.asc(id));
+
+        return entityManager.createQuery(query)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, PROJECTION_FETCH_SIZE)
+                .getResultList();
+    }
+
+    @Override
+    public Optional<EmployeeFields> findFieldsById(Long id, Set<EmployeeField> fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Employee> root = query.from(Employee.class);
+        query.multiselect(selections(root, fields)).where(cb.equal(root.get("id"), id));
+
+        return entityManager.createQuery(query).getResultStream().findFirst().map(tuple -> toFields(tuple, fields));
+    }
+
+    @Override
+    public List<EmployeeFields> findFieldsAfter(long afterId, Integer limit, Set<EmployeeField> fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Employee> root = query.from(Employee.class);
+        Path<Long> id = root.get("id");
+        query.multiselect(selections(root, fields)).where(cb.greaterThan(id, afterId)).orderBy(cb.asc(id));
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, PROJECTION_FETCH_SIZE);
+        if (limit != null) {
+            typedQuery.setMaxResults(limit);
+        }
+        List<Tuple> tuples = typedQuery.getResultList();
+        List<EmployeeFields> result = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            result.add(toFields(tuple, fields));
+        }
+        return result;
+    }
+
+    @Override
+    public List<Employee> findMatching(EmployeeCriteria criteria, Sort sort, EmployeeFields after, Integer limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Employee> query = cb.createQuery(Employee.class);
+        Root<Employee> root = query.from(Employee.class);
+        query.select(root).where(matchingAfter(cb, root, criteria, sort, after)).orderBy(orders(cb, root, sort));
+
+        TypedQuery<Employee> typedQuery = entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, PROJECTION_FETCH_SIZE);
+        if (limit != null) {
+            typedQuery.setMaxResults(limit);
+        }
+        return typedQuery.getResultList();
+    }
+
+    @Override
+    public List<EmployeeFields> findFieldsMatching(EmployeeCriteria criteria, Sort sort, EmployeeFields after,
+                                                   Integer limit, Set<EmployeeField> fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Employee> root = query.from(Employee.class);
+        query.multiselect(selections(root, fields))
+                .where(matchingAfter(cb, root, criteria, sort, after))
+                .orderBy(orders(cb, root, sort));
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, PROJECTION_FETCH_SIZE);
+        if (limit != null) {
+            typedQuery.setMaxResults(limit);
+        }
+        List<Tuple> tuples = typedQuery.getResultList();
+        List<EmployeeFields> result = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            result.add(toFields(tuple, fields));
+        }
+        return result;
+    }
+
+    private static List<Selection<?>> selections(Root<Employee> root, Set<EmployeeField> fields) {
+        List<Selection<?>> selections = new ArrayList<>(fields.size() + 2);
+        selections.add(root.get(EmployeeField.ID.getAttribute()).alias(EmployeeField.ID.getAttribute()));
+        selections.add(root.get(EmployeeField.VERSION.getAttribute()).alias(EmployeeField.VERSION.getAttribute()));
+        for (EmployeeField field : fields) {
+            if (field != EmployeeField.ID && field != EmployeeField.VERSION) {
+                selections.add(root.get(field.getAttribute()).alias(field.getAttribute()));
+            }
+        }
+        return selections;
+    }
+
+    private static EmployeeFields toFields(Tuple tuple, Set<EmployeeField> fields) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (EmployeeField field : fields) {
+            values.put(field.getAttribute(), tuple.get(field.getAttribute()));
+        }
+        return new EmployeeFields(tuple.get(EmployeeField.ID.getAttribute(), Long.class),
+                tuple.get(EmployeeField.VERSION.getAttribute(), Long.class), values);
+    }
+
+    private static <Y> void setNull(CriteriaUpdate<Employee> update, CriteriaBuilder cb, Path<Y> path) {
+        Expression<? extends Y> nullValue = cb.nullLiteral(path.getJavaType());
+        update.set(path, nullValue);
+    }
+
+    private static Predicate matching(CriteriaBuilder cb, Root<Employee> root, EmployeeCriteria criteria) {
+        List<Predicate> conditions = new ArrayList<>(4);
+        if (criteria.getIds() != null) {
+            conditions.add(criteria.getIds().isEmpty() ? cb.disjunction() : root.get("id").in(criteria.getIds()));
+        }
+        if (criteria.getPosition() != null) {
+            conditions.add(cb.equal(root.get("position"), criteria.getPosition()));
+        }
+        if (criteria.getLastName() != null) {
+            conditions.add(cb.equal(root.get("lastName"), criteria.getLastName()));
+        }
+        Path<LocalDate> hireDate = root.get("hireDate");
+        if (criteria.getHiredFrom() != null) {
+            conditions.add(cb.greaterThanOrEqualTo(hireDate, criteria.getHiredFrom()));
+        }
+        if (criteria.getHiredTo() != null) {
+            conditions.add(cb.lessThanOrEqualTo(hireDate, criteria.getHiredTo()));
+        }
+        return cb.and(conditions.toArray(new Predicate[0]));
+    }
+
+    private static Predicate matchingAfter(CriteriaBuilder cb, Root<Employee> root, EmployeeCriteria criteria,
+                                           Sort sort, EmployeeFields after) {
+        Predicate matching = matching(cb, root, criteria);
+        return after == null ? matching : cb.and(matching, after(cb, root, sort, after));
+    }
+
+    /**
+     * Keyset condition for the rows that follow {@code after} in {@code sort} order: for some sort property,
+     * all earlier ones are equal to the anchor's and this one is past it. Nulls count as lower than any value,
+     * as H2 sorts them.
+     */
+    private static Predicate after(CriteriaBuilder cb, Root<Employee> root, Sort sort, EmployeeFields after) {
+        List<Predicate> alternatives = new ArrayList<>();
+        List<Predicate> equalSoFar = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            Path<Comparable<Object>> path = root.get(order.getProperty());
+            Object value = "id".equals(order.getProperty()) ? after.getId() : after.getValues().get(order.getProperty());
+
+            List<Predicate> alternative = new ArrayList<>(equalSoFar);
+            alternative.add(order.isAscending() ? greaterThan(cb, path, value) : lessThan(cb, path, value));
+            alternatives.add(cb.and(alternative.toArray(new Predicate[0])));
+            equalSoFar.add(value == null ? cb.isNull(path) : cb.equal(path, value));
+        }
+        return cb.or(alternatives.toArray(new Predicate[0]));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Predicate greaterThan(CriteriaBuilder cb, Path<Comparable<Object>> path, Object value) {
+        return value == null ? cb.isNotNull(path) : cb.greaterThan(path, (Comparable<Object>) value);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Predicate lessThan(CriteriaBuilder cb, Path<Comparable<Object>> path, Object value) {
+        return value == null ? cb.disjunction() : cb.or(cb.lessThan(path, (Comparable<Object>) value), cb.isNull(path));
+    }
+
+    private static List<Order> orders(CriteriaBuilder cb, Root<Employee> root, Sort sort) {
+        List<Order> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            Path<Object> path = root.get(order.getProperty());
+            orders.add(order.isAscending() ? cb.asc(path) : cb.desc(path));
+        }
+        return orders;
+    }
+
+    private static Predicate matches(CriteriaBuilder cb, Root<Employee> root, Long id, Long expectedVersion) {
+        Predicate byId = cb.equal(root.get("id"), id);
+        if (expectedVersion == null) {
+            return byId;
+        }
+        return cb.and(byId, cb.equal(root.get("version"), expectedVersion));
+    }
+}
@@ -0,0 +1,464 @@
+package org.example.employeeservice.search;
+
+import org.example.employeeservice.datasource.ReadWriteRoutingDataSource;
+import org.example.employeeservice.entity.Employee;
+import org.example.employeeservice.event.EmployeeDeletedEvent;
+import org.example.employeeservice.event.EmployeeSavedEvent;
+import org.example.employeeservice.event.EmployeesInsertedEvent;
+import org.example.employeeservice.lookup.DeletedEmployeeIds;
+import org.example.employeeservice.service.EmployeeService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * In-memory prefix index over first name, last name, email and position, for search-as-you-type.
+ * <p>
+ * Each field keeps a sorted term dictionary whose postings are sorted primitive id arrays. The index is
+ * built from the database before the application starts serving and then kept current from
+ * {@link EmployeeSavedEvent}/{@link EmployeesInsertedEvent}/{@link EmployeeDeletedEvent} after each commit.
+ * A save older than the indexed version is ignored, and so is a save for one of the
+ * {@link DeletedEmployeeIds}.
+ * <p>
+ * Ranking: a document scores {@code weight(field) * 2} for an exact token match and {@code weight(field)}
+ * for a prefix match, summed over the query tokens (all of which must match). Matches for the longest
+ * query token are visited strongest tier first and the scan stops once {@code limit} documents match, or
+ * after {@value #MAX_EXAMINED} documents, so a two-letter prefix costs about as much as a full name.
+ * Within a tier, terms are visited in dictionary order, which favours shorter completions.
+ */
+@Component
+public class EmployeeSearchIndex implements SmartInitializingSingleton {
+    private static final int MAX_EXAMINED = 10_000;
+    private static final int MAX_QUERY_TOKENS = 4;
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private enum Field {
+        FIRST_NAME(4),
+        LAST_NAME(4),
+        EMAIL(2),
+        POSITION(1);
+
+        private final int weight;
+
+        Field(int weight) {
+            this.weight = weight;
+        }
+    }
+
+    private static final Field[] FIELDS = Field.values();
+
+    /** Where a token can match, strongest first. */
+    private static final Tier[] TIERS = Arrays.stream(FIELDS)
+            .flatMap(field -> Stream.of(new Tier(field, true), new Tier(field, false)))
+            .sorted(Comparator.comparingInt((Tier tier) -> tier.score).reversed())
+            .toArray(Tier[]::new);
+
+    private final ObjectProvider<EmployeeService> employeeService;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<TreeMap<String, Postings>> dictionaries = new ArrayList<>(FIELDS.length);
+    private final Map<Long, IndexedEmployee> documents = new HashMap<>();
+    private final DeletedEmployeeIds deletedIds;
+
+    public EmployeeSearchIndex(ObjectProvider<EmployeeService> employeeService, DeletedEmployeeIds deletedIds) {
+        this.employeeService = employeeService;
+        this.deletedIds = deletedIds;
+        for (int i = 0; i < FIELDS.length; i++) {
+            dictionaries.add(new TreeMap<>());
+        }
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        lock.writeLock().lock();
+        try {
+            // from the primary: events only cover writes committed after this load
+            ReadWriteRoutingDataSource.onPrimary(() -> employeeService.getObject().exportEmployees(this::index));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeSaved(EmployeeSavedEvent event) {
+        index(event.getEmployee());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeesInserted(EmployeesInsertedEvent event) {
+        event.getEmployees().forEach(this::index);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeDeleted(EmployeeDeletedEvent event) {
+        remove(event.getId());
+    }
+
+    public void index(Employee employee) {
+        String[][] terms = terms(employee);
+        long id = employee.getId();
+        lock.writeLock().lock();
+        try {
+            if (deletedIds.contains(id)) {
+                return;
+            }
+            IndexedEmployee previous = documents.get(id);
+            if (previous != null && isOlder(employee.getVersion(), previous.version)) {
+                return;
+            }
+            for (Field field : FIELDS) {
+                TreeMap<String, Postings> dictionary = dictionaries.get(field.ordinal());
+                String[] oldTerms = previous == null ? new String[0] : previous.terms[field.ordinal()];
+                String[] newTerms = terms[field.ordinal()];
+                // only touch postings whose membership changes; a shared term like a position can have
+                // hundreds of thousands of ids
+                for (String term : oldTerms) {
+                    if (!contains(newTerms, term)) {
+                        removePosting(dictionary, term, id);
+                    }
+                }
+                for (String term : newTerms) {
+                    if (!contains(oldTerms, term)) {
+                        dictionary.computeIfAbsent(term, t -> new Postings()).add(id);
+                    }
+                }
+            }
+            documents.put(id, new IndexedEmployee(employee.getVersion(), terms));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            deletedIds.add(id);
+            IndexedEmployee previous = documents.remove(id);
+            if (previous != null) {
+                unindex(id, previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return ids of the best matching employees, best first
+     */
+    public List<Long> search(String query, int limit) {
+        List<String> tokens = queryTokens(query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            return collect(tokens.get(0), tokens.subList(1, tokens.size()), limit).top(limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Candidates collect(String lead, List<String> others, int limit) {
+        Candidates candidates = new Candidates();
+        int matched = 0;
+        int examined = 0;
+        for (Tier tier : TIERS) {
+            TreeMap<String, Postings> dictionary = dictionaries.get(tier.field.ordinal());
+            Collection<Postings> postingsLists;
+            if (tier.exact) {
+                Postings exact = dictionary.get(lead);
+                postingsLists = exact == null ? List.of() : List.of(exact);
+            } else {
+                postingsLists = dictionary.subMap(lead, false, lead + Character.MAX_VALUE, false).values();
+            }
+            for (Postings postings : postingsLists) {
+                for (int i = 0; i < postings.size; i++) {
+                    long id = postings.ids[i];
+                    if (candidates.contains(id)) {
+                        // already seen through a stronger tier
+                        continue;
+                    }
+                    if (++examined > MAX_EXAMINED) {
+                        return candidates;
+                    }
+                    int othersScore = score(documents.get(id), others);
+                    boolean matches = others.isEmpty() || othersScore > 0;
+                    // a rejected document is kept with score 0 so later tiers skip it
+                    candidates.put(id, matches ? tier.score + othersScore : 0);
+                    if (matches && ++matched >= limit) {
+                        return candidates;
+                    }
+                }
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * @return the summed score of the remaining tokens, or 0 when any of them does not match
+     */
+    private static int score(IndexedEmployee document, List<String> tokens) {
+        int total = 0;
+        for (String token : tokens) {
+            int score = score(document, token);
+            if (score == 0) {
+                return 0;
+            }
+            total += score;
+        }
+        return total;
+    }
+
+    private static int score(IndexedEmployee document, String token) {
+        int best = 0;
+        for (Field field : FIELDS) {
+            for (String term : document.terms[field.ordinal()]) {
+                if (term.startsWith(token)) {
+                    best = Math.max(best, term.length() == token.length() ? field.weight * 2 : field.weight);
+                }
+            }
+        }
+        return best;
+    }
+
+    private void unindex(long id, IndexedEmployee document) {
+        for (Field field : FIELDS) {
+            TreeMap<String, Postings> dictionary = dictionaries.get(field.ordinal());
+            for (String term : document.terms[field.ordinal()]) {
+                removePosting(dictionary, term, id);
+            }
+        }
+    }
+
+    private static void removePosting(TreeMap<String, Postings> dictionary, String term, long id) {
+        Postings postings = dictionary.get(term);
+        if (postings != null && postings.remove(id) && postings.size == 0) {
+            dictionary.remove(term);
+        }
+    }
+
+    private static boolean contains(String[] terms, String term) {
+        for (String candidate : terms) {
+            if (candidate.equals(term)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isOlder(Long version, Long indexedVersion) {
+        return version != null && indexedVersion != null && version < indexedVersion;
+    }
+
+    private static String[][] terms(Employee employee) {
+        String[][] terms = new String[FIELDS.length][];
+        terms[Field.FIRST_NAME.ordinal()] = words(employee.getFirstName());
+        terms[Field.LAST_NAME.ordinal()] = words(employee.getLastName());
+        terms[Field.POSITION.ordinal()] = words(employee.getPosition());
+
+        Set<String> email = new LinkedHashSet<>();
+        if (employee.getEmail() != null) {
+            String normalized = employee.getEmail().toLowerCase(Locale.ROOT);
+            email.add(normalized);
+            int at = normalized.indexOf('@');
+            email.addAll(Arrays.asList(words(at < 0 ? normalized : normalized.substring(0, at))));
+        }
+        terms[Field.EMAIL.ordinal()] = email.toArray(String[]::new);
+        return terms;
+    }
+
+    private static String[] words(String value) {
+        if (value == null || value.isBlank()) {
+            return new String[0];
+        }
+        return Arrays.stream(TOKEN_SEPARATOR.split(value.toLowerCase(Locale.ROOT)))
+                .filter(word -> !word.isEmpty())
+                .distinct()
+                .toArray(String[]::new);
+    }
+
+    private static List<String> queryTokens(String query) {
+        if (query == null) {
+            return List.of();
+        }
+        String normalized = query.trim().toLowerCase(Locale.ROOT);
+        Set<String> tokens = new LinkedHashSet<>();
+        // a whole email address is a single term in the EMAIL dictionary
+        if (normalized.indexOf('@') > 0 && !normalized.contains(" ")) {
+            tokens.add(normalized);
+        } else {
+            tokens.addAll(Arrays.asList(words(normalized)));
+        }
+        return tokens.stream()
+                .sorted(Comparator.comparingInt(String::length).reversed())
+                .limit(MAX_QUERY_TOKENS)
+                .toList();
+    }
+
+    private static final class Tier {
+        private final Field field;
+        private final boolean exact;
+        private final int score;
+
+        Tier(Field field, boolean exact) {
+            this.field = field;
+            this.exact = exact;
+            this.score = exact ? field.weight * 2 : field.weight;
+        }
+    }
+
+    private static final class IndexedEmployee {
+        private final Long version;
+        private final String[][] terms;
+
+        IndexedEmployee(Long version, String[][] terms) {
+            this.version = version;
+            this.terms = terms;
+        }
+    }
+
+    /**
+     * Sorted, growable array of employee ids. Ids mostly arrive in increasing order, which appends.
+     */
+    private static final class Postings {
+        private long[] ids = new long[2];
+        private int size;
+
+        void add(long id) {
+            if (size == 0 || ids[size - 1] < id) {
+                grow();
+                ids[size++] = id;
+                return;
+            }
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                return;
+            }
+            int insertAt = -index - 1;
+            grow();
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+        }
+
+        boolean remove(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+            return true;
+        }
+
+        private void grow() {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+        }
+    }
+
+    /**
+     * Open-addressing map from employee id to score, so gathering thousands of candidates does not box.
+     * Ids are positive, which leaves 0 free to mark an empty slot.
+     */
+    private static final class Candidates {
+        private long[] ids = new long[64];
+        private int[] scores = new int[64];
+        private int size;
+
+        boolean contains(long id) {
+            return ids[slotOf(id)] == id;
+        }
+
+        void put(long id, int score) {
+            int slot = slotOf(id);
+            scores[slot] = score;
+            if (ids[slot] != id) {
+                ids[slot] = id;
+                if (++size * 2 > ids.length) {
+                    rehash();
+                }
+            }
+        }
+
+        /**
+         * @return the slot holding the id, or the empty slot where it belongs
+         */
+        private int slotOf(long id) {
+            int mask = ids.length - 1;
+            int slot = Long.hashCode(id * 0x9E3779B97F4A7C15L) & mask;
+            while (ids[slot] != 0 && ids[slot] != id) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        /**
+         * @return the ids with the highest scores, ties broken by lower id
+         */
+        List<Long> top(int limit) {
+            Comparator<Integer> ranking = Comparator.<Integer>comparingInt(slot -> scores[slot])
+                    .thenComparing(slot -> ids[slot], Comparator.reverseOrder());
+            PriorityQueue<Integer> best = new PriorityQueue<>(limit + 1, ranking);
+            for (int slot = 0; slot < ids.length; slot++) {
+                if (ids[slot] == 0 || scores[slot] == 0) {
+                    continue;
+                }
+                if (best.size() < limit) {
+                    best.offer(slot);
+                } else if (ranking.compare(slot, best.peek()) > 0) {
+                    best.poll();
+                    best.offer(slot);
+                }
+            }
+            Long[] top = new Long[best.size()];
+            for (int i = top.length - 1; i >= 0; i--) {
+                top[i] = ids[best.poll()];
+            }
+            return Arrays.asList(top);
+        }
+
+        private void rehash() {
+            long[] oldIds = ids;
+            int[] oldScores = scores;
+            ids = new long[oldIds.length * 2];
+            scores = new int[oldIds.length * 2];
+            size = 0;
+            for (int slot = 0; slot < oldIds.length; slot++) {
+                if (oldIds[slot] != 0) {
+                    int newSlot = slotOf(oldIds[slot]);
+                    ids[newSlot] = oldIds[slot];
+                    scores[newSlot] = oldScores[slot];
+                    size++;
+                }
+            }
+        }
+    }
+}
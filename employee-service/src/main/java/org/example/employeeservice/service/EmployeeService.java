@@ -1,14 +1,50 @@
 package org.example.employeeservice.service;
 
+import org.example.employeecommon.exception.ResourceNotFoundException;
 import org.example.employeeservice.entity.Employee;
+import org.example.employeeservice.model.EmployeeCriteria;
+import org.example.employeeservice.model.EmployeeField;
+import org.example.employeeservice.model.EmployeeFields;
+import org.example.employeeservice.model.EmployeeUpsertResult;
+import org.example.employeeservice.model.HeadcountSummary;
+import org.springframework.data.domain.Sort;
 
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
 
 public interface EmployeeService {
     Employee createEmployee(Employee employee);
+    List<EmployeeUpsertResult> upsertEmployees(List<Employee> employees);
+    void insertEmployees(List<Employee> employees);
     Employee getEmployeeById(Long id);
+    boolean employeeMightExist(Long id);
     List<Employee> getAllEmployees();
+    List<Employee> getEmployeesAfter(Long afterId, int limit);
+    EmployeeFields getEmployeeFieldsById(Long id, Set<EmployeeField> fields);
+    List<EmployeeFields> getAllEmployeeFields(Set<EmployeeField> fields);
+    List<EmployeeFields> getEmployeeFieldsAfter(Long afterId, int limit, Set<EmployeeField> fields);
+    List<Employee> findEmployees(EmployeeCriteria criteria, Sort sort, Long afterId, Integer limit);
+    List<EmployeeFields> findEmployeeFields(EmployeeCriteria criteria, Sort sort, Long afterId, Integer limit,
+                                            Set<EmployeeField> fields);
+    List<Employee> searchEmployees(String query, int limit);
+    void exportEmployees(Consumer<Employee> consumer);
+    void exportEmails(Consumer<String> consumer);
+    void exportIds(LongConsumer consumer);
     Employee updateEmployee(Long id , Employee employeeDetails);
     Employee partialUpdateEmployee(Long id, Employee employeeDetails);
-    void deleteEmployee(Long id);
+    void deleteEmployee(Long id, Long expectedVersion);
+    int bulkUpdateEmployees(EmployeeCriteria criteria, Employee patch);
+    int bulkDeleteEmployees(EmployeeCriteria criteria);
+    HeadcountSummary getHeadcount();
+    String getEmployeesRevision();
+
+    /**
+     * The not-found error for an employee id, for callers that answer a miss of {@link #employeeMightExist}
+     * themselves.
+     */
+    static ResourceNotFoundException employeeNotFound(Long id) {
+        return new ResourceNotFoundException("Employee not found with id " + id, false);
+    }
 }
@@ -1,80 +1,515 @@
 package org.example.employeeservice.service.impl;
 
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import org.example.employeecommon.exception.ResourceConflictException;
 import org.example.employeecommon.exception.ResourceNotFoundException;
+import org.example.employeeservice.analytics.HeadcountAnalytics;
+import org.example.employeeservice.concurrent.SingleFlight;
+import org.example.employeeservice.config.CacheConfig;
+import org.example.employeeservice.datasource.ReadWriteRoutingDataSource;
 import org.example.employeeservice.entity.Employee;
+import org.example.employeeservice.event.EmployeeChangeCounter;
+import org.example.employeeservice.event.EmployeeDeletedEvent;
+import org.example.employeeservice.event.EmployeeSavedEvent;
+import org.example.employeeservice.event.EmployeesInsertedEvent;
+import org.example.employeeservice.lookup.EmployeeIdFilter;
+import org.example.employeeservice.model.EmployeeCriteria;
+import org.example.employeeservice.model.EmployeeField;
+import org.example.employeeservice.model.EmployeeFields;
+import org.example.employeeservice.model.EmployeeUpsertResult;
+import org.example.employeeservice.model.HeadcountSummary;
 import org.example.employeeservice.repository.EmployeeRepository;
+import org.example.employeeservice.search.EmployeeSearchIndex;
 import org.example.employeeservice.service.EmployeeService;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Timed(value = "employee.service", description = "EmployeeService calls", histogram = true, percentiles = {0.5, 0.95, 0.99})
 public class EmployeeServiceImpl implements EmployeeService {
+    // keep in step with spring.jpa.properties.hibernate.jdbc.batch_size
+    private static final int UPSERT_CHUNK_SIZE = 50;
+    // ids per set-based UPDATE/DELETE statement, within the IN-list limits of common databases
+    private static final int BULK_CHUNK_SIZE = 1000;
+
+    private static final String ALL_EMPLOYEES = "all";
 
     private final EmployeeRepository employeeRepository;
+    private final EntityManager entityManager;
+    private final SingleFlight<String, List<Employee>> allEmployeesFlight;
+    private final EmployeeSearchIndex employeeSearchIndex;
+    private final EmployeeIdFilter employeeIdFilter;
+    private final HeadcountAnalytics headcountAnalytics;
+    private final EmployeeChangeCounter employeeChangeCounter;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public EmployeeServiceImpl(EmployeeRepository employeeRepository) {
+    public EmployeeServiceImpl(EmployeeRepository employeeRepository, EntityManager entityManager,
+                               SingleFlight<String, List<Employee>> allEmployeesFlight,
+                               EmployeeSearchIndex employeeSearchIndex, EmployeeIdFilter employeeIdFilter,
+                               HeadcountAnalytics headcountAnalytics, EmployeeChangeCounter employeeChangeCounter, ApplicationEventPublisher eventPublisher) {
         this.employeeRepository = employeeRepository;
+        this.entityManager = entityManager;
+        this.allEmployeesFlight = allEmployeesFlight;
+        this.employeeSearchIndex = employeeSearchIndex;
+        this.employeeIdFilter = employeeIdFilter;
+        this.headcountAnalytics = headcountAnalytics;
+        this.employeeChangeCounter = employeeChangeCounter;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
+    @Transactional
     public Employee createEmployee(Employee employee){
-        return employeeRepository.save(employee);
+        // ids and versions are always assigned here, never taken from the request
+        employee.setId(null);
+        employee.setVersion(null);
+        Employee created = employeeRepository.save(employee);
+        forgetInFlightReads();
+        eventPublisher.publishEvent(new EmployeeSavedEvent(created));
+        return created;
     }
 
     @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_CACHE, allEntries = true)
+    public List<EmployeeUpsertResult> upsertEmployees(List<Employee> employees) {
+        List<EmployeeUpsertResult> results = new ArrayList<>(employees.size());
+        for (int from = 0; from < employees.size(); from += UPSERT_CHUNK_SIZE) {
+            List<Employee> chunk = employees.subList(from, Math.min(from + UPSERT_CHUNK_SIZE, employees.size()));
+
+            Map<String, Employee> existingByEmail = new HashMap<>();
+            List<String> emails = chunk.stream().map(Employee::getEmail).toList();
+            for (Employee existing : employeeRepository.findByEmailIn(emails)) {
+                existingByEmail.put(existing.getEmail(), existing);
+            }
+
+            for (Employee employeeDetails : chunk) {
+                Employee existing = existingByEmail.get(employeeDetails.getEmail());
+                if (existing == null) {
+                    employeeDetails.setId(null);
+                    employeeDetails.setVersion(null);
+                    Employee created = employeeRepository.save(employeeDetails);
+                    // a repeated email later in the same request updates this row instead
+                    existingByEmail.put(created.getEmail(), created);
+                    results.add(new EmployeeUpsertResult(created, EmployeeUpsertResult.Status.CREATED));
+                } else {
+                    copyDetails(employeeDetails, existing);
+                    results.add(new EmployeeUpsertResult(existing, EmployeeUpsertResult.Status.UPDATED));
+                }
+            }
+
+            // send the chunk as one JDBC batch and drop it from the persistence context
+            entityManager.flush();
+            for (EmployeeUpsertResult result : results.subList(from, results.size())) {
+                eventPublisher.publishEvent(new EmployeeSavedEvent(result.getEmployee()));
+            }
+            // and the outbox records written by those events
+            entityManager.flush();
+            entityManager.clear();
+        }
+        forgetInFlightReads();
+        return results;
+    }
+
+    /**
+     * Inserts employees known to be new, e.g. rows of a bulk import that were already checked for
+     * duplicate emails. Any unique constraint violation rolls back the whole list.
+     */
+    @Override
+    @Transactional
+    public void insertEmployees(List<Employee> employees) {
+        for (int from = 0; from < employees.size(); from += UPSERT_CHUNK_SIZE) {
+            List<Employee> chunk = employees.subList(from, Math.min(from + UPSERT_CHUNK_SIZE, employees.size()));
+            for (Employee employee : chunk) {
+                employee.setId(null);
+                employee.setVersion(null);
+                employeeRepository.save(employee);
+            }
+            // through the repository, so a duplicate email surfaces as DataIntegrityViolationException
+            employeeRepository.flush();
+            // one event for the chunk: per row, every after-commit listener would register a synchronization
+            eventPublisher.publishEvent(new EmployeesInsertedEvent(chunk));
+            // the outbox records written by that event
+            entityManager.flush();
+            entityManager.clear();
+        }
+        forgetInFlightReads();
+    }
+
+    /**
+     * No transaction of its own, so a cache hit never opens one. A miss is loaded from the primary even when
+     * reads are routed: the entry is then served to every client for the cache's lifetime, including one that
+     * has just written and must not get a lagging replica's older copy. Ids the {@link EmployeeIdFilter} knows
+     * to be absent never reach the database. Concurrent misses for the same id are coalesced by the
+     * synchronized cache lookup, which runs one load per key.
+     */
+    @Override
+    @Cacheable(cacheNames = CacheConfig.EMPLOYEES_CACHE, key = "#id", sync = true)
     public Employee getEmployeeById(Long id) {
-        return employeeRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Employee not found with id " + id));
+        if (!employeeIdFilter.mightExist(id)) {
+            throw notFound(id);
+        }
+        return ReadWriteRoutingDataSource.onPrimary(() -> employeeRepository.findById(id))
+                .orElseThrow(() -> notFound(id));
     }
 
     @Override
     public List<Employee> getAllEmployees() {
-        return employeeRepository.findAll();
+        // the result is shared between coalesced callers, so it must not be modified, and is read from the
+        // primary for the same reason as a cache miss
+        return allEmployeesFlight.execute(ALL_EMPLOYEES, () -> Collections.unmodifiableList(
+                ReadWriteRoutingDataSource.onPrimary(() -> employeeRepository.findAll())));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Employee> getEmployeesAfter(Long afterId, int limit) {
+        long lastSeenId = afterId == null ? 0L : afterId;
+        return employeeRepository.findByIdGreaterThanOrderByIdAsc(lastSeenId, Limit.of(limit));
+    }
+
+    @Override
+    public boolean employeeMightExist(Long id) {
+        return employeeIdFilter.mightExist(id);
+    }
+
+    /**
+     * Sparse reads go straight to a column projection rather than the entity cache: the row is read
+     * without ever becoming a managed entity, and only the selected columns leave the database.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public EmployeeFields getEmployeeFieldsById(Long id, Set<EmployeeField> fields) {
+        if (!employeeIdFilter.mightExist(id)) {
+            throw notFound(id);
+        }
+        return employeeRepository.findFieldsById(id, EnumSet.copyOf(fields)).orElseThrow(() -> notFound(id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<EmployeeFields> getAllEmployeeFields(Set<EmployeeField> fields) {
+        return employeeRepository.findFieldsAfter(0L, null, EnumSet.copyOf(fields));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<EmployeeFields> getEmployeeFieldsAfter(Long afterId, int limit, Set<EmployeeField> fields) {
+        long lastSeenId = afterId == null ? 0L : afterId;
+        return employeeRepository.findFieldsAfter(lastSeenId, limit, EnumSet.copyOf(fields));
+    }
+
+    /**
+     * Filtered, sorted listing pushed down to the database as one query on the secondary indexes, so a
+     * selective filter reads only its matches. {@code sort} must end with {@code id}; a page after
+     * {@code afterId} continues from that employee's position in the order.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Employee> findEmployees(EmployeeCriteria criteria, Sort sort, Long afterId, Integer limit) {
+        return employeeRepository.findMatching(criteria, sort, anchor(afterId, sort), limit);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public List<EmployeeFields> findEmployeeFields(EmployeeCriteria criteria, Sort sort, Long afterId, Integer limit,
+                                                   Set<EmployeeField> fields) {
+        return employeeRepository.findFieldsMatching(criteria, sort, anchor(afterId, sort), limit, EnumSet.copyOf(fields));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Employee> searchEmployees(String query, int limit) {
+        List<Long> ids = employeeSearchIndex.search(query, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Employee> byId = employeeRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Employee::getId, Function.identity()));
+        // keep the index's ranking; a row deleted since the lookup is simply left out
+        return ids.stream().map(byId::get).filter(employee -> employee != null).toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportEmployees(Consumer<Employee> consumer) {
+        try (Stream<Employee> employees = employeeRepository.streamAllBy()) {
+            employees.forEach(employee -> {
+                consumer.accept(employee);
+                // keep the persistence context empty so heap stays flat for any table size
+                entityManager.detach(employee);
+            });
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportEmails(Consumer<String> consumer) {
+        try (Stream<String> emails = employeeRepository.streamAllEmails()) {
+            emails.forEach(consumer);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportIds(LongConsumer consumer) {
+        try (Stream<Long> ids = employeeRepository.streamAllIds()) {
+            ids.forEach(consumer::accept);
+        }
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_CACHE, key = "#id")
     public Employee updateEmployee(Long id, Employee employeeDetails) {
-        Employee employee = getEmployeeById(id);
-        employee.setFirstName(employeeDetails.getFirstName());
-        employee.setLastName(employeeDetails.getLastName());
-        employee.setEmail(employeeDetails.getEmail());
-        employee.setPosition(employeeDetails.getPosition());
-        employee.setHireDate(employeeDetails.getHireDate());
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("firstName", employeeDetails.getFirstName());
+        fields.put("lastName", employeeDetails.getLastName());
+        fields.put("email", employeeDetails.getEmail());
+        fields.put("position", employeeDetails.getPosition());
+        fields.put("hireDate", employeeDetails.getHireDate());
+
+        Long expectedVersion = employeeDetails.getVersion();
+        applyUpdate(id, expectedVersion, fields);
+        forgetInFlightReads();
 
-        return employeeRepository.save(employee);
+        Employee employee;
+        if (expectedVersion == null) {
+            employee = reload(id);
+        } else {
+            // every column was just written, so the new state is known without reading it back
+            employee = new Employee(id, employeeDetails.getFirstName(), employeeDetails.getLastName(),
+                    employeeDetails.getEmail(), employeeDetails.getPosition(), employeeDetails.getHireDate());
+            employee.setVersion(expectedVersion + 1);
+        }
+        eventPublisher.publishEvent(new EmployeeSavedEvent(employee));
+        return employee;
     }
 
     @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_CACHE, key = "#id")
     public Employee partialUpdateEmployee(Long id, Employee employeeDetails) {
-        Employee employee = getEmployeeById(id);
+        Map<String, Object> fields = givenFields(employeeDetails);
+        if (fields.isEmpty()) {
+            Employee employee = reload(id);
+            if (employeeDetails.getVersion() != null && !employeeDetails.getVersion().equals(employee.getVersion())) {
+                throw conflict(id);
+            }
+            return employee;
+        }
+
+        applyUpdate(id, employeeDetails.getVersion(), fields);
+        forgetInFlightReads();
+        Employee employee = reload(id);
+        eventPublisher.publishEvent(new EmployeeSavedEvent(employee));
+        return employee;
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_CACHE, key = "#id")
+    public void deleteEmployee(Long id, Long expectedVersion) {
+        if (employeeRepository.deleteVersioned(id, expectedVersion) == 0) {
+            throw missingOrChanged(id, expectedVersion);
+        }
+        forgetInFlightReads();
+        eventPublisher.publishEvent(new EmployeeDeletedEvent(id));
+    }
+
+    /**
+     * Applies the non-null fields of {@code patch} to every employee matching {@code criteria}: the matching
+     * rows are locked by one query and updated by id, a thousand per statement, instead of being loaded and
+     * saved one by one. The email is never bulk-updated, as it must stay unique. The new state of the rows is
+     * read back once per chunk to keep the caches, indexes and change feed current.
+     *
+     * @return number of employees updated
+     */
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_CACHE, allEntries = true)
+    public int bulkUpdateEmployees(EmployeeCriteria criteria, Employee patch) {
+        Map<String, Object> fields = givenFields(patch);
+        fields.remove("email");
+        if (fields.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> ids = employeeRepository.lockIdsMatching(criteria);
+        int updated = 0;
+        for (int from = 0; from < ids.size(); from += BULK_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + BULK_CHUNK_SIZE, ids.size()));
+            updated += employeeRepository.updateFields(chunk, fields);
+            for (Employee employee : employeeRepository.findAllById(chunk)) {
+                eventPublisher.publishEvent(new EmployeeSavedEvent(employee));
+            }
+            // the outbox records written by those events
+            entityManager.flush();
+            entityManager.clear();
+        }
+        forgetInFlightReads();
+        return updated;
+    }
+
+    /**
+     * Deletes every employee matching {@code criteria}, a thousand per statement, after locking them by one
+     * query.
+     *
+     * @return number of employees deleted
+     */
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_CACHE, allEntries = true)
+    public int bulkDeleteEmployees(EmployeeCriteria criteria) {
+        List<Long> ids = employeeRepository.lockIdsMatching(criteria);
+        int deleted = 0;
+        for (int from = 0; from < ids.size(); from += BULK_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + BULK_CHUNK_SIZE, ids.size()));
+            deleted += employeeRepository.deleteByIds(chunk);
+            for (Long id : chunk) {
+                eventPublisher.publishEvent(new EmployeeDeletedEvent(id));
+            }
+            entityManager.flush();
+            entityManager.clear();
+        }
+        forgetInFlightReads();
+        return deleted;
+    }
+
+    @Override
+    public HeadcountSummary getHeadcount() {
+        return headcountAnalytics.summary();
+    }
+
+    @Override
+    public String getEmployeesRevision() {
+        return employeeChangeCounter.revision();
+    }
+
+    /**
+     * The sort values of the employee a page continues after; only sorts by more than the id need reading them.
+     */
+    private EmployeeFields anchor(Long afterId, Sort sort) {
+        if (afterId == null) {
+            return null;
+        }
+        Set<EmployeeField> keys = EnumSet.noneOf(EmployeeField.class);
+        for (Sort.Order order : sort) {
+            keys.add(EmployeeField.fromAttribute(order.getProperty()));
+        }
+        keys.remove(EmployeeField.ID);
+        if (keys.isEmpty()) {
+            return new EmployeeFields(afterId, null, Map.of());
+        }
+        return employeeRepository.findFieldsById(afterId, keys).orElseThrow(() -> deletedAnchor(afterId));
+    }
+
+    private void applyUpdate(Long id, Long expectedVersion, Map<String, Object> fields) {
+        if (employeeRepository.updateFields(id, expectedVersion, fields) == 0) {
+            throw missingOrChanged(id, expectedVersion);
+        }
+    }
+
+    /**
+     * Only the failure path pays for telling "gone" apart from "changed underneath you".
+     */
+    private RuntimeException missingOrChanged(Long id, Long expectedVersion) {
+        if (expectedVersion != null && employeeRepository.existsById(id)) {
+            return conflict(id);
+        }
+        return notFound(id);
+    }
+
+    /**
+     * Once the write is committed, readers must not join a query that started before it.
+     */
+    private void forgetInFlightReads() {
+        Runnable forget = allEmployeesFlight::forgetAll;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    forget.run();
+                }
+            });
+        } else {
+            forget.run();
+        }
+    }
+
+    private static Map<String, Object> givenFields(Employee employeeDetails) {
+        Map<String, Object> fields = new LinkedHashMap<>();
 
         if(employeeDetails.getFirstName() != null){
-            employee.setFirstName(employeeDetails.getFirstName());
+            fields.put("firstName", employeeDetails.getFirstName());
         }
 
         if(employeeDetails.getLastName() != null){
-            employee.setLastName(employeeDetails.getLastName());
+            fields.put("lastName", employeeDetails.getLastName());
         }
 
         if(employeeDetails.getEmail() != null){
-            employee.setEmail(employeeDetails.getEmail());
+            fields.put("email", employeeDetails.getEmail());
         }
 
         if(employeeDetails.getPosition() != null){
-            employee.setPosition(employeeDetails.getPosition());
+            fields.put("position", employeeDetails.getPosition());
         }
 
         if(employeeDetails.getHireDate() != null){
-            employee.setHireDate(employeeDetails.getHireDate());
+            fields.put("hireDate", employeeDetails.getHireDate());
         }
+        return fields;
+    }
 
-        return employeeRepository.save(employee);
+    private Employee reload(Long id) {
+        return employeeRepository.findById(id).orElseThrow(() -> notFound(id));
     }
 
-    @Override
-    public void deleteEmployee(Long id) {
-        Employee employee= getEmployeeById(id);
-        employeeRepository.delete(employee);
+    private static ResourceNotFoundException notFound(Long id) {
+        return EmployeeService.employeeNotFound(id);
+    }
+
+    /**
+     * Public so the sharded service reports a lost page anchor the same way.
+     */
+    public static ResourceConflictException deletedAnchor(Long id) {
+        return new ResourceConflictException("Employee with id " + id + ", where this page continues, has been "
+                + "deleted; start again from the first page");
+    }
+
+    private static ResourceConflictException conflict(Long id) {
+        return new ResourceConflictException("Employee with id " + id + " was modified concurrently");
+    }
+
+    private static void copyDetails(Employee source, Employee target) {
+        target.setFirstName(source.getFirstName());
+        target.setLastName(source.getLastName());
+        target.setEmail(source.getEmail());
+        target.setPosition(source.getPosition());
+        target.setHireDate(source.getHireDate());
     }
 
 }
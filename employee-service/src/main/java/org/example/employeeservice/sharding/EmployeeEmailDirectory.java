@@ -0,0 +1,263 @@
+package org.example.employeeservice.sharding;
+
+import org.example.employeeservice.datasource.ShardRoutingDataSource;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Which shard owns each employee email. A unique constraint only holds within one database, so with employees
+ * spread over shards by id the emails are claimed here before a row with that email is written to its shard,
+ * and released once it no longer has it. A claim that fails with {@link DuplicateKeyException} is the
+ * cross-shard equivalent of the per-table unique constraint, and callers see the same
+ * {@code DataIntegrityViolationException}.
+ * <p>
+ * The directory is itself partitioned: the claim on an email is kept in the {@code employee_email_claims} table
+ * of the shard its hash picks, which need not be the shard that owns the email. Claims for different emails
+ * therefore spread over all shards like the employees do, and no single database takes every write.
+ * <p>
+ * Claims are committed on their own, ahead of the shard write; a write that fails afterwards gives its claim
+ * back. A claim can still outlive its write, when the process stops in between. So a claim that is in the way
+ * is checked before the write is refused: once it is older than {@value #CLAIM_GRACE_SECONDS} seconds, far
+ * longer than any write takes, and its shard has no employee with that email, it is taken over. The tables are
+ * seeded from the shards when they are all found empty, e.g. on the first start with sharding.
+ */
+public class EmployeeEmailDirectory implements InitializingBean {
+    private static final int LOOKUP_CHUNK_SIZE = 500;
+    private static final long CLAIM_GRACE_SECONDS = 60;
+
+    private final ShardRoutingDataSource shards;
+    private final List<JdbcTemplate> jdbcTemplates = new ArrayList<>();
+    private final List<NamedParameterJdbcTemplate> namedJdbcTemplates = new ArrayList<>();
+    private final List<TransactionTemplate> transactionTemplates = new ArrayList<>();
+
+    public EmployeeEmailDirectory(ShardRoutingDataSource shards) {
+        this.shards = shards;
+        for (int shard = 0; shard < shards.getShardCount(); shard++) {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(shards.getShard(shard));
+            jdbcTemplates.add(jdbcTemplate);
+            namedJdbcTemplates.add(new NamedParameterJdbcTemplate(jdbcTemplate));
+            transactionTemplates.add(new TransactionTemplate(new DataSourceTransactionManager(shards.getShard(shard))));
+        }
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        long claimed = 0;
+        for (JdbcTemplate jdbcTemplate : jdbcTemplates) {
+            jdbcTemplate.execute("create table if not exists employee_email_claims ("
+                    + "email varchar(255) not null primary key, shard int not null, claimed_at timestamp not null)");
+            Long rows = jdbcTemplate.queryForObject("select count(*) from employee_email_claims", Long.class);
+            claimed += rows == null ? 0 : rows;
+        }
+        if (claimed == 0) {
+            seed();
+        }
+    }
+
+    private void seed() {
+        Timestamp now = Timestamp.from(Instant.now());
+        for (int shard = 0; shard < shards.getShardCount(); shard++) {
+            Map<String, Integer> owners = new HashMap<>();
+            for (String email : jdbcTemplates.get(shard)
+                    .queryForList("select email from employees where email is not null", String.class)) {
+                owners.put(email, shard);
+            }
+            byPartition(owners).forEach((partition, claims) -> jdbcTemplates.get(partition).batchUpdate(
+                    "merge into employee_email_claims (email, shard, claimed_at) key (email) values (?, ?, ?)",
+                    List.copyOf(claims.entrySet()), LOOKUP_CHUNK_SIZE, (statement, claim) -> {
+                        statement.setString(1, claim.getKey());
+                        statement.setInt(2, claim.getValue());
+                        statement.setTimestamp(3, now);
+                    }));
+        }
+    }
+
+    /**
+     * Claims {@code email} for {@code shard}.
+     *
+     * @throws DuplicateKeyException if another employee already has it
+     */
+    public void claim(String email, int shard) {
+        int partition = partitionOf(email);
+        try {
+            insert(partition, email, shard);
+        } catch (DuplicateKeyException e) {
+            if (!takeOverOrphan(partition, email, shard)) {
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Claims {@code email} for {@code shard} unless it is already claimed, by anyone.
+     *
+     * @return whether this call made the claim
+     */
+    public boolean tryClaim(String email, int shard) {
+        try {
+            claim(email, shard);
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Claims every email for its shard, or none of them if any is taken.
+     *
+     * @throws DataIntegrityViolationException if any of them is already claimed
+     */
+    public void claimAll(Map<String, Integer> shardByEmail) {
+        Map<Integer, Map<String, Integer>> claimed = new LinkedHashMap<>();
+        try {
+            for (Map.Entry<Integer, Map<String, Integer>> partition : byPartition(shardByEmail).entrySet()) {
+                Map<String, Integer> claims = partition.getValue();
+                try {
+                    transactionTemplates.get(partition.getKey()).executeWithoutResult(status ->
+                            jdbcTemplates.get(partition.getKey()).batchUpdate(
+                                    "insert into employee_email_claims (email, shard, claimed_at) values (?, ?, ?)",
+                                    List.copyOf(claims.entrySet()), LOOKUP_CHUNK_SIZE, (statement, claim) -> {
+                                        statement.setString(1, claim.getKey());
+                                        statement.setInt(2, claim.getValue());
+                                        statement.setTimestamp(3, Timestamp.from(Instant.now()));
+                                    }));
+                    claimed.put(partition.getKey(), claims);
+                } catch (DataIntegrityViolationException e) {
+                    // some are taken, possibly by orphaned claims: claim them one by one instead
+                    Map<String, Integer> single = claimed.computeIfAbsent(partition.getKey(), ignored -> new HashMap<>());
+                    for (Map.Entry<String, Integer> claim : claims.entrySet()) {
+                        claim(claim.getKey(), claim.getValue());
+                        single.put(claim.getKey(), claim.getValue());
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            claimed.values().forEach(claims -> claims.forEach(this::release));
+            throw e;
+        }
+    }
+
+    /**
+     * Gives up {@code shard}'s claim on {@code email}; a claim held by another shard is left alone.
+     */
+    public void release(String email, int shard) {
+        jdbcTemplates.get(partitionOf(email))
+                .update("delete from employee_email_claims where email = ? and shard = ?", email, shard);
+    }
+
+    public void releaseAll(Collection<String> emails, int shard) {
+        byPartition(emails).forEach((partition, inPartition) -> {
+            for (List<String> chunk : chunks(inPartition)) {
+                namedJdbcTemplates.get(partition).update(
+                        "delete from employee_email_claims where email in (:emails) and shard = :shard",
+                        new MapSqlParameterSource("emails", chunk).addValue("shard", shard));
+            }
+        });
+    }
+
+    /**
+     * The owning shard of each of {@code emails} that is claimed.
+     */
+    public Map<String, Integer> ownersOf(Collection<String> emails) {
+        Map<String, Integer> owners = new HashMap<>();
+        byPartition(emails).forEach((partition, inPartition) -> {
+            for (List<String> chunk : chunks(inPartition)) {
+                namedJdbcTemplates.get(partition).query(
+                        "select email, shard from employee_email_claims where email in (:emails)",
+                        new MapSqlParameterSource("emails", chunk),
+                        resultSet -> {
+                            owners.put(resultSet.getString(1), resultSet.getInt(2));
+                        });
+            }
+        });
+        return owners;
+    }
+
+    public Integer ownerOf(String email) {
+        return ownersOf(List.of(email)).get(email);
+    }
+
+    private void insert(int partition, String email, int shard) {
+        jdbcTemplates.get(partition).update(
+                "insert into employee_email_claims (email, shard, claimed_at) values (?, ?, ?)",
+                email, shard, Timestamp.from(Instant.now()));
+    }
+
+    /**
+     * Moves the claim on {@code email} to {@code shard} if the shard holding it has no employee with that email
+     * and the claim is old enough that its write cannot still be on its way.
+     *
+     * @return whether {@code shard} now holds the claim
+     */
+    private boolean takeOverOrphan(int partition, String email, int shard) {
+        JdbcTemplate directory = jdbcTemplates.get(partition);
+        List<Map<String, Object>> claims = directory.queryForList(
+                "select shard, claimed_at from employee_email_claims where email = ?", email);
+        if (claims.isEmpty()) {
+            // released since the insert failed
+            try {
+                insert(partition, email, shard);
+                return true;
+            } catch (DuplicateKeyException e) {
+                return false;
+            }
+        }
+        int owner = ((Number) claims.get(0).get("SHARD")).intValue();
+        Timestamp claimedAt = (Timestamp) claims.get(0).get("CLAIMED_AT");
+        if (claimedAt.toInstant().isAfter(Instant.now().minus(Duration.ofSeconds(CLAIM_GRACE_SECONDS)))) {
+            return false;
+        }
+        Integer holders = jdbcTemplates.get(owner)
+                .queryForObject("select count(*) from employees where email = ?", Integer.class, email);
+        if (holders != null && holders > 0) {
+            return false;
+        }
+        // only if nobody else took it over or released it in the meantime
+        return directory.update("update employee_email_claims set shard = ?, claimed_at = ? "
+                        + "where email = ? and shard = ? and claimed_at = ?",
+                shard, Timestamp.from(Instant.now()), email, owner, claimedAt) == 1;
+    }
+
+    private int partitionOf(String email) {
+        return Math.floorMod(email.hashCode(), shards.getShardCount());
+    }
+
+    private Map<Integer, Map<String, Integer>> byPartition(Map<String, Integer> shardByEmail) {
+        Map<Integer, Map<String, Integer>> partitions = new LinkedHashMap<>();
+        shardByEmail.forEach((email, shard) ->
+                partitions.computeIfAbsent(partitionOf(email), ignored -> new LinkedHashMap<>()).put(email, shard));
+        return partitions;
+    }
+
+    private Map<Integer, List<String>> byPartition(Collection<String> emails) {
+        Map<Integer, List<String>> partitions = new LinkedHashMap<>();
+        for (String email : emails) {
+            partitions.computeIfAbsent(partitionOf(email), ignored -> new ArrayList<>()).add(email);
+        }
+        return partitions;
+    }
+
+    private static List<List<String>> chunks(List<String> emails) {
+        List<List<String>> chunks = new ArrayList<>();
+        for (int from = 0; from < emails.size(); from += LOOKUP_CHUNK_SIZE) {
+            chunks.add(emails.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, emails.size())));
+        }
+        return chunks;
+    }
+}
@@ -0,0 +1,613 @@
+package org.example.employeeservice.sharding;
+
+import org.example.employeeservice.datasource.ShardRoutingDataSource;
+import org.example.employeeservice.entity.Employee;
+import org.example.employeeservice.model.EmployeeCriteria;
+import org.example.employeeservice.model.EmployeeField;
+import org.example.employeeservice.model.EmployeeFields;
+import org.example.employeeservice.model.EmployeeUpsertResult;
+import org.example.employeeservice.model.HeadcountSummary;
+import org.example.employeeservice.repository.EmployeeRepository;
+import org.example.employeeservice.search.EmployeeSearchIndex;
+import org.example.employeeservice.service.EmployeeService;
+import org.example.employeeservice.service.impl.EmployeeServiceImpl;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.LongConsumer;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * {@link EmployeeService} over employees spread across the shards of a {@link ShardRoutingDataSource}. Every call
+ * is carried out by the unsharded service on one shard at a time:
+ * <ul>
+ *     <li>a call for one id runs on the shard the id belongs to;</li>
+ *     <li>new employees are dealt to the shards in turn, and get their id from that shard;</li>
+ *     <li>listings and keyset pages are gathered from all shards in parallel and merged in id order, or in the
+ *     requested order for filtered listings; searches are fetched in parallel from the shards holding the hits
+ *     and keep the search index's ranking;</li>
+ *     <li>batch writes are split by shard and written in parallel, in one transaction per shard. Inserts that
+ *     fail on one shard are deleted again from the others; upserts, bulk updates and bulk deletes stay committed
+ *     on the others. Bulk updates and deletes run on every shard, or only on those owning the ids they name.</li>
+ * </ul>
+ * Email uniqueness across shards is kept by the {@link EmployeeEmailDirectory}, which is partitioned over the
+ * shards too. Exports run shard by shard, so their ids only ascend within each shard.
+ */
+public class ShardedEmployeeService implements EmployeeService, DisposableBean {
+    private static final int BULK_CHUNK_SIZE = 1000;
+
+    private final EmployeeService employeeService;
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeSearchIndex employeeSearchIndex;
+    private final ShardRoutingDataSource shards;
+    private final EmployeeEmailDirectory emailDirectory;
+    private final TransactionTemplate transaction;
+    private final TransactionTemplate readOnlyTransaction;
+    private final List<Integer> allShards;
+    private final AtomicInteger nextShard = new AtomicInteger();
+    private final ExecutorService scatter;
+
+    /**
+     * @param employeeService the unsharded service, which works on whichever shard the calling thread is on
+     */
+    public ShardedEmployeeService(EmployeeService employeeService, EmployeeRepository employeeRepository,
+                                  EmployeeSearchIndex employeeSearchIndex, ShardRoutingDataSource shards,
+                                  EmployeeEmailDirectory emailDirectory, PlatformTransactionManager transactionManager) {
+        this.employeeService = employeeService;
+        this.employeeRepository = employeeRepository;
+        this.employeeSearchIndex = employeeSearchIndex;
+        this.shards = shards;
+        this.emailDirectory = emailDirectory;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.allShards = IntStream.range(0, shards.getShardCount()).boxed().toList();
+        AtomicInteger threads = new AtomicInteger();
+        this.scatter = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "employee-shard-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void destroy() {
+        scatter.shutdownNow();
+    }
+
+    @Override
+    public Employee createEmployee(Employee employee) {
+        int shard = nextShard();
+        String email = employee.getEmail();
+        if (email != null) {
+            emailDirectory.claim(email, shard);
+        }
+        try {
+            return ShardRoutingDataSource.onShard(shard, () -> employeeService.createEmployee(employee));
+        } catch (RuntimeException e) {
+            if (email != null) {
+                emailDirectory.release(email, shard);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * An email already claimed is upserted on the shard that has it, any other is claimed for the next shard in
+     * turn. Repeats of an email within the list therefore end up on the same shard, in order.
+     */
+    @Override
+    public List<EmployeeUpsertResult> upsertEmployees(List<Employee> employees) {
+        Map<String, Integer> owners = emailDirectory.ownersOf(employees.stream()
+                .map(Employee::getEmail).filter(Objects::nonNull).distinct().toList());
+        Map<Integer, List<Integer>> positionsByShard = new LinkedHashMap<>();
+        Map<Integer, List<String>> claimedByShard = new HashMap<>();
+        try {
+            for (int i = 0; i < employees.size(); i++) {
+                String email = employees.get(i).getEmail();
+                Integer shard = email == null ? null : owners.get(email);
+                if (shard == null) {
+                    shard = nextShard();
+                    if (email != null) {
+                        if (emailDirectory.tryClaim(email, shard)) {
+                            claimedByShard.computeIfAbsent(shard, ignored -> new ArrayList<>()).add(email);
+                        } else {
+                            // claimed by a concurrent writer since the lookup
+                            shard = emailDirectory.ownerOf(email);
+                            if (shard == null) {
+                                throw new DuplicateKeyException("Email " + email + " is being changed concurrently");
+                            }
+                        }
+                        owners.put(email, shard);
+                    }
+                }
+                positionsByShard.computeIfAbsent(shard, ignored -> new ArrayList<>()).add(i);
+            }
+        } catch (RuntimeException e) {
+            claimedByShard.forEach((shard, emails) -> emailDirectory.releaseAll(emails, shard));
+            throw e;
+        }
+
+        List<Integer> writtenShards = List.copyOf(positionsByShard.keySet());
+        List<List<EmployeeUpsertResult>> written = scatter(writtenShards, shard -> {
+            List<Employee> batch = positionsByShard.get(shard).stream().map(employees::get).toList();
+            try {
+                return employeeService.upsertEmployees(batch);
+            } catch (RuntimeException e) {
+                emailDirectory.releaseAll(claimedByShard.getOrDefault(shard, List.of()), shard);
+                throw e;
+            }
+        });
+
+        EmployeeUpsertResult[] results = new EmployeeUpsertResult[employees.size()];
+        for (int i = 0; i < writtenShards.size(); i++) {
+            List<Integer> positions = positionsByShard.get(writtenShards.get(i));
+            for (int j = 0; j < positions.size(); j++) {
+                results[positions.get(j)] = written.get(i).get(j);
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * All emails are claimed up front, all or nothing, so a duplicate fails the whole list before any shard is
+     * written. Each shard's part then commits on its own; if one fails, the parts already committed on other
+     * shards are deleted again and every claim is released, so a caller can retry the rows one by one without
+     * finding some of them already there. Until then those rows are visible, and the change feed reports them
+     * created and deleted.
+     */
+    @Override
+    public void insertEmployees(List<Employee> employees) {
+        Map<Integer, List<Employee>> byShard = new LinkedHashMap<>();
+        Map<String, Integer> claims = new HashMap<>();
+        for (Employee employee : employees) {
+            int shard = nextShard();
+            byShard.computeIfAbsent(shard, ignored -> new ArrayList<>()).add(employee);
+            if (employee.getEmail() != null && claims.put(employee.getEmail(), shard) != null) {
+                throw new DuplicateKeyException("Duplicate email " + employee.getEmail());
+            }
+        }
+        emailDirectory.claimAll(claims);
+
+        Set<Integer> committed = ConcurrentHashMap.newKeySet();
+        try {
+            scatter(List.copyOf(byShard.keySet()), shard -> {
+                employeeService.insertEmployees(byShard.get(shard));
+                committed.add(shard);
+                return null;
+            });
+        } catch (RuntimeException e) {
+            byShard.forEach((shard, batch) -> {
+                try {
+                    if (committed.contains(shard)) {
+                        List<Long> ids = batch.stream().map(Employee::getId).toList();
+                        ShardRoutingDataSource.onShard(shard, () -> employeeService.bulkDeleteEmployees(
+                                new EmployeeCriteria(ids, null, null, null, null)));
+                    }
+                    emailDirectory.releaseAll(
+                            batch.stream().map(Employee::getEmail).filter(Objects::nonNull).toList(), shard);
+                } catch (RuntimeException undo) {
+                    // the shard keeps its rows and their claims, which still agree
+                    e.addSuppressed(undo);
+                }
+            });
+            throw e;
+        }
+    }
+
+    @Override
+    public Employee getEmployeeById(Long id) {
+        return ShardRoutingDataSource.onShard(shards.shardOf(id), () -> employeeService.getEmployeeById(id));
+    }
+
+    @Override
+    public boolean employeeMightExist(Long id) {
+        // a miss beyond the filter's ids is looked up on the id's shard
+        return ShardRoutingDataSource.onShard(shards.shardOf(id), () -> employeeService.employeeMightExist(id));
+    }
+
+    @Override
+    public List<Employee> getAllEmployees() {
+        List<List<Employee>> perShard = scatter(allShards,
+                shard -> readOnlyTransaction.execute(status -> employeeRepository.findAll(Sort.by("id"))));
+        return Collections.unmodifiableList(mergeById(perShard, Employee::getId, Integer.MAX_VALUE));
+    }
+
+    @Override
+    public List<Employee> getEmployeesAfter(Long afterId, int limit) {
+        return mergeById(scatter(allShards, shard -> employeeService.getEmployeesAfter(afterId, limit)),
+                Employee::getId, limit);
+    }
+
+    @Override
+    public EmployeeFields getEmployeeFieldsById(Long id, Set<EmployeeField> fields) {
+        return ShardRoutingDataSource.onShard(shards.shardOf(id), () -> employeeService.getEmployeeFieldsById(id, fields));
+    }
+
+    @Override
+    public List<EmployeeFields> getAllEmployeeFields(Set<EmployeeField> fields) {
+        return mergeById(scatter(allShards, shard -> employeeService.getAllEmployeeFields(fields)),
+                EmployeeFields::getId, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<EmployeeFields> getEmployeeFieldsAfter(Long afterId, int limit, Set<EmployeeField> fields) {
+        return mergeById(scatter(allShards, shard -> employeeService.getEmployeeFieldsAfter(afterId, limit, fields)),
+                EmployeeFields::getId, limit);
+    }
+
+    @Override
+    public List<Employee> findEmployees(EmployeeCriteria criteria, Sort sort, Long afterId, Integer limit) {
+        EmployeeFields anchor = anchor(afterId, sort);
+        List<List<Employee>> perShard = scatter(shardsMatching(criteria), shard -> readOnlyTransaction.execute(
+                status -> employeeRepository.findMatching(criteria, sort, anchor, limit)));
+        return merge(perShard, comparator(sort, ShardedEmployeeService::valueOf),
+                limit == null ? Integer.MAX_VALUE : limit);
+    }
+
+    /**
+     * The shards' pages are merged on the sort properties, so those are selected along with {@code fields} and
+     * dropped again afterwards.
+     */
+    @Override
+    public List<EmployeeFields> findEmployeeFields(EmployeeCriteria criteria, Sort sort, Long afterId, Integer limit,
+                                                   Set<EmployeeField> fields) {
+        EmployeeFields anchor = anchor(afterId, sort);
+        Set<EmployeeField> selected = EnumSet.copyOf(fields);
+        selected.addAll(sortKeys(sort));
+        List<List<EmployeeFields>> perShard = scatter(shardsMatching(criteria), shard -> readOnlyTransaction.execute(
+                status -> employeeRepository.findFieldsMatching(criteria, sort, anchor, limit, selected)));
+        List<EmployeeFields> merged = merge(perShard, comparator(sort, ShardedEmployeeService::valueOf),
+                limit == null ? Integer.MAX_VALUE : limit);
+        if (selected.equals(fields)) {
+            return merged;
+        }
+        List<EmployeeFields> result = new ArrayList<>(merged.size());
+        for (EmployeeFields row : merged) {
+            Map<String, Object> values = new LinkedHashMap<>(row.getValues());
+            values.keySet().removeIf(attribute -> !fields.contains(EmployeeField.fromAttribute(attribute)));
+            result.add(new EmployeeFields(row.getId(), row.getVersion(), values));
+        }
+        return result;
+    }
+
+    @Override
+    public List<Employee> searchEmployees(String query, int limit) {
+        List<Long> ids = employeeSearchIndex.search(query, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Integer, List<Long>> idsByShard = new LinkedHashMap<>();
+        for (Long id : ids) {
+            idsByShard.computeIfAbsent(shards.shardOf(id), ignored -> new ArrayList<>()).add(id);
+        }
+        Map<Long, Employee> byId = new HashMap<>();
+        for (List<Employee> found : scatter(List.copyOf(idsByShard.keySet()), shard -> readOnlyTransaction.execute(
+                status -> employeeRepository.findAllById(idsByShard.get(shard))))) {
+            for (Employee employee : found) {
+                byId.put(employee.getId(), employee);
+            }
+        }
+        // keep the index's ranking; a row deleted since the lookup is simply left out
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    @Override
+    public void exportEmployees(Consumer<Employee> consumer) {
+        for (int shard : allShards) {
+            ShardRoutingDataSource.onShard(shard, () -> employeeService.exportEmployees(consumer));
+        }
+    }
+
+    @Override
+    public void exportEmails(Consumer<String> consumer) {
+        for (int shard : allShards) {
+            ShardRoutingDataSource.onShard(shard, () -> employeeService.exportEmails(consumer));
+        }
+    }
+
+    @Override
+    public void exportIds(LongConsumer consumer) {
+        for (int shard : allShards) {
+            ShardRoutingDataSource.onShard(shard, () -> employeeService.exportIds(consumer));
+        }
+    }
+
+    @Override
+    public Employee updateEmployee(Long id, Employee employeeDetails) {
+        // a full update replaces the email, with null if none is given
+        return updateOnShard(id, true, employeeDetails.getEmail(),
+                () -> employeeService.updateEmployee(id, employeeDetails));
+    }
+
+    @Override
+    public Employee partialUpdateEmployee(Long id, Employee employeeDetails) {
+        return updateOnShard(id, employeeDetails.getEmail() != null, employeeDetails.getEmail(),
+                () -> employeeService.partialUpdateEmployee(id, employeeDetails));
+    }
+
+    @Override
+    public void deleteEmployee(Long id, Long expectedVersion) {
+        int shard = shards.shardOf(id);
+        String email = ShardRoutingDataSource.onShard(shard, () -> transaction.execute(status -> {
+            String locked = lockEmail(id);
+            employeeService.deleteEmployee(id, expectedVersion);
+            return locked;
+        }));
+        if (email != null) {
+            emailDirectory.release(email, shard);
+        }
+    }
+
+    @Override
+    public int bulkUpdateEmployees(EmployeeCriteria criteria, Employee patch) {
+        // emails are never bulk-updated, so the directory stays as it is
+        return scatter(shardsMatching(criteria), shard -> employeeService.bulkUpdateEmployees(criteria, patch))
+                .stream().mapToInt(Integer::intValue).sum();
+    }
+
+    /**
+     * Each shard locks its matching rows and deletes exactly those, so the emails released afterwards are the
+     * ones that went away.
+     */
+    @Override
+    public int bulkDeleteEmployees(EmployeeCriteria criteria) {
+        return scatter(shardsMatching(criteria), shard -> {
+            List<String> emails = new ArrayList<>();
+            Integer deleted = transaction.execute(status -> {
+                List<Long> ids = employeeRepository.lockIdsMatching(criteria);
+                if (ids.isEmpty()) {
+                    return 0;
+                }
+                for (int from = 0; from < ids.size(); from += BULK_CHUNK_SIZE) {
+                    emails.addAll(employeeRepository.findEmailsByIdIn(
+                            ids.subList(from, Math.min(from + BULK_CHUNK_SIZE, ids.size()))));
+                }
+                return employeeService.bulkDeleteEmployees(new EmployeeCriteria(ids, null, null, null, null));
+            });
+            emailDirectory.releaseAll(emails, shard);
+            return deleted;
+        }).stream().mapToInt(Integer::intValue).sum();
+    }
+
+    @Override
+    public HeadcountSummary getHeadcount() {
+        return employeeService.getHeadcount();
+    }
+
+    @Override
+    public String getEmployeesRevision() {
+        return employeeService.getEmployeesRevision();
+    }
+
+    /**
+     * Runs {@code update} on the employee's shard. When it changes the email, the new one is claimed before and
+     * the old one released after. The old email is read with the row locked, in the update's transaction, so
+     * that of two concurrent changes the second waits and then replaces the email the first one set.
+     */
+    private Employee updateOnShard(Long id, boolean setsEmail, String newEmail, Supplier<Employee> update) {
+        int shard = shards.shardOf(id);
+        if (!setsEmail) {
+            return ShardRoutingDataSource.onShard(shard, update);
+        }
+        AtomicReference<String> claimed = new AtomicReference<>();
+        AtomicReference<String> replaced = new AtomicReference<>();
+        Employee updated;
+        try {
+            updated = ShardRoutingDataSource.onShard(shard, () -> transaction.execute(status -> {
+                String oldEmail = lockEmail(id);
+                if (!Objects.equals(oldEmail, newEmail)) {
+                    if (newEmail != null) {
+                        emailDirectory.claim(newEmail, shard);
+                        claimed.set(newEmail);
+                    }
+                    replaced.set(oldEmail);
+                }
+                return update.get();
+            }));
+        } catch (RuntimeException e) {
+            if (claimed.get() != null) {
+                emailDirectory.release(claimed.get(), shard);
+            }
+            throw e;
+        }
+        if (replaced.get() != null) {
+            emailDirectory.release(replaced.get(), shard);
+        }
+        return updated;
+    }
+
+    /**
+     * Locks the employee's row until the current transaction ends.
+     *
+     * @return its email, or null if it has none or does not exist
+     */
+    private String lockEmail(Long id) {
+        List<Long> locked = employeeRepository.lockIdsMatching(new EmployeeCriteria(List.of(id), null, null, null, null));
+        if (locked.isEmpty()) {
+            return null;
+        }
+        List<String> emails = employeeRepository.findEmailsByIdIn(locked);
+        return emails.isEmpty() ? null : emails.get(0);
+    }
+
+    /**
+     * Reads the sort values of the employee a page continues after from its shard, once, for all shards to
+     * seek past.
+     */
+    private EmployeeFields anchor(Long afterId, Sort sort) {
+        if (afterId == null) {
+            return null;
+        }
+        Set<EmployeeField> keys = sortKeys(sort);
+        keys.remove(EmployeeField.ID);
+        if (keys.isEmpty()) {
+            return new EmployeeFields(afterId, null, Map.of());
+        }
+        return ShardRoutingDataSource.onShard(shards.shardOf(afterId), () -> readOnlyTransaction.execute(
+                        status -> employeeRepository.findFieldsById(afterId, keys)))
+                .orElseThrow(() -> EmployeeServiceImpl.deletedAnchor(afterId));
+    }
+
+    private static Set<EmployeeField> sortKeys(Sort sort) {
+        Set<EmployeeField> keys = EnumSet.noneOf(EmployeeField.class);
+        for (Sort.Order order : sort) {
+            keys.add(EmployeeField.fromAttribute(order.getProperty()));
+        }
+        return keys;
+    }
+
+    /**
+     * Orders like the database does for {@code sort}: strings by code point, nulls before any value.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> Comparator<T> comparator(Sort sort, BiFunction<T, String, Object> valueOf) {
+        Comparator<T> comparator = (a, b) -> 0;
+        for (Sort.Order order : sort) {
+            Comparator<Comparable<Object>> values = Comparator.nullsFirst(Comparator.naturalOrder());
+            Comparator<T> byProperty = Comparator.comparing(
+                    row -> (Comparable<Object>) valueOf.apply(row, order.getProperty()), values);
+            comparator = comparator.thenComparing(order.isAscending() ? byProperty : byProperty.reversed());
+        }
+        return comparator;
+    }
+
+    private static Object valueOf(Employee employee, String attribute) {
+        return switch (EmployeeField.fromAttribute(attribute)) {
+            case ID -> employee.getId();
+            case FIRST_NAME -> employee.getFirstName();
+            case LAST_NAME -> employee.getLastName();
+            case EMAIL -> employee.getEmail();
+            case POSITION -> employee.getPosition();
+            case HIRE_DATE -> employee.getHireDate();
+            case VERSION -> employee.getVersion();
+        };
+    }
+
+    private static Object valueOf(EmployeeFields fields, String attribute) {
+        return "id".equals(attribute) ? fields.getId() : fields.getValues().get(attribute);
+    }
+
+    private List<Integer> shardsMatching(EmployeeCriteria criteria) {
+        if (criteria.getIds() == null) {
+            return allShards;
+        }
+        return criteria.getIds().stream().map(shards::shardOf).distinct().sorted().toList();
+    }
+
+    private int nextShard() {
+        return Math.floorMod(nextShard.getAndIncrement(), allShards.size());
+    }
+
+    /**
+     * Calls {@code call} on each of {@code targets} in parallel, the first on this thread, and waits for all of
+     * them. The results come back in the order of {@code targets}; if any call failed, so does this one.
+     */
+    private <T> List<T> scatter(List<Integer> targets, IntFunction<T> call) {
+        if (targets.isEmpty()) {
+            return List.of();
+        }
+        List<Future<T>> futures = new ArrayList<>(targets.size());
+        for (int shard : targets.subList(1, targets.size())) {
+            futures.add(scatter.submit(() -> ShardRoutingDataSource.onShard(shard, () -> call.apply(shard))));
+        }
+
+        List<T> results = new ArrayList<>(targets.size());
+        RuntimeException failure = null;
+        try {
+            results.add(ShardRoutingDataSource.onShard(targets.get(0), () -> call.apply(targets.get(0))));
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+        for (Future<T> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (ExecutionException e) {
+                RuntimeException cause = e.getCause() instanceof RuntimeException runtime
+                        ? runtime
+                        : new IllegalStateException("Shard call failed", e.getCause());
+                if (failure == null) {
+                    failure = cause;
+                } else {
+                    failure.addSuppressed(cause);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the shards", e);
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        return results;
+    }
+
+    /**
+     * K-way merge of lists that are each sorted by id, up to {@code limit} elements.
+     */
+    private static <T> List<T> mergeById(List<List<T>> sorted, Function<T, Long> id, int limit) {
+        return merge(sorted, Comparator.comparing(id), limit);
+    }
+
+    /**
+     * K-way merge of lists that are each sorted by {@code order}, up to {@code limit} elements.
+     */
+    private static <T> List<T> merge(List<List<T>> sorted, Comparator<T> order, int limit) {
+        PriorityQueue<Head<T>> heads = new PriorityQueue<>((a, b) -> order.compare(a.value, b.value));
+        int total = 0;
+        for (List<T> list : sorted) {
+            total += list.size();
+            Iterator<T> iterator = list.iterator();
+            if (iterator.hasNext()) {
+                heads.add(new Head<>(iterator.next(), iterator));
+            }
+        }
+        List<T> merged = new ArrayList<>(Math.min(total, limit));
+        while (!heads.isEmpty() && merged.size() < limit) {
+            Head<T> head = heads.poll();
+            merged.add(head.value);
+            if (head.rest.hasNext()) {
+                heads.add(new Head<>(head.rest.next(), head.rest));
+            }
+        }
+        return merged;
+    }
+
+    private static final class Head<T> {
+        final T value;
+        final Iterator<T> rest;
+
+        Head(T value, Iterator<T> rest) {
+            this.value = value;
+            this.rest = rest;
+        }
+    }
+}
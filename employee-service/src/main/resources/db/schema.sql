@@ -0,0 +1,37 @@
+-- Schema of the employee entities, for running with spring.jpa.hibernate.ddl-auto=validate
+-- (the fast-startup profile). Keep in step with the @Entity classes; Hibernate refuses to start on a mismatch.
+
+create sequence if not exists employees_seq start with 1 increment by 50;
+
+create table if not exists employees (
+    id bigint not null,
+    first_name varchar(255),
+    last_name varchar(255),
+    email varchar(255) unique,
+    position varchar(255),
+    hire_date date,
+    version bigint,
+    primary key (id)
+);
+
+create index if not exists employees_position_hire_date_idx on employees (position, hire_date);
+create index if not exists employees_hire_date_idx on employees (hire_date);
+create index if not exists employees_last_name_idx on employees (last_name);
+
+create sequence if not exists employee_changes_id_seq start with 1 increment by 50;
+
+create table if not exists employee_changes (
+    id bigint not null,
+    seq bigint,
+    type enum ('CREATED','DELETED','UPDATED'),
+    employee_id bigint,
+    version bigint,
+    first_name varchar(255),
+    last_name varchar(255),
+    email varchar(255),
+    position varchar(255),
+    hire_date date,
+    recorded_at timestamp(6) with time zone,
+    primary key (id),
+    constraint employee_changes_seq_idx unique (seq)
+);
@@ -0,0 +1,65 @@
+package org.example.employeeservice.analytics;
+
+import org.example.employeeservice.entity.Employee;
+import org.example.employeeservice.event.EmployeeSavedEvent;
+import org.example.employeeservice.service.EmployeeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest
+class HeadcountAnalyticsTests {
+
+	@Autowired
+	private EmployeeService employeeService;
+
+	@Autowired
+	private HeadcountAnalytics headcountAnalytics;
+
+	@Test
+	void maintainedCountsMatchRecompute() {
+		long engineersBefore = headcountAnalytics.summary().getByPosition().getOrDefault("Engineer", 0L);
+
+		Employee alice = employeeService.createEmployee(employee("alice.headcount@example.com", "Engineer", LocalDate.of(2023, 10, 1)));
+		Employee bob = employeeService.createEmployee(employee("bob.headcount@example.com", "Engineer", LocalDate.of(2023, 10, 15)));
+		employeeService.upsertEmployees(List.of(employee("carol.headcount@example.com", "Designer", null)));
+		assertEquals(headcountAnalytics.recompute(), headcountAnalytics.summary());
+		assertEquals(engineersBefore + 2, headcountAnalytics.summary().getByPosition().get("Engineer"));
+
+		Employee promotion = new Employee();
+		promotion.setPosition("Manager");
+		promotion.setHireDate(LocalDate.of(2024, 1, 2));
+		employeeService.partialUpdateEmployee(alice.getId(), promotion);
+		employeeService.updateEmployee(bob.getId(), employee("bob.headcount@example.com", "Designer", LocalDate.of(2022, 5, 5)));
+		assertEquals(headcountAnalytics.recompute(), headcountAnalytics.summary());
+		assertEquals(engineersBefore, headcountAnalytics.summary().getByPosition().getOrDefault("Engineer", 0L));
+
+		employeeService.deleteEmployee(alice.getId(), null);
+		assertEquals(headcountAnalytics.recompute(), headcountAnalytics.summary());
+		assertNull(headcountAnalytics.summary().getHiresByMonth().get(YearMonth.of(2024, 1)));
+	}
+
+	@Test
+	void aSaveArrivingAfterTheDeleteDoesNotCountTheEmployeeAgain() {
+		Employee dave = employeeService.createEmployee(employee("dave.headcount@example.com", "Headcount Tester", LocalDate.of(2023, 3, 1)));
+		Employee staleSnapshot = employeeService.getEmployeeById(dave.getId());
+
+		employeeService.deleteEmployee(dave.getId(), null);
+		// the listener of a concurrent update that committed before the delete, running late
+		headcountAnalytics.onEmployeeSaved(new EmployeeSavedEvent(staleSnapshot));
+
+		assertNull(headcountAnalytics.summary().getByPosition().get("Headcount Tester"));
+		assertEquals(headcountAnalytics.recompute(), headcountAnalytics.summary());
+	}
+
+	private static Employee employee(String email, String position, LocalDate hireDate) {
+		return new Employee(null, "Head", "Count", email, position, hireDate);
+	}
+}
@@ -0,0 +1,92 @@
+package org.example.employeeservice.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BulkheadDataSourceTests {
+
+	private final MeterRegistry registry = new SimpleMeterRegistry();
+
+	private final DataSource target = mock(DataSource.class);
+
+	private BulkheadDataSource dataSource;
+
+	@BeforeEach
+	void setUp() {
+		JdbcBulkhead bulkhead = new JdbcBulkhead(1, 0, Duration.ofSeconds(5));
+		bulkhead.bindTo(registry);
+		dataSource = new BulkheadDataSource(target, bulkhead);
+	}
+
+	@Test
+	void aPermitIsHeldUntilTheConnectionIsClosed() throws Exception {
+		Connection pooled = mock(Connection.class);
+		when(target.getConnection()).thenReturn(pooled);
+
+		Connection connection = dataSource.getConnection();
+		assertEquals(1, active());
+		assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+
+		connection.close();
+		// closing again must not hand back a permit someone else now holds
+		connection.close();
+		assertEquals(0, active());
+		verify(pooled, times(2)).close();
+
+		dataSource.getConnection();
+		assertEquals(1, active());
+	}
+
+	@Test
+	void aConnectionThatFailsToOpenGivesItsPermitBack() throws Exception {
+		SQLException poolTimeout = new SQLException("Connection is not available");
+		when(target.getConnection()).thenThrow(poolTimeout);
+
+		assertSame(poolTimeout, assertThrows(SQLException.class, dataSource::getConnection));
+		assertEquals(0, active());
+	}
+
+	@Test
+	void aConnectionThatFailsToCloseStillGivesItsPermitBack() throws Exception {
+		Connection pooled = mock(Connection.class);
+		SQLException closeFailure = new SQLException("Connection is broken");
+		doThrow(closeFailure).when(pooled).close();
+		when(target.getConnection()).thenReturn(pooled);
+
+		Connection connection = dataSource.getConnection();
+		assertSame(closeFailure, assertThrows(SQLException.class, connection::close));
+		assertEquals(0, active());
+	}
+
+	@Test
+	void otherCallsReachThePooledConnection() throws Exception {
+		Connection pooled = mock(Connection.class);
+		when(target.getConnection("user", "secret")).thenReturn(pooled);
+		when(pooled.getAutoCommit()).thenReturn(true);
+
+		Connection connection = dataSource.getConnection("user", "secret");
+		assertEquals(true, connection.getAutoCommit());
+		assertEquals(1, active());
+	}
+
+	private double active() {
+		return registry.get("employee.jdbc.bulkhead.active").gauge().value();
+	}
+}
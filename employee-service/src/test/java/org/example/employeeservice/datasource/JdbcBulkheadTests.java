@@ -0,0 +1,92 @@
+package org.example.employeeservice.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JdbcBulkheadTests {
+
+	private final MeterRegistry registry = new SimpleMeterRegistry();
+
+	@Test
+	void noMoreThanMaxConcurrentCallersHoldAPermit() throws Exception {
+		JdbcBulkhead bulkhead = bulkhead(2, 0, Duration.ofSeconds(5));
+		bulkhead.acquire();
+		bulkhead.acquire();
+		assertEquals(2, gauge("employee.jdbc.bulkhead.active"));
+
+		// nobody may wait, so the third caller is turned away at once
+		SQLTransientConnectionException rejected = assertThrows(SQLTransientConnectionException.class, bulkhead::acquire);
+		assertEquals("JDBC bulkhead queue is full (0 waiting)", rejected.getMessage());
+		assertEquals(1, rejected());
+
+		bulkhead.release();
+		bulkhead.acquire();
+		assertEquals(2, gauge("employee.jdbc.bulkhead.active"));
+	}
+
+	@Test
+	void aWaitingCallerGetsTheNextReleasedPermit() throws Exception {
+		JdbcBulkhead bulkhead = bulkhead(1, 1, Duration.ofSeconds(10));
+		bulkhead.acquire();
+
+		CompletableFuture<Void> waiter = CompletableFuture.runAsync(() -> {
+			try {
+				bulkhead.acquire();
+			} catch (SQLTransientConnectionException e) {
+				throw new IllegalStateException(e);
+			}
+		});
+		for (int i = 0; i < 100 && gauge("employee.jdbc.bulkhead.waiting") == 0; i++) {
+			Thread.sleep(10);
+		}
+		assertEquals(1, gauge("employee.jdbc.bulkhead.waiting"));
+		assertFalse(waiter.isDone());
+
+		bulkhead.release();
+		waiter.get(5, TimeUnit.SECONDS);
+		assertEquals(0, gauge("employee.jdbc.bulkhead.waiting"));
+		assertEquals(1, gauge("employee.jdbc.bulkhead.active"));
+		assertEquals(0, rejected());
+	}
+
+	@Test
+	void aCallerThatWaitsTooLongIsRejected() throws Exception {
+		JdbcBulkhead bulkhead = bulkhead(1, 1, Duration.ofMillis(100));
+		bulkhead.acquire();
+
+		long start = System.nanoTime();
+		SQLTransientConnectionException rejected = assertThrows(SQLTransientConnectionException.class, bulkhead::acquire);
+		long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+		assertEquals("Timed out waiting for a JDBC bulkhead permit", rejected.getMessage());
+		assertTrue(waitedMillis >= 100, "waited " + waitedMillis + " ms");
+		assertEquals(0, gauge("employee.jdbc.bulkhead.waiting"));
+		assertEquals(1, gauge("employee.jdbc.bulkhead.active"));
+		assertEquals(1, rejected());
+	}
+
+	private JdbcBulkhead bulkhead(int maxConcurrent, int maxWaiting, Duration maxWait) {
+		JdbcBulkhead bulkhead = new JdbcBulkhead(maxConcurrent, maxWaiting, maxWait);
+		bulkhead.bindTo(registry);
+		return bulkhead;
+	}
+
+	private double gauge(String name) {
+		return registry.get(name).gauge().value();
+	}
+
+	private double rejected() {
+		return registry.get("employee.jdbc.bulkhead.rejected").functionCounter().count();
+	}
+}
@@ -0,0 +1,129 @@
+package org.example.employeeservice.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.example.employeeservice.entity.Employee;
+import org.example.employeeservice.service.EmployeeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.example.employeeservice.datasource.ReadWriteRoutingDataSource.PRIMARY;
+import static org.example.employeeservice.datasource.ReadWriteRoutingDataSource.REPLICA;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Two pools on one in-memory H2 database stand in for a primary and its (synchronous) replica.
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:routing_db",
+		"employee.datasource.replica.url=jdbc:h2:mem:routing_db",
+		"employee.datasource.replica.read-your-writes-window=500ms"
+})
+class ReadWriteRoutingTests {
+
+	@Autowired
+	private EmployeeService employeeService;
+
+	@Autowired
+	private ReadWriteRoutingDataSource routingDataSource;
+
+	@Autowired
+	private HikariDataSource replicaDataSource;
+
+	@Test
+	void readOnlyCallsGoToTheReplicaOutsideTheReadYourWritesWindow() throws InterruptedException {
+		assertEquals(REPLICA, replicaDataSource.getPoolName());
+		assertTrue(replicaDataSource.isReadOnly());
+
+		long primaryBefore = routingDataSource.getConnectionCount(PRIMARY);
+		Employee created = employeeService.createEmployee(
+				new Employee(null, "Rita", "Route", "rita.route@example.com", "Engineer", LocalDate.of(2024, 2, 1)));
+		assertTrue(routingDataSource.getConnectionCount(PRIMARY) > primaryBefore);
+
+		long replicaBefore = routingDataSource.getConnectionCount(REPLICA);
+		assertEquals(created.getId(), employeeService.getEmployeesAfter(created.getId() - 1, 1).get(0).getId());
+		assertEquals(replicaBefore, routingDataSource.getConnectionCount(REPLICA), "read inside the window went to the replica");
+
+		Thread.sleep(600);
+		assertFalse(employeeService.searchEmployees("route", 10).isEmpty());
+		assertEquals(created.getId(), employeeService.getEmployeesAfter(created.getId() - 1, 1).get(0).getId());
+		assertEquals(replicaBefore + 2, routingDataSource.getConnectionCount(REPLICA));
+
+		ReadWriteRoutingDataSource.onPrimary(() -> employeeService.getEmployeesAfter(0L, 1));
+		assertEquals(replicaBefore + 2, routingDataSource.getConnectionCount(REPLICA), "pinned read went to the replica");
+	}
+
+	@Test
+	void onlyTheClientThatWroteReadsFromThePrimary() throws Exception {
+		ReadWriteRoutingDataSource.clearClientLastWrite();
+		ExecutorService otherClient = Executors.newSingleThreadExecutor();
+		try {
+			otherClient.submit(() -> employeeService.createEmployee(
+					new Employee(null, "Otto", "Route", "otto.route@example.com", "Engineer", LocalDate.of(2024, 2, 1)))).get();
+		} finally {
+			otherClient.shutdown();
+		}
+
+		long replicaBefore = routingDataSource.getConnectionCount(REPLICA);
+		employeeService.getEmployeesAfter(0L, 1);
+		assertEquals(replicaBefore + 1, routingDataSource.getConnectionCount(REPLICA), "another client's write pinned this read");
+
+		// a client that says it has just written, e.g. through another instance
+		ReadWriteRoutingDataSource.setClientLastWrite(Instant.now());
+		try {
+			employeeService.getEmployeesAfter(0L, 1);
+			assertEquals(replicaBefore + 1, routingDataSource.getConnectionCount(REPLICA), "read after the client's write went to the replica");
+		} finally {
+			ReadWriteRoutingDataSource.clearClientLastWrite();
+		}
+		employeeService.getEmployeesAfter(0L, 1);
+		assertEquals(replicaBefore + 2, routingDataSource.getConnectionCount(REPLICA));
+	}
+
+	@Test
+	void aWriteTimeFromTheFutureCountsAsNowOrNotAtAll() {
+		long replicaBefore = routingDataSource.getConnectionCount(REPLICA);
+		try {
+			// clock skew between instances
+			ReadWriteRoutingDataSource.setClientLastWrite(Instant.now().plusMillis(200));
+			employeeService.getEmployeesAfter(0L, 1);
+			assertEquals(replicaBefore, routingDataSource.getConnectionCount(REPLICA), "read after the client's write went to the replica");
+
+			// not a time this service handed out
+			ReadWriteRoutingDataSource.setClientLastWrite(Instant.now().plus(Duration.ofDays(365)));
+			employeeService.getEmployeesAfter(0L, 1);
+			assertEquals(replicaBefore + 1, routingDataSource.getConnectionCount(REPLICA), "a far future write time pinned the client");
+		} finally {
+			ReadWriteRoutingDataSource.clearClientLastWrite();
+		}
+	}
+
+	@Test
+	void sharedResultsAreLoadedFromThePrimary() throws Exception {
+		ExecutorService otherClient = Executors.newSingleThreadExecutor();
+		Long id;
+		try {
+			id = otherClient.submit(() -> employeeService.createEmployee(
+					new Employee(null, "Sher", "Route", "sher.route@example.com", "Engineer", LocalDate.of(2024, 2, 1))).getId()).get();
+		} finally {
+			otherClient.shutdown();
+		}
+		ReadWriteRoutingDataSource.clearClientLastWrite();
+
+		// a client that did not write fills the cache entry and the coalesced list everyone else is served
+		long replicaBefore = routingDataSource.getConnectionCount(REPLICA);
+		long primaryBefore = routingDataSource.getConnectionCount(PRIMARY);
+		assertEquals("Sher", employeeService.getEmployeeById(id).getFirstName());
+		assertFalse(employeeService.getAllEmployees().isEmpty());
+		assertEquals(replicaBefore, routingDataSource.getConnectionCount(REPLICA), "a shared result was loaded from the replica");
+		assertTrue(routingDataSource.getConnectionCount(PRIMARY) >= primaryBefore + 2);
+	}
+}
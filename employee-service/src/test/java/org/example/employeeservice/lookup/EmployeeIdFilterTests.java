@@ -0,0 +1,106 @@
+package org.example.employeeservice.lookup;
+
+import org.example.employeecommon.exception.ResourceNotFoundException;
+import org.example.employeeservice.entity.Employee;
+import org.example.employeeservice.service.EmployeeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// its own database, as one test writes a row behind the application's back
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:id_filter_db")
+class EmployeeIdFilterTests {
+
+	@Autowired
+	private EmployeeService employeeService;
+
+	@Autowired
+	private EmployeeIdFilter employeeIdFilter;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Test
+	void followsCreatesAndDeletes() {
+		Employee created = employeeService.createEmployee(employee("ida.filter@example.com"));
+		assertTrue(employeeIdFilter.mightExist(created.getId()));
+		assertFalse(employeeIdFilter.mightExist(created.getId() + 1_000));
+		assertFalse(employeeIdFilter.mightExist(0L));
+
+		employeeService.deleteEmployee(created.getId(), null);
+		assertFalse(employeeIdFilter.mightExist(created.getId()));
+	}
+
+	@Test
+	void unknownIdsAreLookedUpInTheDatabase() {
+		long id = jdbcTemplate.queryForObject("select coalesce(max(id), 0) + 10000 from employees", Long.class);
+		assertFalse(employeeIdFilter.mightExist(id));
+
+		// a write this instance gets no event for, as through the H2 console or from another instance
+		jdbcTemplate.update("insert into employees (id, first_name, last_name, email, position, hire_date, version) "
+				+ "values (?, 'Olga', 'Outside', 'olga.outside@example.com', 'Engineer', ?, 0)", id, LocalDate.of(2024, 2, 1));
+		assertTrue(employeeIdFilter.mightExist(id));
+		assertEquals("Outside", employeeService.getEmployeeById(id).getLastName());
+		assertFalse(employeeIdFilter.mightExist(id - 1));
+	}
+
+	@Test
+	void aLowerIdCommittedAfterAHigherOneIsFound() {
+		AtomicLong higher = new AtomicLong();
+		AtomicReference<Boolean> foundBeforeItsEvent = new AtomicReference<>();
+		Long lower = new TransactionTemplate(transactionManager).execute(status -> {
+			Long id = employeeService.createEmployee(employee("lou.lower@example.com")).getId();
+			// a later transaction draws the next id and commits first
+			higher.set(CompletableFuture.supplyAsync(
+					() -> employeeService.createEmployee(employee("hugo.higher@example.com")).getId()).join());
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public int getOrder() {
+					return Ordered.HIGHEST_PRECEDENCE;
+				}
+
+				@Override
+				public void afterCommit() {
+					// committed, with the event that adds it to the filter still to come
+					foundBeforeItsEvent.set(employeeIdFilter.mightExist(id));
+				}
+			});
+			return id;
+		});
+
+		assertTrue(lower < higher.get());
+		assertEquals(Boolean.TRUE, foundBeforeItsEvent.get());
+		assertEquals("lou.lower@example.com", employeeService.getEmployeeById(lower).getEmail());
+	}
+
+	@Test
+	void missesAreAnsweredWithoutAStackTrace() {
+		ResourceNotFoundException miss = assertThrows(ResourceNotFoundException.class,
+				() -> employeeService.getEmployeeById(987_654L));
+		assertEquals("Employee not found with id 987654", miss.getMessage());
+		assertEquals(0, miss.getStackTrace().length);
+	}
+
+	private static Employee employee(String email) {
+		return new Employee(null, "Ida", "Filter", email, "Engineer", LocalDate.of(2024, 4, 1));
+	}
+}
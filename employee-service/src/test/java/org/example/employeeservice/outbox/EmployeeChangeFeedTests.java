@@ -0,0 +1,100 @@
+package org.example.employeeservice.outbox;
+
+import org.example.employeeservice.entity.Employee;
+import org.example.employeeservice.entity.EmployeeChange;
+import org.example.employeeservice.service.EmployeeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class EmployeeChangeFeedTests {
+
+	@Autowired
+	private EmployeeService employeeService;
+
+	@Autowired
+	private EmployeeChangeFeed employeeChangeFeed;
+
+	@Test
+	void committedChangesArriveInOrderAndCanBeResumed() throws Exception {
+		List<EmployeeChange> changes;
+		Long id;
+		try (EmployeeChangeSubscription subscription = employeeChangeFeed.subscribe(null)) {
+			Employee created = employeeService.createEmployee(employee("dana.feed@example.com", "Dana"));
+			id = created.getId();
+			Employee promotion = new Employee();
+			promotion.setPosition("Manager");
+			employeeService.partialUpdateEmployee(id, promotion);
+			// rolled back together with its outbox record
+			assertThrows(DataIntegrityViolationException.class,
+					() -> employeeService.createEmployee(employee("dana.feed@example.com", "Rolled")));
+			employeeService.deleteEmployee(id, null);
+
+			changes = collect(subscription, 3, change -> id.equals(change.getEmployeeId()) || "Rolled".equals(change.getFirstName()));
+		}
+		assertEquals(List.of(EmployeeChange.Type.CREATED, EmployeeChange.Type.UPDATED, EmployeeChange.Type.DELETED),
+				changes.stream().map(EmployeeChange::getType).toList());
+		assertEquals("Manager", changes.get(1).getPosition());
+		assertEquals(1L, changes.get(1).getVersion());
+		assertTrue(changes.get(0).getSequence() < changes.get(1).getSequence());
+		assertTrue(changes.get(1).getSequence() < changes.get(2).getSequence());
+
+		try (EmployeeChangeSubscription resumed = employeeChangeFeed.subscribe(changes.get(0).getSequence())) {
+			List<EmployeeChange> afterCreate = collect(resumed, 2, change -> id.equals(change.getEmployeeId()));
+			assertEquals(changes.get(1).getSequence(), afterCreate.get(0).getSequence());
+			assertEquals(changes.get(2).getSequence(), afterCreate.get(1).getSequence());
+		}
+	}
+
+	@Test
+	void subscriberThatFallsBehindCatchesUpWithoutGaps() throws Exception {
+		int count = EmployeeChangeFeed.SUBSCRIBER_BUFFER + EmployeeChangeFeed.BATCH_SIZE;
+		try (EmployeeChangeSubscription subscription = employeeChangeFeed.subscribe(null)) {
+			long start = subscription.getCursor();
+			List<Employee> employees = new ArrayList<>(count);
+			for (int i = 0; i < count; i++) {
+				employees.add(employee("slow" + i + ".feed@example.com", "Slow"));
+			}
+			// nothing is consumed while these are relayed, so the buffer overflows
+			employeeService.upsertEmployees(employees);
+
+			List<EmployeeChange> changes = collect(subscription, count, change -> "Slow".equals(change.getFirstName()));
+			long previous = start;
+			for (EmployeeChange change : changes) {
+				assertTrue(change.getSequence() > previous);
+				previous = change.getSequence();
+			}
+			assertEquals(count, changes.stream().map(EmployeeChange::getEmail).distinct().count());
+		}
+	}
+
+	private static List<EmployeeChange> collect(EmployeeChangeSubscription subscription, int count,
+												Predicate<EmployeeChange> relevant) throws InterruptedException {
+		List<EmployeeChange> collected = new ArrayList<>();
+		long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+		while (collected.size() < count && System.nanoTime() < deadline) {
+			for (EmployeeChange change : subscription.next(Duration.ofSeconds(1))) {
+				if (relevant.test(change)) {
+					collected.add(change);
+				}
+			}
+		}
+		return collected;
+	}
+
+	private static Employee employee(String email, String firstName) {
+		return new Employee(null, firstName, "Feed", email, "Engineer", LocalDate.of(2023, 10, 1));
+	}
+}
@@ -0,0 +1,121 @@
+package org.example.employeeservice.repository;
+
+import org.example.employeeservice.entity.Employee;
+import org.example.employeeservice.model.EmployeeCriteria;
+import org.example.employeeservice.model.EmployeeField;
+import org.example.employeeservice.model.EmployeeFields;
+import org.example.employeeservice.service.EmployeeService;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs EXPLAIN on the SQL that Hibernate actually sends for filtered listings, to check that the secondary
+ * indexes on {@code employees} serve them.
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:query_plan_db",
+		"spring.jpa.properties.hibernate.session_factory.statement_inspector="
+				+ "org.example.employeeservice.repository.EmployeeQueryPlanTests$RecordingInspector"
+})
+class EmployeeQueryPlanTests {
+	private static final List<String> POSITIONS = List.of("Engineer", "Manager", "Designer", "Analyst", "Recruiter");
+
+	@Autowired
+	private EmployeeService employeeService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void fillTable() {
+		if (jdbcTemplate.queryForObject("select count(*) from employees", Integer.class) > 0) {
+			return;
+		}
+		List<Employee> employees = new ArrayList<>();
+		for (int i = 0; i < 1_000; i++) {
+			employees.add(new Employee(null, "Plan", "Surname" + (i % 200), "plan" + i + "@example.com",
+					POSITIONS.get(i % POSITIONS.size()), LocalDate.of(2018, 1, 1).plusDays(i * 3L)));
+		}
+		employeeService.insertEmployees(employees);
+		jdbcTemplate.execute("analyze");
+	}
+
+	@Test
+	void positionAndHireDateRangeUseTheCompositeIndex() {
+		EmployeeCriteria engineersOf2023 = new EmployeeCriteria(null, "Engineer", null,
+				LocalDate.of(2023, 1, 1), LocalDate.of(2023, 12, 31));
+		Sort newestFirst = Sort.by(Sort.Order.desc("hireDate"), Sort.Order.desc("id"));
+
+		List<Employee> page = employeeService.findEmployees(engineersOf2023, newestFirst, null, 10);
+		String plan = explainLastQuery("Engineer", LocalDate.of(2023, 1, 1), LocalDate.of(2023, 12, 31), 10);
+		assertTrue(plan.contains("EMPLOYEES_POSITION_HIRE_DATE_IDX"), plan);
+
+		assertEquals(10, page.size());
+		for (Employee employee : page) {
+			assertEquals("Engineer", employee.getPosition());
+			assertEquals(2023, employee.getHireDate().getYear());
+		}
+		assertEquals(page.stream().sorted(Comparator.comparing(Employee::getHireDate).reversed()).toList(), page);
+
+		// the next page continues after the last row, still newest first
+		List<Employee> next = employeeService.findEmployees(engineersOf2023, newestFirst,
+				page.get(page.size() - 1).getId(), 10);
+		assertTrue(next.get(0).getHireDate().isBefore(page.get(page.size() - 1).getHireDate()));
+	}
+
+	@Test
+	void lastNameUsesItsIndex() {
+		List<EmployeeFields> smiths = employeeService.findEmployeeFields(new EmployeeCriteria(null, null, "Surname7", null, null),
+				Sort.by("id"), null, null, Set.of(EmployeeField.EMAIL));
+		String plan = explainLastQuery("Surname7");
+		assertTrue(plan.contains("EMPLOYEES_LAST_NAME_IDX"), plan);
+		assertEquals(5, smiths.size());
+	}
+
+	@Test
+	void hireDateRangeAloneUsesTheHireDateIndex() {
+		List<Employee> hires = employeeService.findEmployees(
+				new EmployeeCriteria(null, null, null, LocalDate.of(2020, 3, 1), LocalDate.of(2020, 3, 31)),
+				Sort.by("hireDate", "id"), null, null);
+		String plan = explainLastQuery(LocalDate.of(2020, 3, 1), LocalDate.of(2020, 3, 31));
+		assertTrue(plan.contains("EMPLOYEES_HIRE_DATE_IDX"), plan);
+		assertTrue(hires.size() >= 10 && hires.size() <= 11, "hires in March 2020: " + hires.size());
+	}
+
+	/**
+	 * EXPLAIN for the last employees query Hibernate sent, with its parameters bound to {@code parameters}.
+	 */
+	private String explainLastQuery(Object... parameters) {
+		String sql = RecordingInspector.statements.stream()
+				.filter(statement -> statement.startsWith("select") && statement.contains(" from employees "))
+				.reduce((first, second) -> second)
+				.orElseThrow();
+		RecordingInspector.statements.clear();
+		return jdbcTemplate.queryForObject("explain " + sql, String.class, parameters);
+	}
+
+	public static class RecordingInspector implements StatementInspector {
+		static final List<String> statements = new CopyOnWriteArrayList<>();
+
+		@Override
+		public String inspect(String sql) {
+			statements.add(sql);
+			return sql;
+		}
+	}
+}
@@ -0,0 +1,87 @@
+package org.example.employeeservice.search;
+
+import org.example.employeeservice.entity.Employee;
+import org.example.employeeservice.event.EmployeeSavedEvent;
+import org.example.employeeservice.service.EmployeeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// its own database, so the employees of other tests do not match these queries
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:search_db")
+class EmployeeSearchIndexTests {
+
+	@Autowired
+	private EmployeeService employeeService;
+
+	@Autowired
+	private EmployeeSearchIndex searchIndex;
+
+	@Test
+	void exactMatchesRankAbovePrefixesAndNamesAbovePositions() {
+		Long exact = create("Xeno", "Alpha", "xeno.alpha@example.com", "Clerk").getId();
+		Long prefix = create("Xenophon", "Beta", "x.beta@example.com", "Clerk").getId();
+		Long byPosition = create("Carl", "Gamma", "carl.gamma@example.com", "Xeno Specialist").getId();
+
+		// exact first name, prefix of a first name, exact position word
+		assertEquals(List.of(exact, prefix, byPosition), searchIndex.search("xeno", 10));
+		// both first names are prefixes now, so the lower id wins the tie
+		assertEquals(List.of(exact, prefix, byPosition), searchIndex.search("XEN", 10));
+		// every token must match
+		assertEquals(List.of(exact), searchIndex.search("xeno alph", 10));
+		assertEquals(List.of(byPosition), searchIndex.search("carl.gamma@example.com", 10));
+		assertEquals(List.of(), searchIndex.search("xeno delta", 10));
+	}
+
+	@Test
+	void resultsStopAtTheLimit() {
+		Long first = create("Limit", "One", "limit.one@example.com", "Clerk").getId();
+		Long second = create("Limit", "Two", "limit.two@example.com", "Clerk").getId();
+		create("Limit", "Three", "limit.three@example.com", "Clerk");
+
+		assertEquals(List.of(first, second), searchIndex.search("limit", 2));
+		assertEquals(3, searchIndex.search("limit", 10).size());
+		assertEquals(List.of(), searchIndex.search("limit", 0));
+	}
+
+	@Test
+	void updatesMoveTheEmployeeToItsNewTerms() {
+		Employee renamed = create("Quentin", "Moved", "q.moved@example.com", "Clerk");
+		Employee before = employeeService.getEmployeeById(renamed.getId());
+
+		Employee change = new Employee();
+		change.setFirstName("Rupert");
+		employeeService.partialUpdateEmployee(renamed.getId(), change);
+
+		assertEquals(List.of(), searchIndex.search("quentin", 10));
+		assertEquals(List.of(renamed.getId()), searchIndex.search("rupert moved", 10));
+
+		// an older version arriving late does not move it back
+		searchIndex.onEmployeeSaved(new EmployeeSavedEvent(before));
+		assertEquals(List.of(), searchIndex.search("quentin", 10));
+		assertEquals(List.of(renamed.getId()), searchIndex.search("rupert", 10));
+	}
+
+	@Test
+	void aSaveArrivingAfterTheDeleteDoesNotIndexTheEmployeeAgain() {
+		Employee gone = create("Tombstone", "Late", "tombstone.late@example.com", "Clerk");
+		Employee staleSnapshot = employeeService.getEmployeeById(gone.getId());
+		int size = searchIndex.size();
+
+		employeeService.deleteEmployee(gone.getId(), null);
+		// the listener of a concurrent update that committed before the delete, running late
+		searchIndex.onEmployeeSaved(new EmployeeSavedEvent(staleSnapshot));
+
+		assertEquals(List.of(), searchIndex.search("tombstone", 10));
+		assertEquals(size - 1, searchIndex.size());
+	}
+
+	private Employee create(String firstName, String lastName, String email, String position) {
+		return employeeService.createEmployee(new Employee(null, firstName, lastName, email, position, LocalDate.of(2022, 1, 3)));
+	}
+}
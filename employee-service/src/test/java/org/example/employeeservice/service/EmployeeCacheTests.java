@@ -0,0 +1,81 @@
+package org.example.employeeservice.service;
+
+import org.example.employeecommon.exception.ResourceNotFoundException;
+import org.example.employeeservice.config.CacheConfig;
+import org.example.employeeservice.entity.Employee;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+class EmployeeCacheTests {
+
+	@Autowired
+	private EmployeeService employeeService;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Test
+	void readsAfterEachWriteSeeTheWrite() {
+		Employee created = employeeService.createEmployee(employee("cora.cache@example.com", "Cache"));
+		Long id = created.getId();
+		assertEquals("Cache", employeeService.getEmployeeById(id).getLastName());
+
+		employeeService.updateEmployee(id, employee("cora.cache@example.com", "Replaced"));
+		Employee afterPut = employeeService.getEmployeeById(id);
+		assertEquals("Replaced", afterPut.getLastName());
+		assertEquals(1L, afterPut.getVersion());
+
+		Employee patch = new Employee();
+		patch.setLastName("Patched");
+		employeeService.partialUpdateEmployee(id, patch);
+		Employee afterPatch = employeeService.getEmployeeById(id);
+		assertEquals("Patched", afterPatch.getLastName());
+		assertEquals(2L, afterPatch.getVersion());
+
+		employeeService.deleteEmployee(id, null);
+		assertThrows(ResourceNotFoundException.class, () -> employeeService.getEmployeeById(id));
+	}
+
+	@Test
+	void writesReachTheCacheOnlyWhenTheyCommit() {
+		Long id = employeeService.createEmployee(employee("colin.cache@example.com", "Committed")).getId();
+		employeeService.getEmployeeById(id);
+		Cache cache = cacheManager.getCache(CacheConfig.EMPLOYEES_CACHE);
+
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			employeeService.updateEmployee(id, employee("colin.cache@example.com", "Uncommitted"));
+			// other readers keep getting the committed version until the commit
+			assertEquals("Committed", cache.get(id, Employee.class).getLastName());
+			status.setRollbackOnly();
+		});
+		assertEquals("Committed", employeeService.getEmployeeById(id).getLastName());
+
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			employeeService.deleteEmployee(id, null);
+			status.setRollbackOnly();
+		});
+		assertEquals("Committed", employeeService.getEmployeeById(id).getLastName());
+
+		employeeService.deleteEmployee(id, null);
+		assertNull(cache.get(id));
+	}
+
+	private static Employee employee(String email, String lastName) {
+		return new Employee(null, "Cache", lastName, email, "Engineer", LocalDate.of(2023, 8, 1));
+	}
+}
@@ -0,0 +1,122 @@
+package org.example.employeeservice.service;
+
+import org.example.employeeservice.concurrent.SingleFlight;
+import org.example.employeeservice.entity.Employee;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class EmployeeReadCoalescingTests {
+	// the key EmployeeServiceImpl runs getAllEmployees under
+	private static final String ALL_EMPLOYEES = "all";
+
+	@Autowired
+	private EmployeeService employeeService;
+
+	@Autowired
+	private SingleFlight<String, List<Employee>> allEmployeesFlight;
+
+	private final ExecutorService readers = Executors.newCachedThreadPool();
+
+	@AfterEach
+	void stopReaders() {
+		readers.shutdownNow();
+	}
+
+	@Test
+	void concurrentCallersShareOneLoad() throws Exception {
+		SingleFlight<String, String> flight = new SingleFlight<>("test");
+		CountDownLatch loading = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Future<String> leader = readers.submit(() -> flight.execute("key", () -> {
+			loading.countDown();
+			await(release);
+			return "loaded";
+		}));
+		assertTrue(loading.await(5, TimeUnit.SECONDS));
+		Future<String> follower = readers.submit(() -> flight.execute("key", () -> "own load"));
+		waitUntil(() -> flight.getCoalescedCount() == 1);
+		release.countDown();
+
+		assertEquals("loaded", leader.get(5, TimeUnit.SECONDS));
+		assertEquals("loaded", follower.get(5, TimeUnit.SECONDS));
+		assertEquals(1, flight.getLeaderCount());
+		// the flight is over, so the next caller loads again
+		assertEquals("own load", flight.execute("key", () -> "own load"));
+		assertEquals(2, flight.getLeaderCount());
+	}
+
+	@Test
+	void joinedCallersGetTheLeadersException() throws Exception {
+		SingleFlight<String, String> flight = new SingleFlight<>("test");
+		CountDownLatch release = new CountDownLatch(1);
+		Future<String> leader = readers.submit(() -> flight.execute("key", () -> {
+			await(release);
+			throw new IllegalStateException("load failed");
+		}));
+		waitUntil(() -> flight.getLeaderCount() == 1);
+		Future<String> follower = readers.submit(() -> flight.execute("key", () -> "own load"));
+		waitUntil(() -> flight.getCoalescedCount() == 1);
+		release.countDown();
+
+		for (Future<String> caller : List.of(leader, follower)) {
+			ExecutionException failure = assertThrows(ExecutionException.class, () -> caller.get(5, TimeUnit.SECONDS));
+			assertEquals("load failed", failure.getCause().getMessage());
+		}
+	}
+
+	@Test
+	void readsAfterACommittedWriteDoNotJoinAListStartedBeforeIt() throws Exception {
+		// a full listing still running when the write commits
+		CountDownLatch release = new CountDownLatch(1);
+		Future<List<Employee>> before = readers.submit(() -> allEmployeesFlight.execute(ALL_EMPLOYEES, () -> {
+			await(release);
+			return List.of();
+		}));
+		waitUntil(() -> allEmployeesFlight.getLeaderCount() > 0);
+		try {
+			Employee created = employeeService.createEmployee(
+					new Employee(null, "Fran", "Flight", "fran.flight@example.com", "Engineer", LocalDate.of(2019, 7, 8)));
+
+			// would wait for the old listing, and miss the new employee, if it joined it
+			List<Employee> after = readers.submit(employeeService::getAllEmployees).get(5, TimeUnit.SECONDS);
+			assertTrue(after.stream().anyMatch(employee -> employee.getId().equals(created.getId())));
+		} finally {
+			release.countDown();
+		}
+		assertEquals(List.of(), before.get(5, TimeUnit.SECONDS));
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (!condition.getAsBoolean()) {
+			assertTrue(System.nanoTime() < deadline, "timed out");
+			Thread.sleep(5);
+		}
+	}
+}
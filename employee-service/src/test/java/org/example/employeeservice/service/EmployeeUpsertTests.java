@@ -0,0 +1,103 @@
+package org.example.employeeservice.service;
+
+import org.example.employeeservice.entity.Employee;
+import org.example.employeeservice.model.EmployeeUpsertResult;
+import org.example.employeeservice.repository.EmployeeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+// its own database, so the emails looked up here exist only if these tests created them
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:upsert_db")
+class EmployeeUpsertTests {
+
+	@Autowired
+	private EmployeeService employeeService;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Test
+	void newEmailsAreCreatedAndKnownOnesUpdatedInPlace() {
+		Long known = employeeService.createEmployee(employee("upsert.known@example.com", "Before")).getId();
+
+		List<EmployeeUpsertResult> results = employeeService.upsertEmployees(new ArrayList<>(List.of(
+				employee("upsert.new@example.com", "New"),
+				employee("upsert.known@example.com", "After"))));
+
+		assertEquals(List.of(EmployeeUpsertResult.Status.CREATED, EmployeeUpsertResult.Status.UPDATED), statuses(results));
+		assertNotEquals(known, results.get(0).getEmployee().getId());
+		assertEquals(known, results.get(1).getEmployee().getId());
+		assertEquals("After", stored("upsert.known@example.com").getLastName());
+		assertEquals(1L, stored("upsert.known@example.com").getVersion());
+		assertEquals("New", stored("upsert.new@example.com").getLastName());
+	}
+
+	@Test
+	void anEmailRepeatedInOneBatchIsCreatedOnceAndThenUpdated() {
+		List<EmployeeUpsertResult> results = employeeService.upsertEmployees(new ArrayList<>(List.of(
+				employee("upsert.twice@example.com", "First"),
+				employee("upsert.other@example.com", "Other"),
+				employee("upsert.twice@example.com", "Second"))));
+
+		assertEquals(List.of(EmployeeUpsertResult.Status.CREATED, EmployeeUpsertResult.Status.CREATED,
+				EmployeeUpsertResult.Status.UPDATED), statuses(results));
+		assertEquals(results.get(0).getEmployee().getId(), results.get(2).getEmployee().getId());
+		assertEquals(1, employeeRepository.findByEmailIn(List.of("upsert.twice@example.com")).size());
+		assertEquals("Second", stored("upsert.twice@example.com").getLastName());
+	}
+
+	@Test
+	void repeatsAcrossChunkBoundariesFindTheRowsEarlierChunksWrote() {
+		// 120 rows are three chunks of 50; the last row of the first chunk is repeated as the first of the
+		// second, and an early row of the first chunk again in the third
+		List<Employee> employees = new ArrayList<>();
+		for (int i = 0; i < 120; i++) {
+			employees.add(employee("upsert.chunk" + i + "@example.com", "Row" + i));
+		}
+		employees.set(50, employee("upsert.chunk49@example.com", "Row50"));
+		employees.set(110, employee("upsert.chunk3@example.com", "Row110"));
+
+		List<EmployeeUpsertResult> results = employeeService.upsertEmployees(employees);
+
+		assertEquals(120, results.size());
+		for (int i = 0; i < 120; i++) {
+			EmployeeUpsertResult.Status expected = i == 50 || i == 110
+					? EmployeeUpsertResult.Status.UPDATED
+					: EmployeeUpsertResult.Status.CREATED;
+			assertEquals(expected, results.get(i).getStatus(), "row " + i);
+		}
+		assertEquals(results.get(49).getEmployee().getId(), results.get(50).getEmployee().getId());
+		assertEquals(results.get(3).getEmployee().getId(), results.get(110).getEmployee().getId());
+		assertEquals("Row50", stored("upsert.chunk49@example.com").getLastName());
+		assertEquals("Row110", stored("upsert.chunk3@example.com").getLastName());
+		assertEquals("Row119", stored("upsert.chunk119@example.com").getLastName());
+
+		List<String> emails = new ArrayList<>();
+		for (int i = 0; i < 120; i++) {
+			emails.add("upsert.chunk" + i + "@example.com");
+		}
+		assertEquals(118, employeeRepository.findByEmailIn(emails).size());
+	}
+
+	private Employee stored(String email) {
+		List<Employee> found = employeeRepository.findByEmailIn(List.of(email));
+		assertEquals(1, found.size(), email);
+		return found.get(0);
+	}
+
+	private static List<EmployeeUpsertResult.Status> statuses(List<EmployeeUpsertResult> results) {
+		return results.stream().map(EmployeeUpsertResult::getStatus).toList();
+	}
+
+	private static Employee employee(String email, String lastName) {
+		return new Employee(null, "Upsert", lastName, email, "Engineer", LocalDate.of(2021, 4, 5));
+	}
+}
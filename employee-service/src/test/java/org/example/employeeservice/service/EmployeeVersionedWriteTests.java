@@ -0,0 +1,112 @@
+package org.example.employeeservice.service;
+
+import org.example.employeecommon.exception.ResourceConflictException;
+import org.example.employeecommon.exception.ResourceNotFoundException;
+import org.example.employeeservice.entity.Employee;
+import org.example.employeeservice.repository.EmployeeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// its own database, so the missing id stays missing whatever other tests create
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:versioned_write_db")
+class EmployeeVersionedWriteTests {
+
+	private static final long MISSING_ID = 999_999L;
+
+	@Autowired
+	private EmployeeService employeeService;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Test
+	void eachWriteBumpsTheVersionByOne() {
+		Long id = employeeService.createEmployee(employee("vera.version@example.com", "Created")).getId();
+		assertEquals(0L, stored(id).getVersion());
+
+		Employee replacement = employee("vera.version@example.com", "Replaced");
+		replacement.setVersion(0L);
+		Employee replaced = employeeService.updateEmployee(id, replacement);
+		assertEquals(1L, replaced.getVersion());
+		assertEquals(1L, stored(id).getVersion());
+		assertEquals("Replaced", stored(id).getLastName());
+
+		// without an expected version the write is unconditional, and still counts
+		Employee unconditional = employeeService.updateEmployee(id, employee("vera.version@example.com", "Again"));
+		assertEquals(2L, unconditional.getVersion());
+
+		Employee patch = new Employee();
+		patch.setPosition("Lead");
+		patch.setVersion(2L);
+		Employee patched = employeeService.partialUpdateEmployee(id, patch);
+		assertEquals(3L, patched.getVersion());
+		assertEquals("Again", patched.getLastName());
+		assertEquals("Lead", stored(id).getPosition());
+		assertEquals(3L, stored(id).getVersion());
+
+		employeeService.deleteEmployee(id, 3L);
+		assertFalse(employeeRepository.existsById(id));
+	}
+
+	@Test
+	void aStaleVersionIsAConflictAndChangesNothing() {
+		Long id = employeeService.createEmployee(employee("stan.stale@example.com", "Current")).getId();
+		employeeService.updateEmployee(id, employee("stan.stale@example.com", "Current"));
+
+		Employee replacement = employee("stan.stale@example.com", "Stale");
+		replacement.setVersion(0L);
+		assertThrows(ResourceConflictException.class, () -> employeeService.updateEmployee(id, replacement));
+
+		Employee patch = new Employee();
+		patch.setLastName("Stale");
+		patch.setVersion(0L);
+		assertThrows(ResourceConflictException.class, () -> employeeService.partialUpdateEmployee(id, patch));
+
+		Employee emptyPatch = new Employee();
+		emptyPatch.setVersion(0L);
+		assertThrows(ResourceConflictException.class, () -> employeeService.partialUpdateEmployee(id, emptyPatch));
+
+		assertThrows(ResourceConflictException.class, () -> employeeService.deleteEmployee(id, 0L));
+
+		Employee stored = stored(id);
+		assertEquals("Current", stored.getLastName());
+		assertEquals(1L, stored.getVersion());
+	}
+
+	@Test
+	void aMissingEmployeeIsNotFoundWithOrWithoutAVersion() {
+		Employee replacement = employee("nora.nobody@example.com", "Nobody");
+		assertThrows(ResourceNotFoundException.class, () -> employeeService.updateEmployee(MISSING_ID, replacement));
+		replacement.setVersion(0L);
+		assertThrows(ResourceNotFoundException.class, () -> employeeService.updateEmployee(MISSING_ID, replacement));
+
+		Employee patch = new Employee();
+		patch.setLastName("Nobody");
+		assertThrows(ResourceNotFoundException.class, () -> employeeService.partialUpdateEmployee(MISSING_ID, patch));
+		patch.setVersion(0L);
+		assertThrows(ResourceNotFoundException.class, () -> employeeService.partialUpdateEmployee(MISSING_ID, patch));
+
+		assertThrows(ResourceNotFoundException.class, () -> employeeService.deleteEmployee(MISSING_ID, null));
+		assertThrows(ResourceNotFoundException.class, () -> employeeService.deleteEmployee(MISSING_ID, 0L));
+
+		// a deleted employee is gone, not changed
+		Long id = employeeService.createEmployee(employee("dora.deleted@example.com", "Deleted")).getId();
+		employeeService.deleteEmployee(id, null);
+		assertThrows(ResourceNotFoundException.class, () -> employeeService.deleteEmployee(id, 0L));
+	}
+
+	private Employee stored(Long id) {
+		return employeeRepository.findById(id).orElseThrow();
+	}
+
+	private static Employee employee(String email, String lastName) {
+		return new Employee(null, "Version", lastName, email, "Engineer", LocalDate.of(2022, 9, 1));
+	}
+}
@@ -0,0 +1,284 @@
+package org.example.employeeservice.sharding;
+
+import org.example.employeeservice.datasource.ShardRoutingDataSource;
+import org.example.employeeservice.entity.Employee;
+import org.example.employeeservice.model.EmployeeCriteria;
+import org.example.employeeservice.model.EmployeeUpsertResult;
+import org.example.employeeservice.service.EmployeeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Three in-memory H2 databases stand in for three shards.
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:shard0_db",
+		"employee.datasource.shards.urls=jdbc:h2:mem:shard1_db,jdbc:h2:mem:shard2_db"
+})
+class ShardedEmployeeServiceTests {
+
+	@Autowired
+	private EmployeeService employeeService;
+
+	@Autowired
+	private ShardRoutingDataSource shards;
+
+	@Test
+	void employeesAreSpreadOverTheShardsTheirIdsName() {
+		assertInstanceOf(ShardedEmployeeService.class, employeeService);
+		List<Employee> created = new ArrayList<>();
+		for (int i = 0; i < 6; i++) {
+			created.add(employeeService.createEmployee(employee("Sam", "Spread" + i, "sam.spread" + i + "@example.com")));
+		}
+
+		Set<Integer> used = new HashSet<>();
+		for (Employee employee : created) {
+			int shard = shards.shardOf(employee.getId());
+			used.add(shard);
+			assertEquals(1, rowsOnShard(shard, employee.getId()), "employee " + employee.getId() + " is not on shard " + shard);
+			assertEquals(employee.getEmail(), employeeService.getEmployeeById(employee.getId()).getEmail());
+		}
+		assertEquals(Set.of(0, 1, 2), used);
+
+		// enough for several id blocks per shard
+		List<Employee> batch = new ArrayList<>();
+		for (int i = 0; i < 400; i++) {
+			batch.add(employee("Bea", "Batch" + i, "bea.batch" + i + "@example.com"));
+		}
+		for (EmployeeUpsertResult result : employeeService.upsertEmployees(batch)) {
+			long id = result.getEmployee().getId();
+			assertEquals(1, rowsOnShard(shards.shardOf(id), id), "employee " + id + " is not on its shard");
+		}
+
+		List<Long> ids = employeeService.getAllEmployees().stream().map(Employee::getId).toList();
+		assertTrue(ids.containsAll(created.stream().map(Employee::getId).toList()));
+		assertEquals(ids.stream().sorted().toList(), ids, "not merged in id order");
+
+		Long first = created.get(0).getId();
+		List<Employee> page = employeeService.getEmployeesAfter(first, 3);
+		assertEquals(3, page.size());
+		assertEquals(ids.stream().filter(id -> id > first).limit(3).toList(), page.stream().map(Employee::getId).toList());
+
+		assertEquals(created.get(4).getId(), employeeService.searchEmployees("spread4", 10).get(0).getId());
+	}
+
+	@Test
+	void emailsStayUniqueAcrossShards() {
+		Employee taken = employeeService.createEmployee(employee("Una", "Unique", "una.unique@example.com"));
+		// whichever shard the next create lands on, the email is already claimed
+		for (int i = 0; i < shards.getShardCount(); i++) {
+			assertThrows(DataIntegrityViolationException.class,
+					() -> employeeService.createEmployee(employee("Other", "Una", "una.unique@example.com")));
+		}
+
+		Employee renamed = employee("Una", "Unique", "una.renamed@example.com");
+		employeeService.updateEmployee(taken.getId(), renamed);
+		Employee reused = employeeService.createEmployee(employee("New", "Una", "una.unique@example.com"));
+		assertThrows(DataIntegrityViolationException.class, () -> employeeService.partialUpdateEmployee(
+				reused.getId(), employee(null, null, "una.renamed@example.com")));
+
+		employeeService.deleteEmployee(taken.getId(), null);
+		employeeService.partialUpdateEmployee(reused.getId(), employee(null, null, "una.renamed@example.com"));
+		assertEquals("una.renamed@example.com", employeeService.getEmployeeById(reused.getId()).getEmail());
+	}
+
+	@Test
+	void upsertsFindExistingEmailsOnTheirShard() {
+		Employee existing = employeeService.createEmployee(employee("Ursula", "Upsert", "ursula.upsert@example.com"));
+
+		List<EmployeeUpsertResult> results = employeeService.upsertEmployees(List.of(
+				employee("Ulla", "Upsert", "ulla.upsert@example.com"),
+				employee("Ursula", "Updated", "ursula.upsert@example.com"),
+				employee("Uwe", "Upsert", "uwe.upsert@example.com"),
+				employee("Ulla", "Again", "ulla.upsert@example.com")));
+
+		assertEquals(List.of(EmployeeUpsertResult.Status.CREATED, EmployeeUpsertResult.Status.UPDATED,
+						EmployeeUpsertResult.Status.CREATED, EmployeeUpsertResult.Status.UPDATED),
+				results.stream().map(EmployeeUpsertResult::getStatus).toList());
+		assertEquals(existing.getId(), results.get(1).getEmployee().getId());
+		assertEquals("Updated", employeeService.getEmployeeById(existing.getId()).getLastName());
+		assertEquals(results.get(0).getEmployee().getId(), results.get(3).getEmployee().getId());
+		assertEquals("Again", employeeService.getEmployeeById(results.get(0).getEmployee().getId()).getLastName());
+	}
+
+	@Test
+	void bulkWritesReachEveryShardAndReleaseDeletedEmails() {
+		List<Long> ids = new ArrayList<>();
+		for (int i = 0; i < 6; i++) {
+			Employee employee = employee("Bo", "Bulk" + i, "bo.bulk" + i + "@example.com");
+			employee.setPosition("Sharded Temp");
+			ids.add(employeeService.createEmployee(employee).getId());
+		}
+
+		Employee patch = new Employee();
+		patch.setPosition("Sharded Staff");
+		assertEquals(2, employeeService.bulkUpdateEmployees(
+				new EmployeeCriteria(ids.subList(0, 2), null, null, null, null), patch));
+		assertEquals("Sharded Staff", employeeService.getEmployeeById(ids.get(1)).getPosition());
+		assertEquals("Sharded Temp", employeeService.getEmployeeById(ids.get(2)).getPosition());
+
+		assertEquals(4, employeeService.bulkDeleteEmployees(new EmployeeCriteria(null, "Sharded Temp", null, null, null)));
+		for (Long id : ids.subList(2, 6)) {
+			assertEquals(0, rowsOnShard(shards.shardOf(id), id));
+		}
+		// the deleted employees' emails may be used again, the others not
+		employeeService.createEmployee(employee("Bo", "Again", "bo.bulk5@example.com"));
+		assertThrows(DataIntegrityViolationException.class,
+				() -> employeeService.createEmployee(employee("Bo", "Again", "bo.bulk0@example.com")));
+	}
+
+	@Test
+	void anInsertThatFailsOnOneShardIsUndoneOnTheOthers() {
+		// an email no claim knows of, already on every shard, so whichever shard gets it fails
+		for (int shard = 0; shard < shards.getShardCount(); shard++) {
+			new JdbcTemplate(shards.getShard(shard)).update("insert into employees (id, first_name, last_name, email, "
+					+ "position, hire_date, version) values (?, 'Ida', 'Inside', 'ida.inside@example.com', 'Engineer', ?, 0)",
+					9_000_000 + shard, LocalDate.of(2024, 5, 1));
+		}
+		List<Employee> block = List.of(employee("Ina", "Insert", "ina.insert@example.com"),
+				employee("Ida", "Insert", "ida.inside@example.com"),
+				employee("Ivo", "Insert", "ivo.insert@example.com"));
+
+		assertThrows(DataIntegrityViolationException.class, () -> employeeService.insertEmployees(block));
+		for (Employee employee : block) {
+			if (employee.getId() != null) {
+				assertEquals(0, rowsOnShard(shards.shardOf(employee.getId()), employee.getId()));
+			}
+		}
+
+		// so retrying row by row inserts every row that can be, and rejects only the duplicate
+		employeeService.createEmployee(employee("Ina", "Insert", "ina.insert@example.com"));
+		employeeService.createEmployee(employee("Ivo", "Insert", "ivo.insert@example.com"));
+		assertThrows(DataIntegrityViolationException.class,
+				() -> employeeService.createEmployee(employee("Ida", "Insert", "ida.inside@example.com")));
+	}
+
+	@Test
+	void filteredListingsMergeTheShardsInTheRequestedOrder() {
+		for (int i = 0; i < 6; i++) {
+			Employee employee = employee("Fi", "Order" + i, "fi.order" + i + "@example.com");
+			employee.setPosition("Sharded Sorter");
+			employee.setHireDate(LocalDate.of(2020, 1 + i, 1));
+			employeeService.createEmployee(employee);
+		}
+		EmployeeCriteria sorters = new EmployeeCriteria(null, "Sharded Sorter", null, null, null);
+		Sort newestFirst = Sort.by(Sort.Order.desc("hireDate"), Sort.Order.desc("id"));
+
+		List<Employee> first = employeeService.findEmployees(sorters, newestFirst, null, 4);
+		assertEquals(List.of("Order5", "Order4", "Order3", "Order2"), first.stream().map(Employee::getLastName).toList());
+		// the page continues after a row of whichever shard it is on
+		List<Employee> rest = employeeService.findEmployees(sorters, newestFirst, first.get(3).getId(), 4);
+		assertEquals(List.of("Order1", "Order0"), rest.stream().map(Employee::getLastName).toList());
+	}
+
+	@Test
+	void emailClaimsAreSpreadOverTheShards() {
+		for (int i = 0; i < 30; i++) {
+			employeeService.createEmployee(employee("Pia", "Partition" + i, "pia.partition" + i + "@example.com"));
+		}
+		for (int shard = 0; shard < shards.getShardCount(); shard++) {
+			Integer claims = new JdbcTemplate(shards.getShard(shard)).queryForObject(
+					"select count(*) from employee_email_claims where email like 'pia.partition%'", Integer.class);
+			assertTrue(claims > 0, "no claims on shard " + shard);
+		}
+	}
+
+	@Test
+	void anOrphanedClaimIsTakenOverOnceItIsOld() {
+		// left behind by a process that stopped between the claim and the shard write
+		claimDirectly("orphan.old@example.com", 1, Instant.now().minus(Duration.ofHours(1)));
+		Employee created = employeeService.createEmployee(employee("Otto", "Orphan", "orphan.old@example.com"));
+		assertEquals("orphan.old@example.com", employeeService.getEmployeeById(created.getId()).getEmail());
+
+		// a recent claim may belong to a write still on its way
+		claimDirectly("orphan.new@example.com", 1, Instant.now());
+		assertThrows(DataIntegrityViolationException.class,
+				() -> employeeService.createEmployee(employee("Otto", "Recent", "orphan.new@example.com")));
+
+		// an old claim whose shard has the employee is no orphan
+		Employee holder = employeeService.createEmployee(employee("Otto", "Holder", "orphan.held@example.com"));
+		ageClaim("orphan.held@example.com");
+		assertThrows(DataIntegrityViolationException.class,
+				() -> employeeService.createEmployee(employee("Otto", "Again", "orphan.held@example.com")));
+		assertEquals("orphan.held@example.com", employeeService.getEmployeeById(holder.getId()).getEmail());
+	}
+
+	@Test
+	void concurrentEmailChangesLeaveOnlyTheWinningEmailClaimed() throws Exception {
+		ExecutorService writers = Executors.newFixedThreadPool(2);
+		try {
+			for (int round = 0; round < 5; round++) {
+				Employee racer = employeeService.createEmployee(employee("Rae", "Race", "rae.race" + round + "@example.com"));
+				String left = "rae.left" + round + "@example.com";
+				String right = "rae.right" + round + "@example.com";
+				CountDownLatch start = new CountDownLatch(1);
+				Future<?> first = writers.submit(() -> {
+					start.await();
+					return employeeService.partialUpdateEmployee(racer.getId(), employee(null, null, left));
+				});
+				Future<?> second = writers.submit(() -> {
+					start.await();
+					return employeeService.partialUpdateEmployee(racer.getId(), employee(null, null, right));
+				});
+				start.countDown();
+				first.get();
+				second.get();
+
+				String winner = employeeService.getEmployeeById(racer.getId()).getEmail();
+				String loser = winner.equals(left) ? right : left;
+				// the losing email and the original one are free again
+				employeeService.createEmployee(employee("Rae", "Loser", loser));
+				employeeService.createEmployee(employee("Rae", "Original", "rae.race" + round + "@example.com"));
+				assertThrows(DataIntegrityViolationException.class,
+						() -> employeeService.createEmployee(employee("Rae", "Winner", winner)));
+			}
+		} finally {
+			writers.shutdownNow();
+		}
+	}
+
+	private void claimDirectly(String email, int shard, Instant claimedAt) {
+		partitionOf(email).update("insert into employee_email_claims (email, shard, claimed_at) values (?, ?, ?)",
+				email, shard, Timestamp.from(claimedAt));
+	}
+
+	private void ageClaim(String email) {
+		partitionOf(email).update("update employee_email_claims set claimed_at = ? where email = ?",
+				Timestamp.from(Instant.now().minus(Duration.ofHours(1))), email);
+	}
+
+	private JdbcTemplate partitionOf(String email) {
+		return new JdbcTemplate(shards.getShard(Math.floorMod(email.hashCode(), shards.getShardCount())));
+	}
+
+	private int rowsOnShard(int shard, long id) {
+		return new JdbcTemplate(shards.getShard(shard))
+				.queryForObject("select count(*) from employees where id = ?", Integer.class, id);
+	}
+
+	private static Employee employee(String firstName, String lastName, String email) {
+		return new Employee(null, firstName, lastName, email, "Engineer", LocalDate.of(2024, 5, 1));
+	}
+}